@@ -0,0 +1,90 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ingests {@link #size} keys into an empty table, one {@code put} at a time
+ * against a single {@code putAll}.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class BatchPutBenchmark {
+
+    private static final Integer VALUE = 1;
+
+    /**
+     * The table under test.
+     */
+    @Param({ "ARRAY", "BINARY_SEARCH_TREE", "LINEAR_PROBING", "ROBIN_HOOD",
+            "SEPARATE_CHAINING", "COMPACT_SEPARATE_CHAINING" })
+    private Implementation implementation;
+
+    /**
+     * The number of keys ingested.
+     */
+    @Param({ "10000", "100000" })
+    private int size;
+
+    private Comparable[] keys;
+    private Object[]     values;
+
+    /**
+     * Draws the keys.
+     */
+    @Setup
+    public void setUp() {
+        implementation.checkSize(size);
+
+        keys = KeyType.INTEGER.generate(size);
+        values = new Object[size];
+        Arrays.fill(values, VALUE);
+    }
+
+    /**
+     * Puts every key one by one.
+     *
+     * @return the table filled
+     */
+    @Benchmark
+    public SymbolTable put() {
+        SymbolTable table = implementation.create(1);
+
+        for (int i = 0; i < keys.length; i++)
+            table.put(keys[i], values[i]);
+
+        return table;
+    }
+
+    /**
+     * Puts every key at once.
+     *
+     * @return the table filled
+     */
+    @Benchmark
+    public SymbolTable putAll() {
+        SymbolTable table = implementation.create(1);
+        table.putAll(keys, values);
+
+        return table;
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loads {@link #size} keys which are sorted already, such as the ones of a
+ * dump, into an empty table: one {@code put} at a time, with a single
+ * {@code putAll} and with {@code fromSorted}.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class BulkLoadBenchmark {
+
+    private static final Integer VALUE = 1;
+
+    /**
+     * The table under test.
+     */
+    @Param({ "ARRAY", "BINARY_SEARCH_TREE" })
+    private Implementation implementation;
+
+    /**
+     * The number of keys loaded; a tree fed sorted keys one by one
+     * degenerates into a list, so put is quadratic.
+     */
+    @Param({ "1000", "10000" })
+    private int size;
+
+    private Integer[] keys;
+    private Object[]  values;
+
+    /**
+     * Sorts the keys.
+     */
+    @Setup
+    public void setUp() {
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++)
+            keys[i] = i;
+
+        values = new Object[size];
+        Arrays.fill(values, VALUE);
+    }
+
+    /**
+     * Puts every key one by one.
+     *
+     * @return the table filled
+     */
+    @Benchmark
+    public SymbolTable put() {
+        SymbolTable table = implementation.create(1);
+
+        for (int i = 0; i < keys.length; i++)
+            table.put(keys[i], values[i]);
+
+        return table;
+    }
+
+    /**
+     * Puts every key at once.
+     *
+     * @return the table filled
+     */
+    @Benchmark
+    public SymbolTable putAll() {
+        SymbolTable table = implementation.create(1);
+        table.putAll(keys, values);
+
+        return table;
+    }
+
+    /**
+     * Builds the table out of the sorted keys.
+     *
+     * @return the table filled
+     */
+    @Benchmark
+    public SymbolTable fromSorted() {
+        if (implementation == Implementation.ARRAY)
+            return ArraySymbolTable.fromSorted(keys, values);
+
+        return BinarySearchTree.fromSorted(keys, values);
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.marioluan.datastructures.symboltable;
+
+/**
+ * Two-field key used by the benchmarks to measure tables keyed by a small
+ * value object, the way a (tenant, id) pair usually is.
+ *
+ * @author marioluan
+ */
+public final class CompositeKey implements Comparable<CompositeKey> {
+
+    private static final int HASH_MULTIPLIER = 31;
+    private static final int LONG_BITS       = 32;
+
+    private final long tenant;
+    private final int  id;
+
+    /**
+     * Constructs a new key.
+     *
+     * @param tenant
+     * @param id
+     */
+    public CompositeKey(long tenant, int id) {
+        this.tenant = tenant;
+        this.id = id;
+    }
+
+    @Override
+    public int compareTo(CompositeKey that) {
+        int cmp = Long.compare(tenant, that.tenant);
+        if (cmp != 0)
+            return cmp;
+
+        return Integer.compare(id, that.id);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+
+        if (!(other instanceof CompositeKey))
+            return false;
+
+        CompositeKey that = (CompositeKey) other;
+        return tenant == that.tenant && id == that.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return HASH_MULTIPLIER * (int) (tenant ^ (tenant >>> LONG_BITS)) + id;
+    }
+
+    @Override
+    public String toString() {
+        return tenant + ":" + id;
+    }
+}
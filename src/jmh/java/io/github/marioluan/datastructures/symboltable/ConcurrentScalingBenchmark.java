@@ -0,0 +1,168 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of an ordered table shared by every benchmark
+ * thread: the {@link ConcurrentSkipListSymbolTable} against a
+ * {@link RedBlackBST} guarded by a read-write lock.<br>
+ * The table holds about {@link #size} keys drawn from twice as many, so
+ * {@link #toggle} puts and deletes keys equally often.<br>
+ * <i>Run {@link #main} (or {@code gradle scaling}) to repeat it with 1, 2, 4,
+ * 8, 16 and 32 threads.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentScalingBenchmark {
+
+    private static final int[] THREADS = { 1, 2, 4, 8, 16, 32 };
+    private static final int   WIDTH   = 100;
+
+    /**
+     * The table shared by the threads.
+     */
+    @Param({ "SKIP_LIST", "LOCKED_RED_BLACK_BST" })
+    private String implementation;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "1000000" })
+    private int size;
+
+    private OrderedSymbolTable<Integer, Integer> table;
+    // null for the skip list, which needs none
+    private Lock                                 readLock;
+    private Lock                                 writeLock;
+
+    /**
+     * Fills the table with every other key.
+     */
+    @Setup
+    public void setUp() {
+        if ("SKIP_LIST".equals(implementation)) {
+            table = new ConcurrentSkipListSymbolTable<>();
+        } else {
+            ReadWriteLock lock = new ReentrantReadWriteLock();
+            table = new RedBlackBST<>();
+            readLock = lock.readLock();
+            writeLock = lock.writeLock();
+        }
+
+        for (int i = 0; i < size; i++)
+            table.put(i * 2, i);
+    }
+
+    /**
+     * Looks a random key up.
+     *
+     * @return the value found, if any
+     */
+    @Benchmark
+    public Integer get() {
+        Integer key = nextKey();
+
+        lock(readLock);
+        try {
+            return table.get(key);
+        } finally {
+            unlock(readLock);
+        }
+    }
+
+    /**
+     * Deletes a random key if it is in the table, or puts it otherwise.
+     */
+    @Benchmark
+    public void toggle() {
+        Integer key = nextKey();
+
+        lock(writeLock);
+        try {
+            if (table.contains(key))
+                table.delete(key);
+            else
+                table.put(key, key);
+        } finally {
+            unlock(writeLock);
+        }
+    }
+
+    /**
+     * Iterates over the keys of a random range of about {@value #WIDTH}
+     * keys.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void scan(Blackhole blackhole) {
+        Integer lo = nextKey();
+
+        lock(readLock);
+        try {
+            for (Integer key : table.keys(lo, lo + WIDTH * 2))
+                blackhole.consume(key);
+        } finally {
+            unlock(readLock);
+        }
+    }
+
+    /**
+     * Returns a random key, whether it is in the table or not.
+     *
+     * @return a random key
+     */
+    private Integer nextKey() {
+        return ThreadLocalRandom.current().nextInt(size * 2);
+    }
+
+    private static void lock(Lock lock) {
+        if (lock != null)
+            lock.lock();
+    }
+
+    private static void unlock(Lock lock) {
+        if (lock != null)
+            lock.unlock();
+    }
+
+    /**
+     * Runs the benchmark once per number of threads.
+     *
+     * @param args
+     *            unused
+     * @throws RunnerException
+     */
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS)
+            new Runner(new OptionsBuilder()
+                    .include(ConcurrentScalingBenchmark.class.getSimpleName())
+                    .threads(threads).build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the heap taken per entry by every {@link SymbolTable}
+ * implementation, as measured by JOL.<br>
+ * Each table is filled with the same {@link KeyType#INTEGER} keys, all paired
+ * with the same value; the keys and the value are left out of the
+ * measurement, so only the structure of the table itself is accounted
+ * for.<br>
+ * <i>Run it with {@code gradle footprint}, optionally passing the number of
+ * keys with {@code -Pkeys=<n>}.</i>
+ *
+ * @author marioluan
+ */
+public final class FootprintReport {
+
+    private static final int     DEFAULT_SIZE = 100_000;
+    private static final Integer VALUE        = 1;
+
+    private FootprintReport() {
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param args
+     *            the number of keys, optionally
+     */
+    @SuppressWarnings("rawtypes")
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        Comparable[] keys = KeyType.INTEGER.generate(size);
+        // every key is a root of its own, so the array itself is left out
+        long shared = GraphLayout.parseInstance((Object[]) keys).totalSize();
+
+        System.out.printf("%-28s %14s %10s%n", "implementation", "bytes",
+                "per entry");
+
+        for (Implementation implementation : Implementation.values()) {
+            SymbolTable table;
+            try {
+                table = implementation.fill(keys, VALUE);
+            } catch (IllegalStateException e) {
+                System.out.printf("%-28s %s%n", implementation, e.getMessage());
+                continue;
+            }
+
+            long bytes = GraphLayout.parseInstance(table).totalSize() - shared;
+            System.out.printf("%-28s %14d %10.1f%n", implementation, bytes,
+                    (double) bytes / size);
+        }
+    }
+}
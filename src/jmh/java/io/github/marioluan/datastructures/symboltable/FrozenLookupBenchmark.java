@@ -0,0 +1,94 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Looks random keys up in an {@link ArraySymbolTable} of {@link #size} keys,
+ * sorted and {@link ArraySymbolTable#freeze() frozen}. Half of the lookups
+ * miss.<br>
+ * <i>100M keys take about 4 GB: run them with
+ * {@code -p size=100000000 -jvmArgs -Xmx8g}.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class FrozenLookupBenchmark {
+
+    // a power of two, so the next probe is found with a mask
+    private static final int PROBES = 1 << 16;
+    private static final int SEED   = 42;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "1000000", "10000000" })
+    private int size;
+
+    /**
+     * Whether the keys are laid out in Eytzinger order.
+     */
+    @Param({ "false", "true" })
+    private boolean frozen;
+
+    private ArraySymbolTable<Integer, Integer> table;
+    private Integer[]                          probes;
+    private int                                next;
+
+    /**
+     * Fills the table with the even numbers below 2 * size, and draws the
+     * keys to look up.
+     */
+    @Setup
+    public void setUp() {
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++)
+            keys[i] = 2 * i;
+
+        table = ArraySymbolTable.fromSorted(keys, keys);
+        if (frozen)
+            table.freeze();
+
+        Random random = new Random(SEED);
+        probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++)
+            probes[i] = random.nextInt(2 * size);
+    }
+
+    /**
+     * Looks the next key up.
+     *
+     * @return the value paired with the key
+     */
+    @Benchmark
+    public Integer get() {
+        return table.get(probes[next++ & PROBES - 1]);
+    }
+
+    /**
+     * Finds the smallest key greater than or equal to the next one.
+     *
+     * @return the key found
+     */
+    @Benchmark
+    public Integer ceiling() {
+        return table.ceiling(probes[next++ & PROBES - 1]);
+    }
+}
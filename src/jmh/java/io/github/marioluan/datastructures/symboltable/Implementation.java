@@ -0,0 +1,170 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import io.github.marioluan.datastructures.symboltable.hash.CompactSeparateChainingHashTable;
+import io.github.marioluan.datastructures.symboltable.hash.LinearProbingHashTable;
+import io.github.marioluan.datastructures.symboltable.hash.RobinHoodHashTable;
+import io.github.marioluan.datastructures.symboltable.hash.SeparateChainingHashTable;
+
+/**
+ * {@link SymbolTable} implementations the benchmarks compare.
+ *
+ * @author marioluan
+ */
+@SuppressWarnings("rawtypes")
+public enum Implementation {
+
+    /**
+     * {@link ArraySymbolTable}.
+     */
+    ARRAY(Implementation.QUADRATIC_LIMIT) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new ArraySymbolTable<>(capacity);
+        }
+    },
+
+    /**
+     * {@link LinkedListSymbolTable}.
+     */
+    LINKED_LIST(Implementation.QUADRATIC_LIMIT) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new LinkedListSymbolTable<>();
+        }
+    },
+
+    /**
+     * {@link BinarySearchTree}.
+     */
+    BINARY_SEARCH_TREE(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new BinarySearchTree<>();
+        }
+    },
+
+    /**
+     * {@link RedBlackBST}.
+     */
+    RED_BLACK_BST(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new RedBlackBST<>();
+        }
+    },
+
+    /**
+     * {@link BPlusTree}.
+     */
+    B_PLUS_TREE(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new BPlusTree<>();
+        }
+    },
+
+    /**
+     * {@link PersistentAVLTree}.
+     */
+    PERSISTENT_AVL_TREE(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new PersistentAVLTree<>();
+        }
+    },
+
+    /**
+     * {@link LinearProbingHashTable}.
+     */
+    LINEAR_PROBING(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new LinearProbingHashTable<>(capacity);
+        }
+    },
+
+    /**
+     * {@link RobinHoodHashTable}.
+     */
+    ROBIN_HOOD(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new RobinHoodHashTable<>(capacity);
+        }
+    },
+
+    /**
+     * {@link SeparateChainingHashTable}.
+     */
+    SEPARATE_CHAINING(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new SeparateChainingHashTable<>(capacity);
+        }
+    },
+
+    /**
+     * {@link CompactSeparateChainingHashTable}.
+     */
+    COMPACT_SEPARATE_CHAINING(Integer.MAX_VALUE) {
+        @Override
+        SymbolTable create(int capacity) {
+            return new CompactSeparateChainingHashTable<>(capacity);
+        }
+    };
+
+    // tables whose put is O(n) take hours to be filled beyond this size
+    private static final int QUADRATIC_LIMIT = 100_000;
+
+    private final int maxSize;
+
+    Implementation(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates an empty table.
+     *
+     * @param capacity
+     *            the expected number of keys
+     * @return an empty table
+     */
+    abstract SymbolTable create(int capacity);
+
+    /**
+     * Checks whether a table can be filled with size keys in a reasonable
+     * time.
+     *
+     * @param size
+     * @throws IllegalStateException
+     *             if the table cannot be filled with that many keys in a
+     *             reasonable time
+     */
+    void checkSize(int size) {
+        if (size > maxSize)
+            throw new IllegalStateException(this + " is skipped above "
+                    + maxSize + " keys: filling it is quadratic");
+    }
+
+    /**
+     * Creates a table filled with the given keys.
+     *
+     * @param keys
+     * @param value
+     *            the value paired with every key
+     * @return a table filled with the given keys
+     * @throws IllegalStateException
+     *             if the table cannot be filled with that many keys in a
+     *             reasonable time
+     */
+    @SuppressWarnings("unchecked")
+    public SymbolTable fill(Comparable<?>[] keys, Object value) {
+        checkSize(keys.length);
+
+        SymbolTable table = create(keys.length);
+        for (Comparable<?> key : keys)
+            table.put(key, value);
+
+        return table;
+    }
+}
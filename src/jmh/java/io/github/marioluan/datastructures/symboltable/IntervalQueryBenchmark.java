@@ -0,0 +1,112 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Looks up the intervals overlapping a random query among {@link #size}
+ * random reservations: intervals of up to {@link #MAX_LENGTH} units over a
+ * timeline of {@link #size} units, in an {@link IntervalSearchTree} and in a
+ * {@link StaticIntervalIndex}.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntervalQueryBenchmark {
+
+    private static final int PROBES     = 1 << 10;
+    private static final int MAX_LENGTH = 100;
+
+    /**
+     * The number of intervals.
+     */
+    @Param({ "1000000" })
+    private int size;
+
+    /**
+     * The length of the query interval.
+     */
+    @Param({ "0", "1000" })
+    private int width;
+
+    private IntervalSearchTree<Integer, Integer> tree;
+    private StaticIntervalIndex<Integer>         index;
+    private Integer[]                            lo;
+    private Integer[]                            hi;
+    private int                                  cursor;
+
+    /**
+     * Puts the intervals and draws the queries.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(size);
+        tree = new IntervalSearchTree<>();
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        Integer[] values = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            int start = random.nextInt(size);
+            int end = start + random.nextInt(MAX_LENGTH);
+            tree.put(start, end, i);
+            starts[i] = start;
+            ends[i] = end;
+            values[i] = i;
+        }
+
+        index = new StaticIntervalIndex<>(starts, ends, values);
+
+        lo = new Integer[PROBES];
+        hi = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            lo[i] = random.nextInt(size);
+            hi[i] = lo[i] + width;
+        }
+    }
+
+    /**
+     * Iterates over the intervals of the tree overlapping the next query.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void tree(Blackhole blackhole) {
+        cursor = (cursor + 1) & (PROBES - 1);
+
+        for (Integer value : tree.intersects(lo[cursor], hi[cursor]))
+            blackhole.consume(value);
+    }
+
+    /**
+     * Iterates over the intervals of the static index overlapping the next
+     * query.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void staticIndex(Blackhole blackhole) {
+        cursor = (cursor + 1) & (PROBES - 1);
+
+        for (Integer value : index.intersects(lo[cursor], hi[cursor]))
+            blackhole.consume(value);
+    }
+}
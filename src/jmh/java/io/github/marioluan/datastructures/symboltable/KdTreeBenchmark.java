@@ -0,0 +1,124 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Queries a {@link KdTree} of {@link #size} points spread evenly over the
+ * unit square with random rectangles covering 1/10000 of it, and random
+ * points for nearest neighbors; a scan of every point is the baseline.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class KdTreeBenchmark {
+
+    // a power of two, so the next query is found with a mask
+    private static final int    QUERIES = 1 << 10;
+    // side of the rectangles, so they cover 1/10000 of the square
+    private static final double SIDE    = 0.01;
+    private static final int    SEED    = 42;
+
+    /**
+     * The number of points in the tree.
+     */
+    @Param({ "1000000", "10000000" })
+    private int size;
+
+    private Point[]         points;
+    private KdTree<Integer> tree;
+    private Rectangle[]     rectangles;
+    private Point[]         targets;
+    private int             next;
+
+    /**
+     * Builds the tree, and draws the queries.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+
+        points = new Point[size];
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = new Point(random.nextDouble(), random.nextDouble());
+            values[i] = i;
+        }
+
+        tree = new KdTree<>(points, values);
+
+        rectangles = new Rectangle[QUERIES];
+        targets = new Point[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            double x = random.nextDouble() * (1 - SIDE);
+            double y = random.nextDouble() * (1 - SIDE);
+            rectangles[i] = new Rectangle(x, y, x + SIDE, y + SIDE);
+            targets[i] = new Point(random.nextDouble(), random.nextDouble());
+        }
+    }
+
+    /**
+     * Counts the points in the next rectangle.
+     *
+     * @return the number of points in the rectangle
+     */
+    @Benchmark
+    public int count() {
+        return tree.count(rectangles[next++ & QUERIES - 1]);
+    }
+
+    /**
+     * Finds the points in the next rectangle.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void range(Blackhole blackhole) {
+        for (Integer value : tree.range(rectangles[next++ & QUERIES - 1]))
+            blackhole.consume(value);
+    }
+
+    /**
+     * Finds the point closest to the next one.
+     *
+     * @return the value of the closest point
+     */
+    @Benchmark
+    public Integer nearest() {
+        return tree.nearest(targets[next++ & QUERIES - 1]);
+    }
+
+    /**
+     * Counts the points in the next rectangle by checking every point.
+     *
+     * @return the number of points in the rectangle
+     */
+    @Benchmark
+    public int scanCount() {
+        Rectangle rectangle = rectangles[next++ & QUERIES - 1];
+        int count = 0;
+        for (Point point : points)
+            if (rectangle.contains(point))
+                count++;
+
+        return count;
+    }
+}
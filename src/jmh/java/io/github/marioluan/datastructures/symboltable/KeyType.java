@@ -0,0 +1,89 @@
+package io.github.marioluan.datastructures.symboltable;
+
+/**
+ * Key types the benchmarks run against.<br>
+ * Keys are derived from a bijective scramble of their index, so
+ * {@code generate(n)} always returns {@code n} distinct keys and the same
+ * index always produces the same key across runs.
+ *
+ * @author marioluan
+ */
+public enum KeyType {
+
+    /**
+     * Boxed {@link Integer} keys.
+     */
+    INTEGER {
+        @Override
+        Comparable<?> key(int i) {
+            return scramble(i);
+        }
+    },
+
+    /**
+     * {@link String} keys of ~10 characters.
+     */
+    STRING {
+        @Override
+        Comparable<?> key(int i) {
+            return "k" + Integer.toHexString(scramble(i));
+        }
+    },
+
+    /**
+     * {@link CompositeKey} keys.
+     */
+    COMPOSITE {
+        @Override
+        Comparable<?> key(int i) {
+            int scrambled = scramble(i);
+            return new CompositeKey(scrambled >>> TENANT_SHIFT, scrambled);
+        }
+    };
+
+    private static final int TENANT_SHIFT = 20;
+    private static final int MIX_1        = 0x85ebca6b;
+    private static final int MIX_2        = 0xc2b2ae35;
+    private static final int SHIFT_1      = 16;
+    private static final int SHIFT_2      = 13;
+
+    /**
+     * Returns the key at index i.
+     *
+     * @param i
+     * @return the key at index i
+     */
+    abstract Comparable<?> key(int i);
+
+    /**
+     * Returns n distinct keys.
+     *
+     * @param n
+     * @return n distinct keys
+     */
+    public Comparable<?>[] generate(int n) {
+        Comparable<?>[] keys = new Comparable<?>[n];
+
+        for (int i = 0; i < n; i++)
+            keys[i] = key(i);
+
+        return keys;
+    }
+
+    /**
+     * Murmur3's 32 bits finalizer, which is a bijection, so distinct indices
+     * always produce distinct keys.
+     *
+     * @param i
+     * @return the scrambled index
+     */
+    private static int scramble(int i) {
+        int h = i;
+        h ^= h >>> SHIFT_1;
+        h *= MIX_1;
+        h ^= h >>> SHIFT_2;
+        h *= MIX_2;
+        h ^= h >>> SHIFT_1;
+        return h;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Puts {@link #size} distinct keys in random order into an empty table, one
+ * by one. A sorted array moves part of its keys on every insert, so this is
+ * where its write path shows.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class RandomInsertBenchmark {
+
+    private static final Integer VALUE = 1;
+    private static final int     SEED  = 42;
+
+    /**
+     * The table under test.
+     */
+    @Param({ "ARRAY", "RED_BLACK_BST" })
+    private Implementation implementation;
+
+    /**
+     * The number of keys put.
+     */
+    @Param({ "100000", "1000000" })
+    private int size;
+
+    private Integer[] keys;
+
+    /**
+     * Shuffles the keys.
+     */
+    @Setup
+    public void setUp() {
+        List<Integer> shuffled = IntStream.range(0, size).boxed()
+                .collect(Collectors.toList());
+        Collections.shuffle(shuffled, new Random(SEED));
+        keys = shuffled.toArray(new Integer[size]);
+    }
+
+    /**
+     * Puts every key one by one.
+     *
+     * @return the table filled
+     */
+    @Benchmark
+    public SymbolTable put() {
+        SymbolTable table = implementation.create(1);
+
+        for (Integer key : keys)
+            table.put(key, VALUE);
+
+        return table;
+    }
+}
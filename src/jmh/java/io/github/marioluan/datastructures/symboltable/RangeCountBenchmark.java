@@ -0,0 +1,138 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counts the keys in random ranges of a universe of {@link #universe} integer
+ * keys, half of which are present, with {@link OneDRangeCount},
+ * {@link FenwickRangeCount} and {@link SortedArrayRangeCount}; and adds
+ * occurrences of present keys.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RangeCountBenchmark {
+
+    // a power of two, so the next probe is found with a mask
+    private static final int PROBES = 1 << 16;
+    private static final int SEED   = 42;
+
+    /**
+     * The number of keys of the universe.
+     */
+    @Param({ "1000000" })
+    private int universe;
+
+    private OneDRangeCount<Integer, Integer> tree;
+    private FenwickRangeCount               fenwick;
+    private SortedArrayRangeCount           sorted;
+    private int[]                           los;
+    private int[]                           his;
+    private int[]                           present;
+    private int                             next;
+
+    /**
+     * Puts every other key into the three structures, and draws the ranges.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+
+        // shuffled, so the tree is bushy
+        int[] keys = new int[universe / 2];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = 2 * i;
+        for (int i = keys.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+
+        tree = new OneDRangeCount<>();
+        long[] longs = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            tree.put(keys[i], keys[i]);
+            longs[i] = keys[i];
+        }
+
+        fenwick = new FenwickRangeCount(0, universe - 1, longs);
+        sorted = new SortedArrayRangeCount(longs);
+
+        los = new int[PROBES];
+        his = new int[PROBES];
+        present = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            los[i] = random.nextInt(universe);
+            his[i] = los[i] + random.nextInt(universe - los[i]);
+            present[i] = keys[random.nextInt(keys.length)];
+        }
+    }
+
+    /**
+     * Counts the keys in the next range with a tree.
+     *
+     * @return the number of keys in the range
+     */
+    @Benchmark
+    public int treeCount() {
+        int i = next++ & PROBES - 1;
+        return tree.count(los[i], his[i]);
+    }
+
+    /**
+     * Counts the keys in the next range with a Fenwick tree.
+     *
+     * @return the number of keys in the range
+     */
+    @Benchmark
+    public long fenwickCount() {
+        int i = next++ & PROBES - 1;
+        return fenwick.count(los[i], his[i]);
+    }
+
+    /**
+     * Counts the keys in the next range with a sorted array.
+     *
+     * @return the number of keys in the range
+     */
+    @Benchmark
+    public long sortedCount() {
+        int i = next++ & PROBES - 1;
+        return sorted.count(los[i], his[i]);
+    }
+
+    /**
+     * Adds an occurrence of the next present key to a Fenwick tree.
+     */
+    @Benchmark
+    public void fenwickInsert() {
+        fenwick.insert(present[next++ & PROBES - 1]);
+    }
+
+    /**
+     * Adds an occurrence of the next present key to a sorted array.
+     */
+    @Benchmark
+    public void sortedInsert() {
+        sorted.insert(present[next++ & PROBES - 1]);
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Iterates over {@link #width} consecutive keys of an ordered table of
+ * {@link #size} random keys, starting from a random key.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class RangeScanBenchmark {
+
+    private static final int     PROBES = 1 << 10;
+    private static final Integer VALUE  = 1;
+
+    /**
+     * The tree under test.
+     */
+    @Param({ "RED_BLACK_BST", "B_PLUS_TREE" })
+    private Implementation implementation;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "1000000" })
+    private int size;
+
+    /**
+     * The number of keys iterated over per scan.
+     */
+    @Param({ "10", "1000" })
+    private int width;
+
+    private OrderedSymbolTable table;
+    private Integer[]          lo;
+    private Integer[]          hi;
+    private int                cursor;
+
+    /**
+     * Fills the table and draws the ranges.
+     */
+    @Setup
+    public void setUp() {
+        Comparable[] keys = KeyType.INTEGER.generate(size);
+        table = (OrderedSymbolTable) implementation.fill(keys, VALUE);
+
+        Random random = new Random(size);
+        lo = new Integer[PROBES];
+        hi = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            int rank = random.nextInt(size - width);
+            lo[i] = (Integer) table.select(rank);
+            hi[i] = (Integer) table.select(rank + width - 1);
+        }
+    }
+
+    /**
+     * Iterates over the keys of the next range.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void keys(Blackhole blackhole) {
+        cursor = (cursor + 1) & (PROBES - 1);
+
+        for (Object key : table.keys(lo[cursor], hi[cursor]))
+            blackhole.consume(key);
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.marioluan.datastructures.symboltable.hash.SeparateChainingHashTable;
+import io.github.marioluan.datastructures.symboltable.hash.TableSizing;
+
+/**
+ * Looks keys up in a {@link LinkedListSymbolTable} of {@link #size} keys,
+ * where {@link #HOT_SHARE} of the lookups go to {@link #HOT_KEYS} keys, as
+ * in per-session tables.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SkewedLookupBenchmark {
+
+    private static final int    PROBES    = 1 << 16;
+    private static final int    HOT_KEYS  = 4;
+    private static final double HOT_SHARE = 0.9;
+    private static final int    THRESHOLD = 64;
+    private static final int    SEED      = 42;
+
+    /**
+     * How the table reorders its keys, and whether it is promoted past
+     * {@link #THRESHOLD} keys.
+     */
+    public enum Variant {
+        PLAIN {
+            @Override
+            LinkedListSymbolTable<Integer, Integer> create() {
+                return new LinkedListSymbolTable<>();
+            }
+        },
+        MOVE_TO_FRONT {
+            @Override
+            LinkedListSymbolTable<Integer, Integer> create() {
+                return new LinkedListSymbolTable<>(
+                        ReorderPolicy.MOVE_TO_FRONT);
+            }
+        },
+        TRANSPOSE {
+            @Override
+            LinkedListSymbolTable<Integer, Integer> create() {
+                return new LinkedListSymbolTable<>(ReorderPolicy.TRANSPOSE);
+            }
+        },
+        MOVE_TO_FRONT_PROMOTED {
+            @Override
+            LinkedListSymbolTable<Integer, Integer> create() {
+                return new LinkedListSymbolTable<Integer, Integer>(
+                        ReorderPolicy.MOVE_TO_FRONT, THRESHOLD,
+                        () -> new SeparateChainingHashTable<>(2 * THRESHOLD,
+                                TableSizing.POWER_OF_TWO));
+            }
+        };
+
+        abstract LinkedListSymbolTable<Integer, Integer> create();
+    }
+
+    /**
+     * The table under test.
+     */
+    @Param({ "PLAIN", "MOVE_TO_FRONT", "TRANSPOSE", "MOVE_TO_FRONT_PROMOTED" })
+    private Variant variant;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "16", "256", "4096" })
+    private int size;
+
+    private LinkedListSymbolTable<Integer, Integer> table;
+    private Integer[]                               probes;
+    private int                                     next;
+
+    /**
+     * Fills the table, and draws the keys to look up. The hot keys are the
+     * first ones put, so they are the farthest from the head of a plain
+     * list.
+     */
+    @Setup
+    public void setUp() {
+        table = variant.create();
+        for (int i = 0; i < size; i++)
+            table.put(i, i);
+
+        Random random = new Random(SEED);
+        probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++)
+            probes[i] = random.nextDouble() < HOT_SHARE
+                    ? random.nextInt(HOT_KEYS) : random.nextInt(size);
+    }
+
+    /**
+     * Looks the next key up.
+     *
+     * @return the value paired with the key
+     */
+    @Benchmark
+    public Integer get() {
+        return table.get(probes[next++ & PROBES - 1]);
+    }
+}
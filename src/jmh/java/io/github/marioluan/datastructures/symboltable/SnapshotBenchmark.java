@@ -0,0 +1,94 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Takes a point-in-time copy of an ordered table of {@link #size} random
+ * keys, then changes the table: a {@link PersistentAVLTree} snapshot against
+ * a deep copy of a {@link BinarySearchTree}.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class SnapshotBenchmark {
+
+    private static final Integer VALUE = 1;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "1000", "100000" })
+    private int size;
+
+    private Comparable[]      keys;
+    private BinarySearchTree  tree;
+    private PersistentAVLTree persistent;
+    private int               cursor;
+
+    /**
+     * Fills both tables with the same keys.
+     */
+    @Setup
+    public void setUp() {
+        keys = KeyType.INTEGER.generate(size);
+        tree = (BinarySearchTree) Implementation.BINARY_SEARCH_TREE.fill(keys,
+                VALUE);
+        persistent = (PersistentAVLTree) Implementation.PERSISTENT_AVL_TREE
+                .fill(keys, VALUE);
+    }
+
+    /**
+     * Copies every key of the tree into a new one, then updates a key.<br>
+     * <i>The keys are copied in the order they were put, so the copy has the
+     * same shape instead of degenerating into a list.</i>
+     *
+     * @return the copy
+     */
+    @Benchmark
+    public BinarySearchTree deepCopy() {
+        BinarySearchTree copy = new BinarySearchTree();
+        for (Comparable key : keys)
+            copy.put(key, tree.get(key));
+
+        tree.put(nextKey(), VALUE);
+
+        return copy;
+    }
+
+    /**
+     * Takes a snapshot of the persistent tree, then updates a key.
+     *
+     * @return the snapshot
+     */
+    @Benchmark
+    public PersistentAVLTree snapshot() {
+        PersistentAVLTree snapshot = persistent.snapshot();
+
+        persistent.put(nextKey(), VALUE);
+
+        return snapshot;
+    }
+
+    private Comparable nextKey() {
+        cursor = (cursor + 1) % size;
+        return keys[cursor];
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Puts {@link #size} keys in ascending order into an empty tree, which is
+ * what time-series ingestion produces.<br>
+ * <i>An unbalanced tree degenerates into a linked list on sorted keys, so
+ * {@link Implementation#BINARY_SEARCH_TREE} is skipped above
+ * {@link #UNBALANCED_LIMIT} keys.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class SortedInsertBenchmark {
+
+    private static final int     UNBALANCED_LIMIT = 10_000;
+    private static final Integer VALUE            = 1;
+
+    /**
+     * The tree under test.
+     */
+    @Param({ "BINARY_SEARCH_TREE", "RED_BLACK_BST", "B_PLUS_TREE",
+            "PERSISTENT_AVL_TREE" })
+    private Implementation implementation;
+
+    /**
+     * The number of keys put.
+     */
+    @Param({ "10000", "1000000" })
+    private int size;
+
+    private Integer[] keys;
+
+    /**
+     * Generates the keys in ascending order.
+     */
+    @Setup
+    public void setUp() {
+        if (implementation == Implementation.BINARY_SEARCH_TREE
+                && size > UNBALANCED_LIMIT)
+            throw new IllegalStateException(implementation
+                    + " is skipped above " + UNBALANCED_LIMIT
+                    + " sorted keys: filling it is quadratic");
+
+        keys = new Integer[size];
+        for (int i = 0; i < size; i++)
+            keys[i] = i;
+    }
+
+    /**
+     * Puts every key in ascending order.
+     *
+     * @return the tree filled
+     */
+    @Benchmark
+    public SymbolTable put() {
+        SymbolTable table = implementation.create(size);
+
+        for (Integer key : keys)
+            table.put(key, VALUE);
+
+        return table;
+    }
+}
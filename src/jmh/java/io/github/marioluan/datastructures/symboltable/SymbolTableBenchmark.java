@@ -0,0 +1,172 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares every {@link SymbolTable} implementation side by side.<br>
+ * Each trial fills a table with {@link #size} keys of {@link #keyType} and
+ * then runs the operations below against a fixed sequence of probe keys, a
+ * {@link #hitRatio} fraction of which are present in the table.<br>
+ * <i>Run it with {@code gradle jmh -Pinclude=SymbolTableBenchmark}; the
+ * table ends up at {@code build/reports/jmh/results.csv}.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class SymbolTableBenchmark {
+
+    private static final int     PROBES = 1 << 16;
+    private static final Integer VALUE  = 1;
+
+    /**
+     * The table under test.
+     */
+    @Param({ "ARRAY", "LINKED_LIST", "BINARY_SEARCH_TREE", "RED_BLACK_BST",
+            "B_PLUS_TREE", "PERSISTENT_AVL_TREE", "LINEAR_PROBING", "ROBIN_HOOD",
+            "SEPARATE_CHAINING", "COMPACT_SEPARATE_CHAINING" })
+    private Implementation implementation;
+
+    /**
+     * The class type of the keys.
+     */
+    @Param({ "INTEGER", "STRING", "COMPOSITE" })
+    private KeyType keyType;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "1000", "100000", "10000000" })
+    private int size;
+
+    /**
+     * The fraction of probe keys which are present in the table.
+     */
+    @Param({ "1.0", "0.5" })
+    private double hitRatio;
+
+    private SymbolTable   table;
+    private Comparable[]  probes;
+    private boolean[]     hits;
+    private int           cursor;
+
+    /**
+     * Fills the table and draws the probe keys.
+     */
+    @Setup
+    public void setUp() {
+        Comparable[] keys = keyType.generate(size);
+        table = implementation.fill(keys, VALUE);
+
+        // keys from size onwards are guaranteed to be absent
+        Random random = new Random(size);
+        probes = new Comparable[PROBES];
+        hits = new boolean[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            hits[i] = random.nextDouble() < hitRatio;
+            probes[i] = hits[i] ? keys[random.nextInt(size)]
+                    : keyType.key(size + i);
+        }
+    }
+
+    /**
+     * Returns the index of the next probe key.
+     *
+     * @return the index of the next probe key
+     */
+    private int next() {
+        cursor = (cursor + 1) & (PROBES - 1);
+        return cursor;
+    }
+
+    /**
+     * Looks up a key.
+     *
+     * @return the value found
+     */
+    @Benchmark
+    public Object get() {
+        return table.get(probes[next()]);
+    }
+
+    /**
+     * Checks whether a key exists.
+     *
+     * @return whether the key exists
+     */
+    @Benchmark
+    public boolean contains() {
+        return table.contains(probes[next()]);
+    }
+
+    /**
+     * Updates a present key or inserts an absent one.<br>
+     * <i>Inserted keys are deleted right away, so the table keeps its size
+     * and misses are charged a delete as well.</i>
+     */
+    @Benchmark
+    public void put() {
+        int i = next();
+        table.put(probes[i], VALUE);
+
+        if (!hits[i])
+            table.delete(probes[i]);
+    }
+
+    /**
+     * Deletes a key.<br>
+     * <i>Deleted keys are put back right away, so the table keeps its size and
+     * hits are charged a put as well.</i>
+     */
+    @Benchmark
+    public void delete() {
+        int i = next();
+        table.delete(probes[i]);
+
+        if (hits[i])
+            table.put(probes[i], VALUE);
+    }
+
+    /**
+     * Iterates over every key of the table.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void keys(Blackhole blackhole) {
+        for (Object key : table.keys())
+            blackhole.consume(key);
+    }
+
+    /**
+     * Visits every key-value pair of the table.
+     *
+     * @param blackhole
+     */
+    @Benchmark
+    public void forEach(Blackhole blackhole) {
+        table.forEach((key, value) -> {
+            blackhole.consume(key);
+            blackhole.consume(value);
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Delete-heavy churn on a {@link LinearProbingHashTable} kept at a fixed
+ * {@link #load}: every operation deletes the oldest key and puts a fresh
+ * one.<br>
+ * <i>Sample time mode reports the latency percentiles per load, so the p99
+ * of each load can be compared.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeleteChurnBenchmark {
+
+    private static final int CAPACITY = 1 << 20;
+    private static final int MIX      = 0x9e3779b9;
+
+    /**
+     * The fraction of the table which is filled; the table doubles at 50%
+     * and halves at 12.5%.
+     */
+    @Param({ "0.15", "0.25", "0.35", "0.45", "0.49" })
+    private double load;
+
+    /**
+     * The sizing of the table.
+     */
+    @Param({ "MODULAR", "POWER_OF_TWO" })
+    private TableSizing sizing;
+
+    private LinearProbingHashTable<Integer, Integer> table;
+    private Integer[]                                live;
+    private int                                      cursor;
+    private int                                      fresh;
+
+    /**
+     * Fills the table up to the given load.
+     */
+    @Setup
+    public void setUp() {
+        table = new LinearProbingHashTable<>(CAPACITY, sizing);
+        live = new Integer[(int) (CAPACITY * load)];
+
+        for (fresh = 0; fresh < live.length; fresh++) {
+            live[fresh] = key(fresh);
+            table.put(live[fresh], fresh);
+        }
+    }
+
+    /**
+     * Returns the i-th key; multiplying by an odd constant is a bijection,
+     * so keys never repeat.
+     *
+     * @param i
+     * @return the i-th key
+     */
+    private static Integer key(int i) {
+        return i * MIX;
+    }
+
+    /**
+     * Replaces the oldest key of the table by a fresh one.
+     */
+    @Benchmark
+    public void churn() {
+        table.delete(live[cursor]);
+
+        live[cursor] = key(fresh);
+        table.put(live[cursor], fresh++);
+
+        cursor = cursor + 1 == live.length ? 0 : cursor + 1;
+    }
+}
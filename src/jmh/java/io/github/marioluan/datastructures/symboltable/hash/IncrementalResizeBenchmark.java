@@ -0,0 +1,87 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.marioluan.datastructures.symboltable.SymbolTable;
+
+/**
+ * Put latency of a growing hash table, with and without incremental
+ * resizing: every operation puts a fresh key, and the table starts over
+ * empty once it holds {@link #LIMIT} keys, so it keeps doubling.<br>
+ * <i>Sample time mode reports the latency percentiles, so the p99.99 and max
+ * of a full rehash can be compared against its incremental counterpart.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IncrementalResizeBenchmark {
+
+    private static final int LIMIT = 1 << 20;
+    private static final int MIX   = 0x9e3779b9;
+
+    /**
+     * The table under test.
+     */
+    @Param({ "LINEAR_PROBING", "SEPARATE_CHAINING" })
+    private String table;
+
+    /**
+     * Whether resizes are spread over the following operations.
+     */
+    @Param({ "false", "true" })
+    private boolean incremental;
+
+    private SymbolTable<Integer, Integer> subject;
+    private int                           fresh;
+
+    /**
+     * Creates an empty table.
+     */
+    @Setup
+    public void setUp() {
+        reset();
+    }
+
+    /**
+     * Replaces the table under test by an empty one.
+     */
+    private void reset() {
+        if ("LINEAR_PROBING".equals(table))
+            subject = new LinearProbingHashTable<>(1,
+                    TableSizing.POWER_OF_TWO, incremental);
+        else
+            subject = new SeparateChainingHashTable<>(1,
+                    TableSizing.POWER_OF_TWO, incremental);
+
+        fresh = 0;
+    }
+
+    /**
+     * Puts a fresh key; multiplying by an odd constant is a bijection, so
+     * keys never repeat.
+     */
+    @Benchmark
+    public void put() {
+        if (fresh == LIMIT)
+            reset();
+
+        subject.put(fresh * MIX, fresh++);
+    }
+}
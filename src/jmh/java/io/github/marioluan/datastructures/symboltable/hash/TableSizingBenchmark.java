@@ -0,0 +1,114 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.marioluan.datastructures.symboltable.SymbolTable;
+
+/**
+ * Compares {@link TableSizing#MODULAR} against
+ * {@link TableSizing#POWER_OF_TWO} on both hash tables, using sequential
+ * {@link Integer} keys spaced by {@link #stride}.<br>
+ * <i>A stride of 1 is the best case for the modular sizing; a stride which
+ * is a power of two mimics a poor {@link Object#hashCode()}.</i>
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableSizingBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    /**
+     * Whether to benchmark the linear probing or the separate chaining table.
+     */
+    @Param({ "true", "false" })
+    private boolean linearProbing;
+
+    /**
+     * The sizing of the table.
+     */
+    @Param({ "MODULAR", "POWER_OF_TWO" })
+    private TableSizing sizing;
+
+    /**
+     * The number of keys in the table.
+     */
+    @Param({ "1000", "1000000" })
+    private int size;
+
+    /**
+     * The distance between two consecutive keys.
+     */
+    @Param({ "1", "1024" })
+    private int stride;
+
+    private SymbolTable<Integer, Integer> table;
+    private Integer[]                     probes;
+    private int                           cursor;
+
+    /**
+     * Fills the table and draws the probe keys.
+     */
+    @Setup
+    public void setUp() {
+        if (linearProbing)
+            table = new LinearProbingHashTable<>(size, sizing);
+        else
+            table = new SeparateChainingHashTable<>(size, sizing);
+
+        for (int i = 0; i < size; i++)
+            table.put(i * stride, i);
+
+        Random random = new Random(size);
+        probes = new Integer[PROBES];
+        for (int i = 0; i < PROBES; i++)
+            probes[i] = random.nextInt(size) * stride;
+    }
+
+    /**
+     * Returns the next probe key.
+     *
+     * @return the next probe key
+     */
+    private Integer next() {
+        cursor = (cursor + 1) & (PROBES - 1);
+        return probes[cursor];
+    }
+
+    /**
+     * Looks up a present key.
+     *
+     * @return the value found
+     */
+    @Benchmark
+    public Integer get() {
+        return table.get(next());
+    }
+
+    /**
+     * Updates a present key.
+     */
+    @Benchmark
+    public void put() {
+        Integer key = next();
+        table.put(key, key);
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.marioluan.datastructures.symboltable.mapped;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reopens a {@link MappedBPlusTree} of {@link #size} random keys, as a
+ * restarted process does, and looks keys up in it.
+ *
+ * @author marioluan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappedBPlusTreeBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    /**
+     * The number of keys in the file.
+     */
+    @Param({ "1000000" })
+    private int size;
+
+    private Path                           file;
+    private MappedBPlusTree<Integer, Long> table;
+    private Integer[]                      probes;
+    private int                            cursor;
+
+    /**
+     * Writes the file and draws the probe keys.
+     *
+     * @throws IOException
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("mapped-b-plus-tree", ".db");
+        Random random = new Random(size);
+        probes = new Integer[PROBES];
+
+        try (MappedBPlusTree<Integer, Long> tree = open()) {
+            for (int i = 0; i < size; i++) {
+                int key = random.nextInt();
+                tree.put(key, (long) i);
+
+                if (i < PROBES)
+                    probes[i] = key;
+            }
+        }
+
+        table = open();
+    }
+
+    /**
+     * Closes and deletes the file.
+     *
+     * @throws IOException
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        table.close();
+        Files.delete(file);
+    }
+
+    /**
+     * Opens the table stored in {@link #file}.
+     *
+     * @return the table stored in the file
+     * @throws IOException
+     */
+    private MappedBPlusTree<Integer, Long> open() throws IOException {
+        return new MappedBPlusTree<>(file, Serializer.INTEGER,
+                Serializer.LONG);
+    }
+
+    /**
+     * Opens the file and looks a key up, with no page cached yet.
+     *
+     * @return the value found
+     * @throws IOException
+     */
+    @Benchmark
+    public Long reopen() throws IOException {
+        try (MappedBPlusTree<Integer, Long> reopened = open()) {
+            return reopened.get(probes[next()]);
+        }
+    }
+
+    /**
+     * Looks a key up in the table opened.
+     *
+     * @return the value found
+     */
+    @Benchmark
+    public Long get() {
+        return table.get(probes[next()]);
+    }
+
+    /**
+     * Returns the index of the next probe key.
+     *
+     * @return the index of the next probe key
+     */
+    private int next() {
+        cursor = (cursor + 1) & (PROBES - 1);
+        return cursor;
+    }
+}
@@ -1,10 +1,22 @@
 package io.github.marioluan.datastructures.symboltable;
 
-import edu.princeton.cs.algs4.Stack;
-import io.github.marioluan.datastructures.Util;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * {@link SymbolTable} implementation using an ordered array data structure.
+ * <br>
+ * Read-mostly tables may be {@link #freeze() frozen}: the keys are then laid
+ * out in Eytzinger order, the order a breadth-first walk of a perfectly
+ * balanced tree would visit them in. A search goes from position k to
+ * position 2k or 2k + 1, so the first levels it reads share a few cache lines
+ * every search hits, and the next position is computed from the comparison
+ * with no branch. The next write thaws the table back into sorted order.
+ * <br>
+ * New keys go to a sorted write buffer of about sqrt(n) keys first, which is
+ * merged into the arrays once full, so an insert moves O(sqrt(n)) keys on
+ * average instead of O(n). Lookups search both, and iterations merge them.
  * 
  * @author marioluan
  * @param <Key>
@@ -18,8 +30,16 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
     private Key[]            keys;
     private Value[]          values;
     private int              n;
+    // keys and values are at [1..n] in Eytzinger order, instead of [0..n) in
+    // sorted order
+    private boolean          frozen;
+    // newest keys, sorted, which are not in keys yet; empty while frozen
+    private Key[]            bufferKeys;
+    private Value[]          bufferValues;
+    private int              buffered;
     private static final int FOUR_TIMES = 4;
     private static final int TWICE      = 2;
+    private static final int MIN_BUFFER = 16;
 
     /**
      * Constructs an empty ordered array.
@@ -32,26 +52,106 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
         this.keys = (Key[]) new Comparable[capacity + 1];
         this.values = (Value[]) new Object[capacity + 1];
         this.n = 0;
+        this.bufferKeys = (Key[]) new Comparable[MIN_BUFFER];
+        this.bufferValues = (Value[]) new Object[MIN_BUFFER];
     }
 
-    // Time complexity: O(n)
+    /**
+     * Builds a table out of pairs which are already sorted by key, copying
+     * the arrays at once instead of shifting them on each put.<br>
+     * <i>Time complexity: O(n), where n - 1 comparisons check the order of
+     * the keys.</i>
+     *
+     * @param keys
+     *            sorted distinct keys
+     * @param values
+     *            the values paired with keys, position by position
+     * @return a table holding the pairs
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length, or keys
+     *             are not sorted and distinct
+     * @throws NullPointerException
+     *             if any key or value is null
+     */
+    public static <Key extends Comparable<Key>, Value> ArraySymbolTable<Key, Value> fromSorted(
+            Key[] keys, Value[] values) {
+        SortedBatch<Key, Value> batch = SortedBatch.checked(keys, values);
+
+        ArraySymbolTable<Key, Value> table = new ArraySymbolTable<>(batch.n);
+        System.arraycopy(batch.keys, 0, table.keys, 0, batch.n);
+        System.arraycopy(batch.values, 0, table.values, 0, batch.n);
+        table.n = batch.n;
+
+        return table;
+    }
+
+    /**
+     * Builds a table out of pairs which are already sorted by key, such as
+     * the ones of a dump, instead of putting them one by one.<br>
+     * <i>Time complexity: O(n), where n - 1 comparisons check the order of
+     * the keys.</i>
+     *
+     * @param keys
+     *            sorted distinct keys
+     * @param values
+     *            the values paired with keys, one by one
+     * @return a table holding the pairs
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length, or keys
+     *             are not sorted and distinct
+     * @throws NullPointerException
+     *             if any key or value is null
+     */
+    public static <Key extends Comparable<Key>, Value> ArraySymbolTable<Key, Value> fromSorted(
+            Iterator<? extends Key> keys, Iterator<? extends Value> values) {
+        SortedBatch<Key, Value> batch = SortedBatch.checked(keys, values);
+
+        // the arrays read are the table's own already
+        ArraySymbolTable<Key, Value> table = new ArraySymbolTable<>(0);
+        table.keys = batch.keys;
+        table.values = batch.values;
+        table.n = batch.n;
+
+        return table;
+    }
+
+    // Time complexity: O(sqrt(n)) amortized, O(n) to delete a merged key
     @Override
     public void put(Key key, Value value) {
         if (key == null)
             throw new NullPointerException("key must not be null");
 
-        int i = rank(key);
+        thaw();
+
+        int j = rank(bufferKeys, buffered, key);
+        if (j < buffered && bufferKeys[j].compareTo(key) == 0) {
+            if (value != null) {
+                bufferValues[j] = value;
+            } else {
+                // removes the key-value pair from the buffer
+                buffered--;
+                System.arraycopy(bufferKeys, j + 1, bufferKeys, j,
+                        buffered - j);
+                System.arraycopy(bufferValues, j + 1, bufferValues, j,
+                        buffered - j);
+                bufferKeys[buffered] = null;
+                bufferValues[buffered] = null;
+            }
 
-        // equal keys
+            return;
+        }
+
+        int i = rank(key);
         if (i < n && keys[i].compareTo(key) == 0) {
             if (value != null) {
                 values[i] = value;
             } else {
                 // removes the key-value pair from the table
-                shift(i);
-                keys[n - 1] = null;
-                values[n - 1] = null;
                 n--;
+                System.arraycopy(keys, i + 1, keys, i, n - i);
+                System.arraycopy(values, i + 1, values, i, n - i);
+                keys[n] = null;
+                values[n] = null;
                 // shrink size of array if necessary
                 if (n > 0 && n == keys.length / FOUR_TIMES)
                     resize(keys.length / TWICE);
@@ -60,15 +160,56 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
             return;
         }
 
-        // double size of array if necessary
-        if (n == keys.length)
-            resize(TWICE * keys.length);
+        if (value == null)
+            return;
 
-        // inserts a new key-value pair
-        keys[n] = key;
-        values[n] = value;
-        shift(i, n);
-        n++;
+        // makes room in the buffer if necessary
+        if (buffered == bufferKeys.length) {
+            merge();
+            j = 0;
+        }
+
+        // inserts a new key-value pair into the buffer
+        System.arraycopy(bufferKeys, j, bufferKeys, j + 1, buffered - j);
+        System.arraycopy(bufferValues, j, bufferValues, j + 1, buffered - j);
+        bufferKeys[j] = key;
+        bufferValues[j] = value;
+        buffered++;
+    }
+
+    /**
+     * Merges the buffer into the arrays from their ends, so every key moves
+     * at most once, and sizes the buffer to about sqrt(n).
+     */
+    // Time complexity: O(n)
+    @SuppressWarnings("unchecked")
+    private void merge() {
+        int total = n + buffered;
+        if (total > keys.length)
+            resize(Math.max(TWICE * keys.length, total));
+
+        int i = n - 1;
+        int j = buffered - 1;
+        for (int k = total - 1; j >= 0; k--) {
+            if (i >= 0 && keys[i].compareTo(bufferKeys[j]) > 0) {
+                keys[k] = keys[i];
+                values[k] = values[i--];
+            } else {
+                keys[k] = bufferKeys[j];
+                values[k] = bufferValues[j];
+                bufferKeys[j] = null;
+                bufferValues[j--] = null;
+            }
+        }
+
+        n = total;
+        buffered = 0;
+
+        int capacity = Math.max(MIN_BUFFER, (int) Math.sqrt(n));
+        if (capacity != bufferKeys.length) {
+            bufferKeys = (Key[]) new Comparable[capacity];
+            bufferValues = (Value[]) new Object[capacity];
+        }
     }
 
     // Time complexity: O(log n)
@@ -80,6 +221,15 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
         if (isEmpty())
             return null;
 
+        if (frozen) {
+            int k = ceilingIndex(key);
+            return k != 0 && keys[k].compareTo(key) == 0 ? values[k] : null;
+        }
+
+        int j = rank(bufferKeys, buffered, key);
+        if (j < buffered && bufferKeys[j].compareTo(key) == 0)
+            return bufferValues[j];
+
         int i = rank(key);
         if (i < n && keys[i].compareTo(key) == 0)
             return values[i];
@@ -87,6 +237,235 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
         return null;
     }
 
+    /**
+     * Returns the largest key less than or equal to key.
+     *
+     * @param key
+     * @return the largest key less than or equal to key, or null if there is
+     *         none
+     */
+    // Time complexity: O(log n)
+    public Key floor(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (frozen) {
+            int k = 1;
+
+            // goes right while the keys are less than or equal to key
+            while (k <= n)
+                k = k << 1 | (keys[k].compareTo(key) <= 0 ? 1 : 0);
+
+            // backs up to the last step right
+            k >>= Integer.numberOfTrailingZeros(k) + 1;
+            return k == 0 ? null : keys[k];
+        }
+
+        Key floor = floor(keys, n, key);
+        Key bufferFloor = floor(bufferKeys, buffered, key);
+        if (floor == null || bufferFloor != null
+                && bufferFloor.compareTo(floor) > 0)
+            return bufferFloor;
+
+        return floor;
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to key.
+     *
+     * @param key
+     * @return the smallest key greater than or equal to key, or null if
+     *         there is none
+     */
+    // Time complexity: O(log n)
+    public Key ceiling(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (frozen) {
+            int k = ceilingIndex(key);
+            return k == 0 ? null : keys[k];
+        }
+
+        Key ceiling = ceiling(keys, n, key);
+        Key bufferCeiling = ceiling(bufferKeys, buffered, key);
+        if (ceiling == null || bufferCeiling != null
+                && bufferCeiling.compareTo(ceiling) < 0)
+            return bufferCeiling;
+
+        return ceiling;
+    }
+
+    /**
+     * Returns the largest of the first size sorted keys which is less than
+     * or equal to key.
+     *
+     * @param sorted
+     * @param size
+     * @param key
+     * @return the key found, or null if there is none
+     */
+    private static <Key extends Comparable<Key>> Key floor(Key[] sorted,
+            int size, Key key) {
+        int i = rank(sorted, size, key);
+        if (i < size && sorted[i].compareTo(key) == 0)
+            return sorted[i];
+
+        return i == 0 ? null : sorted[i - 1];
+    }
+
+    /**
+     * Returns the smallest of the first size sorted keys which is greater
+     * than or equal to key.
+     *
+     * @param sorted
+     * @param size
+     * @param key
+     * @return the key found, or null if there is none
+     */
+    private static <Key extends Comparable<Key>> Key ceiling(Key[] sorted,
+            int size, Key key) {
+        int i = rank(sorted, size, key);
+        return i < size ? sorted[i] : null;
+    }
+
+    /**
+     * Returns the Eytzinger position of the smallest key greater than or
+     * equal to key, while the table is frozen.<br>
+     * <i>The next position depends on the sign of the comparison only, so
+     * there is no branch to mispredict but the loop's.</i>
+     *
+     * @param key
+     * @return the position of the smallest key greater than or equal to key,
+     *         or 0 if there is none
+     */
+    private int ceilingIndex(Key key) {
+        int k = 1;
+
+        // goes right while the keys are less than key: the sign bit of the
+        // comparison is the step
+        while (k <= n)
+            k = k << 1 | keys[k].compareTo(key) >>> 31;
+
+        // backs up to the last step left
+        return k >> Integer.numberOfTrailingZeros(~k) + 1;
+    }
+
+    /**
+     * Lays the keys out in Eytzinger order, so lookups read fewer cache lines
+     * and take no unpredictable branch. Iterations still return the keys in
+     * order.<br>
+     * <i>The next put, delete or putAll thaws the table back into sorted
+     * order first, which takes O(n).</i>
+     */
+    // Time complexity: O(n)
+    @SuppressWarnings("unchecked")
+    public void freeze() {
+        if (frozen)
+            return;
+
+        if (buffered > 0)
+            merge();
+
+        Key[] layoutKeys = (Key[]) new Comparable[n + 1];
+        Value[] layoutValues = (Value[]) new Object[n + 1];
+        layout(layoutKeys, layoutValues, 0, 1);
+
+        keys = layoutKeys;
+        values = layoutValues;
+        frozen = true;
+    }
+
+    /**
+     * Checks whether the keys are laid out in Eytzinger order.
+     *
+     * @return <code>true</code> if the table is frozen; <code>false</code>
+     *         otherwise
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Copies the sorted pairs from position i on into the subtree rooted at
+     * the Eytzinger position k, in order.
+     *
+     * @param layoutKeys
+     * @param layoutValues
+     * @param i
+     *            the sorted position of the next pair to copy
+     * @param k
+     * @return the sorted position of the next pair to copy afterwards
+     */
+    private int layout(Key[] layoutKeys, Value[] layoutValues, int i, int k) {
+        if (k > n)
+            return i;
+
+        i = layout(layoutKeys, layoutValues, i, 2 * k);
+        layoutKeys[k] = keys[i];
+        layoutValues[k] = values[i++];
+
+        return layout(layoutKeys, layoutValues, i, 2 * k + 1);
+    }
+
+    /**
+     * Lays the keys back out in sorted order, if the table is frozen.
+     */
+    // Time complexity: O(n)
+    @SuppressWarnings("unchecked")
+    private void thaw() {
+        if (!frozen)
+            return;
+
+        Key[] sortedKeys = (Key[]) new Comparable[n + 1];
+        Value[] sortedValues = (Value[]) new Object[n + 1];
+        int i = 0;
+        for (int k = first(); k != 0; k = successor(k)) {
+            sortedKeys[i] = keys[k];
+            sortedValues[i++] = values[k];
+        }
+
+        keys = sortedKeys;
+        values = sortedValues;
+        frozen = false;
+    }
+
+    /**
+     * Returns the Eytzinger position of the smallest key.
+     *
+     * @return the position of the smallest key, or 0 if the table is empty
+     */
+    private int first() {
+        if (n == 0)
+            return 0;
+
+        int k = 1;
+        while (2 * k <= n)
+            k *= 2;
+
+        return k;
+    }
+
+    /**
+     * Returns the Eytzinger position of the key following the one at k.
+     *
+     * @param k
+     * @return the position of the next key, or 0 if k holds the largest one
+     */
+    private int successor(int k) {
+        // the smallest key of the right subtree
+        if (2 * k + 1 <= n) {
+            k = 2 * k + 1;
+            while (2 * k <= n)
+                k *= 2;
+
+            return k;
+        }
+
+        // the first ancestor whose left subtree holds k
+        return k >> Integer.numberOfTrailingZeros(~k) + 1;
+    }
+
     // Time complexity: O(n)
     @Override
     public void delete(Key key) {
@@ -101,51 +480,159 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
 
     @Override
     public boolean isEmpty() {
-        return n == 0;
+        return n + buffered == 0;
     }
 
     @Override
     public int size() {
-        return n;
+        return n + buffered;
     }
 
-    // Time complexity: O(n)
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the array as the iteration goes, instead of
+     * being copied; the table must not be modified meanwhile.</i>
+     */
+    // Time complexity: O(1)
     @Override
     public Iterable<Key> keys() {
-        Stack<Key> stack = new Stack<>();
+        return KeyIterator::new;
+    }
 
-        for (int i = n - 1; i > -1; i--)
-            stack.push(keys[i]);
+    // Time complexity: O(n)
+    @Override
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        if (frozen) {
+            for (int k = first(); k != 0; k = successor(k))
+                action.accept(keys[k], values[k]);
+
+            return;
+        }
 
-        return stack;
+        int i = 0;
+        int j = 0;
+        while (i < n || j < buffered) {
+            if (j == buffered
+                    || i < n && keys[i].compareTo(bufferKeys[j]) < 0) {
+                action.accept(keys[i], values[i]);
+                i++;
+            } else {
+                action.accept(bufferKeys[j], bufferValues[j]);
+                j++;
+            }
+        }
     }
 
     /**
-     * Shifts all keys greater than the key at the last position of the table.
-     * 
-     * @param i
-     *            starting index
+     * Implements an Iterator over the keys of the array, in order.
      */
-    private void shift(int lo, int hi) {
-        while (keys[lo].compareTo(keys[hi]) > 0) {
-            Util.swap(keys, lo, hi);
-            Util.swap(values, lo, hi);
-            lo++;
+    private class KeyIterator implements Iterator<Key> {
+        // sorted position of the next key, or its Eytzinger position (0 once
+        // done) if the table is frozen
+        private int i = frozen ? first() : 0;
+        // position of the next key of the buffer
+        private int j;
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return frozen ? i != 0 : i < n || j < buffered;
+        }
+
+        /**
+         * Operation not permitted.
+         * 
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            if (frozen) {
+                Key key = keys[i];
+                i = successor(i);
+
+                return key;
+            }
+
+            if (j == buffered || i < n && keys[i].compareTo(bufferKeys[j]) < 0)
+                return keys[i++];
+
+            return bufferKeys[j++];
         }
     }
 
     /**
-     * Shifts all keys greater than the key at the position i.
-     * 
-     * @param i
-     *            starting index
+     * {@inheritDoc}<br>
+     * <i>Sorts the pairs and merges them with the table in a single pass,
+     * instead of shifting the array once per key.</i>
      */
-    private void shift(int i) {
-        while (i + 1 < n) {
-            Util.swap(keys, i, i + 1);
-            Util.swap(values, i, i + 1);
-            i++;
+    // Time complexity: O(n + m log m), where m == number of pairs
+    @SuppressWarnings("unchecked")
+    @Override
+    public void putAll(Key[] keys, Value[] values) {
+        SortedBatch<Key, Value> batch = new SortedBatch<>(keys, values);
+        thaw();
+        if (buffered > 0)
+            merge();
+
+        Key[] mergedKeys = (Key[]) new Comparable[n + batch.n + 1];
+        Value[] mergedValues = (Value[]) new Object[n + batch.n + 1];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < n || j < batch.n) {
+            int cmp;
+            if (i == n)
+                cmp = 1;
+            else if (j == batch.n)
+                cmp = -1;
+            else
+                cmp = this.keys[i].compareTo(batch.keys[j]);
+
+            if (cmp < 0) {
+                // keeps the key from the table
+                mergedKeys[k] = this.keys[i];
+                mergedValues[k++] = this.values[i++];
+            } else {
+                // takes the key from the batch, unless it is a deletion
+                if (batch.values[j] != null) {
+                    mergedKeys[k] = batch.keys[j];
+                    mergedValues[k++] = batch.values[j];
+                }
+
+                // the batch overrides equal keys from the table
+                if (cmp == 0)
+                    i++;
+
+                j++;
+            }
         }
+
+        this.keys = mergedKeys;
+        this.values = mergedValues;
+        this.n = k;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Removes every key in a single pass, instead of shifting the array
+     * once per key.</i>
+     */
+    // Time complexity: O(n + m log m), where m == number of keys
+    @SuppressWarnings("unchecked")
+    @Override
+    public void deleteAll(Key[] keys) {
+        putAll(keys, (Value[]) new Object[keys.length]);
     }
 
     /**
@@ -155,15 +642,29 @@ public class ArraySymbolTable<Key extends Comparable<Key>, Value>
      * @return the index found or a index to add the key
      */
     private int rank(Key key) {
+        return rank(keys, n, key);
+    }
+
+    /**
+     * Returns the index of the key among the first size sorted keys by
+     * making a binary search.
+     *
+     * @param sorted
+     * @param size
+     * @param key
+     * @return the index found or a index to add the key
+     */
+    private static <Key extends Comparable<Key>> int rank(Key[] sorted,
+            int size, Key key) {
         int lo = 0;
-        int hi = n - 1;
+        int hi = size - 1;
 
         while (lo <= hi) {
             int mid = lo + (hi - lo) / 2;
 
-            if (keys[mid].compareTo(key) < 0)
+            if (sorted[mid].compareTo(key) < 0)
                 lo = mid + 1;
-            else if (keys[mid].compareTo(key) > 0)
+            else if (sorted[mid].compareTo(key) > 0)
                 hi = mid - 1;
             else
                 return mid;
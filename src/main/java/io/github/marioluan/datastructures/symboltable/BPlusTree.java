@@ -0,0 +1,780 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link OrderedSymbolTable} implementation using a B+ tree data
+ * structure.<br>
+ * Every node holds up to <i>fan-out</i> sorted keys in an array, so a lookup
+ * reads a handful of contiguous arrays instead of one object per level, and
+ * the tree is only about log<sub>M/2</sub> N levels deep:
+ * <ul>
+ * <li>leaves hold the key-value pairs and are linked to their neighbours, so
+ * range scans walk them sequentially;</li>
+ * <li>internal nodes hold, for each child, a key lesser than or equal to
+ * every key of that child, and every node knows how many keys are under it,
+ * so rank and select skip whole subtrees;</li>
+ * <li>every node but the root is kept at least half full: deletion borrows
+ * a key from a sibling, or merges with it, when a node gets too small.</li>
+ * </ul>
+ * The following operations take O(M log N / log M) on worst-case, where
+ * M == fan-out:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * <li>min/max</li>
+ * <li>floor/ceiling</li>
+ * <li>rank/select</li>
+ * </ul>
+ *
+ * @author marioluan
+ * @param <Key>
+ *            the class type of the comparable keys on the table
+ * @param <Value>
+ *            the class type of the values on the table
+ */
+public class BPlusTree<Key extends Comparable<Key>, Value>
+        implements OrderedSymbolTable<Key, Value> {
+
+    private static final int DEFAULT_FAN_OUT = 64;
+    private static final int MIN_FAN_OUT     = 4;
+
+    private abstract class Node {
+        // leaves: the keys; internal nodes: a lower bound of each child
+        protected final Key[] keys;
+        // number of keys (leaves) or children (internal nodes)
+        protected int         n;
+        // number of key-value pairs under this node
+        protected int         size;
+
+        @SuppressWarnings("unchecked")
+        Node() {
+            // one extra slot holds the entry which overflows the node until
+            // it is split
+            this.keys = (Key[]) new Comparable[fanOut + 1];
+        }
+    }
+
+    private final class Leaf extends Node {
+        private final Value[] values;
+        private Leaf          prev;
+        private Leaf          next;
+
+        @SuppressWarnings("unchecked")
+        Leaf() {
+            this.values = (Value[]) new Object[fanOut + 1];
+        }
+    }
+
+    private final class Internal extends Node {
+        private final Node[] children;
+
+        @SuppressWarnings("unchecked")
+        Internal() {
+            this.children = (Node[]) new BPlusTree.Node[fanOut + 1];
+        }
+    }
+
+    private final int fanOut;
+    private final int minKeys;
+    private Node      root;
+
+    /**
+     * Constructs an empty tree whose nodes hold up to 64 keys.
+     */
+    public BPlusTree() {
+        this(DEFAULT_FAN_OUT);
+    }
+
+    /**
+     * Constructs an empty tree whose nodes hold up to fanOut keys.
+     *
+     * @param fanOut
+     *            the maximum number of keys (or children) of a node
+     * @throws IllegalArgumentException
+     *             if fanOut is lesser than 4
+     */
+    public BPlusTree(int fanOut) {
+        if (fanOut < MIN_FAN_OUT)
+            throw new IllegalArgumentException(
+                    "fan-out must be at least " + MIN_FAN_OUT);
+
+        this.fanOut = fanOut;
+        this.minKeys = fanOut / 2;
+        this.root = new Leaf();
+    }
+
+    /**
+     * Returns the index of the child of the internal node whose keys may
+     * contain the key.
+     *
+     * @param node
+     * @param key
+     * @return the index of the child which may contain the key
+     */
+    private int childIndex(Internal node, Key key) {
+        // the first lower bound is never compared: every key lesser than the
+        // second one goes to the first child
+        int i = Arrays.binarySearch(node.keys, 1, node.n, key);
+
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * Returns the leaf whose keys may contain the key.
+     *
+     * @param key
+     * @return the leaf which may contain the key
+     */
+    private Leaf leafOf(Key key) {
+        Node cursor = root;
+
+        while (cursor instanceof BPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            cursor = node.children[childIndex(node, key)];
+        }
+
+        return (Leaf) cursor;
+    }
+
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        Node split = put(root, key, value);
+
+        // grows the tree by one level
+        if (split != null) {
+            Internal newRoot = new Internal();
+            newRoot.keys[0] = root.keys[0];
+            newRoot.children[0] = root;
+            newRoot.keys[1] = split.keys[0];
+            newRoot.children[1] = split;
+            newRoot.n = 2;
+            newRoot.size = root.size + split.size;
+            root = newRoot;
+        }
+    }
+
+    /**
+     * Wrapper for {@link #put} method.
+     *
+     * @param node
+     * @param key
+     * @param value
+     * @return the new right sibling of the node if it was split, otherwise
+     *         null
+     */
+    private Node put(Node node, Key key, Value value) {
+        if (node instanceof BPlusTree.Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+            // handles updates
+            if (i >= 0) {
+                leaf.values[i] = value;
+                return null;
+            }
+
+            i = -i - 1;
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+            System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.n - i);
+            leaf.keys[i] = key;
+            leaf.values[i] = value;
+            leaf.n++;
+            leaf.size++;
+
+            return leaf.n > fanOut ? split(leaf) : null;
+        }
+
+        Internal internal = (Internal) node;
+        int i = childIndex(internal, key);
+        Node child = internal.children[i];
+        int before = child.size;
+
+        Node split = put(child, key, value);
+        internal.size += child.size - before;
+
+        if (split == null)
+            return null;
+
+        // links the new sibling right after the child
+        internal.size += split.size;
+        insertChild(internal, i + 1, split.keys[0], split);
+
+        return internal.n > fanOut ? split(internal) : null;
+    }
+
+    /**
+     * Moves the upper half of the overflowing leaf into a new leaf.
+     *
+     * @param leaf
+     * @return the new right sibling of the leaf
+     */
+    private Leaf split(Leaf leaf) {
+        Leaf right = new Leaf();
+        int mid = leaf.n / 2;
+
+        right.n = leaf.n - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.n);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.n);
+        Arrays.fill(leaf.keys, mid, leaf.n, null);
+        Arrays.fill(leaf.values, mid, leaf.n, null);
+        leaf.n = mid;
+        right.size = right.n;
+        leaf.size = leaf.n;
+
+        // links the new leaf between the leaf and its next one
+        right.prev = leaf;
+        right.next = leaf.next;
+        if (leaf.next != null)
+            leaf.next.prev = right;
+        leaf.next = right;
+
+        return right;
+    }
+
+    /**
+     * Moves the upper half of the overflowing internal node into a new one.
+     *
+     * @param node
+     * @return the new right sibling of the node
+     */
+    private Internal split(Internal node) {
+        Internal right = new Internal();
+        int mid = node.n / 2;
+
+        right.n = node.n - mid;
+        System.arraycopy(node.keys, mid, right.keys, 0, right.n);
+        System.arraycopy(node.children, mid, right.children, 0, right.n);
+        Arrays.fill(node.keys, mid, node.n, null);
+        Arrays.fill(node.children, mid, node.n, null);
+        node.n = mid;
+
+        for (int i = 0; i < right.n; i++)
+            right.size += right.children[i].size;
+        node.size -= right.size;
+
+        return right;
+    }
+
+    /**
+     * Inserts the child, and its lower bound, at position i of the node.
+     *
+     * @param node
+     * @param i
+     * @param key
+     * @param child
+     */
+    private void insertChild(Internal node, int i, Key key, Node child) {
+        System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i);
+        System.arraycopy(node.children, i, node.children, i + 1, node.n - i);
+        node.keys[i] = key;
+        node.children[i] = child;
+        node.n++;
+    }
+
+    /**
+     * Removes the child, and its lower bound, at position i of the node.
+     *
+     * @param node
+     * @param i
+     */
+    private void removeChild(Internal node, int i) {
+        System.arraycopy(node.keys, i + 1, node.keys, i, node.n - i - 1);
+        System.arraycopy(node.children, i + 1, node.children, i,
+                node.n - i - 1);
+        node.n--;
+        node.keys[node.n] = null;
+        node.children[node.n] = null;
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        Leaf leaf = leafOf(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+        return i >= 0 ? leaf.values[i] : null;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        delete(root, key);
+
+        // shrinks the tree by one level
+        if (root instanceof BPlusTree.Internal && root.n == 1)
+            root = ((Internal) root).children[0];
+    }
+
+    /**
+     * Wrapper for {@link #delete} method.<br>
+     * <i>The node may be left with fewer than half of its keys: its parent
+     * rebalances it.</i>
+     *
+     * @param node
+     * @param key
+     */
+    private void delete(Node node, Key key) {
+        if (node instanceof BPlusTree.Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+            // not found
+            if (i < 0)
+                return;
+
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i,
+                    leaf.n - i - 1);
+            leaf.n--;
+            leaf.keys[leaf.n] = null;
+            leaf.values[leaf.n] = null;
+            leaf.size--;
+
+            return;
+        }
+
+        Internal internal = (Internal) node;
+        int i = childIndex(internal, key);
+        Node child = internal.children[i];
+        int before = child.size;
+
+        delete(child, key);
+        internal.size += child.size - before;
+
+        if (child.n < minKeys)
+            rebalance(internal, i);
+    }
+
+    /**
+     * Refills the i-th child of the node, which got less than half full, by
+     * borrowing a key from one of its siblings or by merging with one of
+     * them.<br>
+     * <i>A child without siblings is the only child of the root, which
+     * {@link #delete} promotes.</i>
+     *
+     * @param parent
+     * @param i
+     */
+    private void rebalance(Internal parent, int i) {
+        Node left = i > 0 ? parent.children[i - 1] : null;
+        Node right = i + 1 < parent.n ? parent.children[i + 1] : null;
+
+        if (left != null && left.n > minKeys)
+            borrowFromLeft(parent, i);
+        else if (right != null && right.n > minKeys)
+            borrowFromRight(parent, i);
+        else if (left != null)
+            merge(parent, i - 1);
+        else if (right != null)
+            merge(parent, i);
+    }
+
+    /**
+     * Moves the last key (or child) of the left sibling of the i-th child to
+     * the front of it.
+     *
+     * @param parent
+     * @param i
+     */
+    private void borrowFromLeft(Internal parent, int i) {
+        Node child = parent.children[i];
+        Node left = parent.children[i - 1];
+        int last = left.n - 1;
+
+        if (child instanceof BPlusTree.Leaf) {
+            Leaf leaf = (Leaf) child;
+            Leaf sibling = (Leaf) left;
+
+            System.arraycopy(leaf.keys, 0, leaf.keys, 1, leaf.n);
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.n);
+            leaf.keys[0] = sibling.keys[last];
+            leaf.values[0] = sibling.values[last];
+            sibling.keys[last] = null;
+            sibling.values[last] = null;
+            sibling.n--;
+            leaf.n++;
+            sibling.size--;
+            leaf.size++;
+        } else {
+            Internal node = (Internal) child;
+            Internal sibling = (Internal) left;
+            Node moved = sibling.children[last];
+
+            // the former first child keeps the lower bound of the child
+            node.keys[0] = parent.keys[i];
+            insertChild(node, 0, sibling.keys[last], moved);
+            sibling.keys[last] = null;
+            sibling.children[last] = null;
+            sibling.n--;
+            sibling.size -= moved.size;
+            node.size += moved.size;
+        }
+
+        parent.keys[i] = child.keys[0];
+    }
+
+    /**
+     * Moves the first key (or child) of the right sibling of the i-th child
+     * to the end of it.
+     *
+     * @param parent
+     * @param i
+     */
+    private void borrowFromRight(Internal parent, int i) {
+        Node child = parent.children[i];
+        Node right = parent.children[i + 1];
+
+        if (child instanceof BPlusTree.Leaf) {
+            Leaf leaf = (Leaf) child;
+            Leaf sibling = (Leaf) right;
+
+            leaf.keys[leaf.n] = sibling.keys[0];
+            leaf.values[leaf.n] = sibling.values[0];
+            leaf.n++;
+            leaf.size++;
+
+            System.arraycopy(sibling.keys, 1, sibling.keys, 0, sibling.n - 1);
+            System.arraycopy(sibling.values, 1, sibling.values, 0,
+                    sibling.n - 1);
+            sibling.n--;
+            sibling.keys[sibling.n] = null;
+            sibling.values[sibling.n] = null;
+            sibling.size--;
+        } else {
+            Internal node = (Internal) child;
+            Internal sibling = (Internal) right;
+            Node moved = sibling.children[0];
+
+            // the lower bound of the sibling bounds its first child as well
+            node.keys[node.n] = parent.keys[i + 1];
+            node.children[node.n] = moved;
+            node.n++;
+            removeChild(sibling, 0);
+            sibling.size -= moved.size;
+            node.size += moved.size;
+        }
+
+        parent.keys[i + 1] = right.keys[0];
+    }
+
+    /**
+     * Moves every key (or child) of the (i + 1)-th child into the i-th one,
+     * and removes the former.
+     *
+     * @param parent
+     * @param i
+     */
+    private void merge(Internal parent, int i) {
+        Node left = parent.children[i];
+        Node right = parent.children[i + 1];
+
+        if (left instanceof BPlusTree.Leaf) {
+            Leaf leaf = (Leaf) left;
+            Leaf sibling = (Leaf) right;
+
+            System.arraycopy(sibling.keys, 0, leaf.keys, leaf.n, sibling.n);
+            System.arraycopy(sibling.values, 0, leaf.values, leaf.n,
+                    sibling.n);
+
+            // unlinks the sibling from the leaves
+            leaf.next = sibling.next;
+            if (sibling.next != null)
+                sibling.next.prev = leaf;
+        } else {
+            Internal node = (Internal) left;
+            Internal sibling = (Internal) right;
+
+            // the lower bound of the sibling bounds its first child as well
+            sibling.keys[0] = parent.keys[i + 1];
+            System.arraycopy(sibling.keys, 0, node.keys, node.n, sibling.n);
+            System.arraycopy(sibling.children, 0, node.children, node.n,
+                    sibling.n);
+        }
+
+        left.n += right.n;
+        left.size += right.size;
+        removeChild(parent, i + 1);
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    /**
+     * Returns the height of the tree, where a tree with a single leaf has
+     * height 0.
+     *
+     * @return the height of the tree
+     */
+    public int height() {
+        int height = 0;
+
+        for (Node cursor = root; cursor instanceof BPlusTree.Internal;
+                cursor = ((Internal) cursor).children[0])
+            height++;
+
+        return height;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the leaves as the iteration goes, instead of
+     * being copied; the tree must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys() {
+        return () -> new KeyIterator(first(), 0, null);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the leaves as the iteration goes, instead of
+     * being copied; the tree must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys(Key lo, Key hi) {
+        return () -> {
+            Leaf leaf = leafOf(lo);
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, lo);
+
+            return new KeyIterator(leaf, i >= 0 ? i : -i - 1, hi);
+        };
+    }
+
+    /**
+     * Implements an Iterator over the keys of the leaves, from a position on
+     * up to an optional upper bound.
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private Leaf      leaf;
+        private int       i;
+        private final Key hi;
+
+        /**
+         * Constructs the iterator by pointing its cursor to the given
+         * position.
+         *
+         * @param leaf
+         * @param i
+         * @param hi
+         *            the largest key to return, or null for no bound
+         */
+        KeyIterator(Leaf leaf, int i, Key hi) {
+            this.leaf = leaf;
+            this.i = i;
+            this.hi = hi;
+            skipEmpty();
+        }
+
+        /**
+         * Moves the cursor to the first key of the next leaves if it went
+         * past the last key of its leaf.
+         */
+        private void skipEmpty() {
+            while (leaf != null && i >= leaf.n) {
+                leaf = leaf.next;
+                i = 0;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return leaf != null
+                    && (hi == null || leaf.keys[i].compareTo(hi) <= 0);
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = leaf.keys[i++];
+            skipEmpty();
+
+            return key;
+        }
+    }
+
+    /**
+     * Returns the leftmost leaf.
+     *
+     * @return the leftmost leaf
+     */
+    private Leaf first() {
+        Node cursor = root;
+
+        while (cursor instanceof BPlusTree.Internal)
+            cursor = ((Internal) cursor).children[0];
+
+        return (Leaf) cursor;
+    }
+
+    /**
+     * Returns the rightmost leaf.
+     *
+     * @return the rightmost leaf
+     */
+    private Leaf last() {
+        Node cursor = root;
+
+        while (cursor instanceof BPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            cursor = node.children[node.n - 1];
+        }
+
+        return (Leaf) cursor;
+    }
+
+    @Override
+    public Key min() {
+        if (isEmpty())
+            return null;
+
+        return first().keys[0];
+    }
+
+    @Override
+    public Key max() {
+        if (isEmpty())
+            return null;
+
+        Leaf leaf = last();
+        return leaf.keys[leaf.n - 1];
+    }
+
+    @Override
+    public void deleteMin() {
+        if (!isEmpty())
+            delete(min());
+    }
+
+    @Override
+    public void deleteMax() {
+        if (!isEmpty())
+            delete(max());
+    }
+
+    @Override
+    public Key floor(Key key) {
+        Leaf leaf = leafOf(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+        if (i >= 0)
+            return leaf.keys[i];
+
+        // the largest key lesser than key
+        i = -i - 2;
+        if (i >= 0)
+            return leaf.keys[i];
+
+        // every key of the leaf is greater than key
+        return leaf.prev != null ? leaf.prev.keys[leaf.prev.n - 1] : null;
+    }
+
+    @Override
+    public Key ceiling(Key key) {
+        Leaf leaf = leafOf(key);
+        int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+        if (i >= 0)
+            return leaf.keys[i];
+
+        // the smallest key greater than key
+        i = -i - 1;
+        if (i < leaf.n)
+            return leaf.keys[i];
+
+        // every key of the leaf is lesser than key
+        return leaf.next != null ? leaf.next.keys[0] : null;
+    }
+
+    @Override
+    public int rank(Key key) {
+        int rank = 0;
+        Node cursor = root;
+
+        while (cursor instanceof BPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            int i = childIndex(node, key);
+
+            // every key of the children before i is lesser
+            for (int j = 0; j < i; j++)
+                rank += node.children[j].size;
+
+            cursor = node.children[i];
+        }
+
+        int i = Arrays.binarySearch(cursor.keys, 0, cursor.n, key);
+        return rank + (i >= 0 ? i : -i - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException
+     *             if k is not in [0..size())
+     */
+    @Override
+    public Key select(int k) {
+        if (k < 0 || k >= size())
+            throw new IllegalArgumentException(
+                    "k must be between 0 and size - 1");
+
+        Node cursor = root;
+
+        while (cursor instanceof BPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            int i = 0;
+
+            // skips the children whose keys all rank lower than k
+            while (k >= node.children[i].size) {
+                k -= node.children[i].size;
+                i++;
+            }
+
+            cursor = node.children[i];
+        }
+
+        return cursor.keys[k];
+    }
+}
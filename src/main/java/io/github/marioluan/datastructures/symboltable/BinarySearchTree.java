@@ -1,5 +1,8 @@
 package io.github.marioluan.datastructures.symboltable;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 import edu.princeton.cs.algs4.Queue;
 import edu.princeton.cs.algs4.Stack;
 
@@ -13,8 +16,10 @@ import edu.princeton.cs.algs4.Stack;
  * <li>put</li>
  * <li>min/max</li>
  * <li>floor/ceiling</li>
- * <li>rank</li>
+ * <li>rank/select</li>
  * </ul>
+ * Every node keeps the size of its subtree, so size takes O(1) and rank and
+ * select do not need to count nodes.
  * 
  * @author marioluan
  * @param <Key>
@@ -32,13 +37,76 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
         private Value value;
         private Node  left;
         private Node  right;
+        // number of nodes in the subtree rooted at this node
+        private int   size;
 
         Node(Key key, Value value) {
             this.key = key;
             this.value = value;
+            this.size = 1;
         }
     }
 
+    /**
+     * Builds a perfectly balanced tree out of pairs which are already sorted
+     * by key, instead of putting them one by one, which would degenerate the
+     * tree into a list.<br>
+     * <i>Time complexity: O(n), where n - 1 comparisons check the order of
+     * the keys.</i>
+     *
+     * @param keys
+     *            sorted distinct keys
+     * @param values
+     *            the values paired with keys, position by position
+     * @return a tree holding the pairs
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length, or keys
+     *             are not sorted and distinct
+     * @throws NullPointerException
+     *             if any key or value is null
+     */
+    public static <Key extends Comparable<Key>, Value> BinarySearchTree<Key, Value> fromSorted(
+            Key[] keys, Value[] values) {
+        return fromSorted(SortedBatch.checked(keys, values));
+    }
+
+    /**
+     * Builds a perfectly balanced tree out of pairs which are already sorted
+     * by key, such as the ones of a dump, instead of putting them one by
+     * one.<br>
+     * <i>Time complexity: O(n), where n - 1 comparisons check the order of
+     * the keys.</i>
+     *
+     * @param keys
+     *            sorted distinct keys
+     * @param values
+     *            the values paired with keys, one by one
+     * @return a tree holding the pairs
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length, or keys
+     *             are not sorted and distinct
+     * @throws NullPointerException
+     *             if any key or value is null
+     */
+    public static <Key extends Comparable<Key>, Value> BinarySearchTree<Key, Value> fromSorted(
+            Iterator<? extends Key> keys, Iterator<? extends Value> values) {
+        return fromSorted(SortedBatch.checked(keys, values));
+    }
+
+    /**
+     * Wrapper for {@link #fromSorted} methods.
+     *
+     * @param batch
+     * @return a tree holding the pairs of the batch
+     */
+    private static <Key extends Comparable<Key>, Value> BinarySearchTree<Key, Value> fromSorted(
+            SortedBatch<Key, Value> batch) {
+        BinarySearchTree<Key, Value> tree = new BinarySearchTree<>();
+        tree.root = tree.build(batch.keys, batch.values, 0, batch.n - 1);
+
+        return tree;
+    }
+
     @Override
     public void put(Key key, Value value) {
         if (key == null)
@@ -57,23 +125,28 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
             return;
         }
 
+        // handles updates
+        Node found = find(key);
+        if (found != null) {
+            found.value = value;
+            return;
+        }
+
         Node cursor = root;
         Node parent = null;
 
-        // finds the place to add the key
+        // finds the place to add the key, counting it on every subtree along
+        // the way
         while (cursor != null) {
             parent = cursor;
+            cursor.size++;
 
             if (key.compareTo(cursor.key) > 0) {
                 // key will be located at right subtree
                 cursor = cursor.right;
-            } else if (key.compareTo(cursor.key) < 0) {
+            } else {
                 // key will be located at left subtree
                 cursor = cursor.left;
-            } else {
-                // updates its value
-                cursor.value = value;
-                return;
             }
         }
 
@@ -94,21 +167,18 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
         if (key == null)
             throw new NullPointerException("key must not be null");
 
-        // handles empty tree
-        if (isEmpty())
-            return;
-
-        // handles tree with single node
-        if (size() == 1) {
-            root = null;
+        // not found
+        if (find(key) == null)
             return;
-        }
 
         Node cursor = root;
         Node parent = null;
 
-        // finds the key and its parent node
-        while (cursor != null) {
+        // finds the key and its parent node, uncounting it from every subtree
+        // along the way
+        while (true) {
+            cursor.size--;
+
             if (cursor.key.compareTo(key) > 0) {
                 parent = cursor;
                 cursor = cursor.left;
@@ -129,27 +199,7 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
         if (isEmpty())
             return;
 
-        // handles tree with single node
-        if (size() == 1) {
-            root = null;
-            return;
-        }
-
-        Node cursor = root;
-        Node parent = null;
-
-        // finds the smallest key and its parent
-        while (cursor != null) {
-            if (cursor.left != null) {
-                parent = cursor;
-                cursor = cursor.left;
-            } else {
-                break;
-            }
-
-        }
-
-        delete(parent, cursor);
+        delete(min());
     }
 
     @Override
@@ -158,51 +208,29 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
         if (isEmpty())
             return;
 
-        // handles tree with single node
-        if (size() == 1) {
-            root = null;
-            return;
-        }
-
-        Node cursor = root;
-        Node parent = null;
-
-        // finds the largest key and its parent
-        while (cursor != null) {
-            if (cursor.right != null) {
-                parent = cursor;
-                cursor = cursor.right;
-            } else {
-                break;
-            }
-
-        }
-
-        delete(parent, cursor);
+        delete(max());
     }
 
     /**
-     * Deletes the key from the {@link Node cursor} tree.
+     * Deletes the {@link Node cursor} from the tree, assuming it was already
+     * uncounted from the subtrees from the root down to it.
      * 
      * @param parent
+     *            the parent of the cursor, or null if it is the root
      * @param cursor
      */
     private void delete(Node parent, Node cursor) {
-        // not found
-        if (cursor == null)
-            return;
-
         if (cursor.left != null && cursor.right != null) {
             // cursor has left and right subtrees
             Node minParent = cursor;
             Node minCursor = cursor.right;
-            Node rightSubTree = cursor.right;
 
-            // searches for a minimum node (and its parent) on the right subtree
-            while (rightSubTree.left != null) {
-                minParent = rightSubTree;
-                minCursor = rightSubTree.left;
-                rightSubTree = rightSubTree.left;
+            // searches for a minimum node (and its parent) on the right
+            // subtree, uncounting it from every subtree along the way
+            while (minCursor.left != null) {
+                minCursor.size--;
+                minParent = minCursor;
+                minCursor = minCursor.left;
             }
 
             // copies the key and value from the minimum node into the node to
@@ -210,28 +238,11 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
             cursor.key = minCursor.key;
             cursor.value = minCursor.value;
 
-            // removes the link to the node to be deleted
-            if (minParent.key.compareTo(minCursor.key) > 0)
-                minParent.left = null;
-            else
-                minParent.right = null;
-
-            // deletes the node
-            minCursor = null;
+            // removes the minimum node, which has no left subtree, by linking
+            // its parent to its right subtree
+            replace(minCursor, minParent, minCursor.right);
         } else {
             // cursor has right or left subtrees
-
-            // cursor is at the root
-            if (parent == null) {
-                if (cursor.right != null)
-                    root = cursor.right;
-                else if (cursor.left != null)
-                    root = cursor.left;
-
-                return;
-            }
-
-            // cursor is not at the root
             Node replacement = null;
 
             if (cursor.left != null)
@@ -239,38 +250,36 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
             else
                 replacement = cursor.right;
 
-            // cursor is not at the root
             replace(cursor, parent, replacement);
         }
     }
 
     /**
-     * Replaces the subtrees of the {@link Node parent} by the {@link Node
-     * replacement} node.<br>
-     * If cursor's key is greater than parent's key, replaces the right
-     * subtree,<br>
-     * If cursor's key is lesser than parent's key, replaces the left
-     * subtree,<br>
-     * otherwise, replaces the parent tree itself.
+     * Replaces the link from the {@link Node parent} to the {@link Node
+     * cursor} by a link to the {@link Node replacement} node.<br>
+     * If parent is null, cursor is the root and the replacement becomes the
+     * new root.
      * 
      * @param cursor
      * @param parent
      * @param replacement
      */
     private void replace(Node cursor, Node parent, Node replacement) {
-        if (cursor.key.compareTo(parent.key) > 0)
-            parent.right = replacement;
-        else if (cursor.key.compareTo(parent.key) < 0)
+        if (parent == null)
+            root = replacement;
+        else if (parent.left == cursor)
             parent.left = replacement;
         else
-            parent = replacement;
+            parent.right = replacement;
     }
 
-    @Override
-    public Value get(Key key) {
-        if (key == null)
-            throw new NullPointerException("key must not be null");
-
+    /**
+     * Returns the node of the key, or null if it is absent.
+     * 
+     * @param key
+     * @return the node of the key, or null if it is absent
+     */
+    private Node find(Key key) {
         Node cursor = root;
 
         while (cursor != null) {
@@ -279,12 +288,121 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
             else if (cursor.key.compareTo(key) < 0)
                 cursor = cursor.right;
             else
-                return cursor.value;
+                return cursor;
         }
 
         return null;
     }
 
+    /**
+     * {@inheritDoc}<br>
+     * <i>Sorts the pairs, merges them with the keys of the tree in order and
+     * rebuilds it from the middle key of each range down, so the tree ends up
+     * perfectly balanced whatever the order of the pairs.</i>
+     */
+    // Time complexity: O(n + m log m), where m == number of pairs
+    @SuppressWarnings("unchecked")
+    @Override
+    public void putAll(Key[] keys, Value[] values) {
+        SortedBatch<Key, Value> batch = new SortedBatch<>(keys, values);
+
+        // collects the nodes of the tree in order
+        Queue<Node> nodes = new Queue<>();
+        Stack<Node> stack = new Stack<>();
+        Node cursor = root;
+        while (cursor != null || !stack.isEmpty()) {
+            if (cursor != null) {
+                stack.push(cursor);
+                cursor = cursor.left;
+            } else {
+                cursor = stack.pop();
+                nodes.enqueue(cursor);
+                cursor = cursor.right;
+            }
+        }
+
+        Key[] mergedKeys = (Key[]) new Comparable[nodes.size() + batch.n];
+        Value[] mergedValues = (Value[]) new Object[nodes.size() + batch.n];
+        int j = 0;
+        int k = 0;
+
+        while (!nodes.isEmpty() || j < batch.n) {
+            int cmp;
+            if (nodes.isEmpty())
+                cmp = 1;
+            else if (j == batch.n)
+                cmp = -1;
+            else
+                cmp = nodes.peek().key.compareTo(batch.keys[j]);
+
+            if (cmp < 0) {
+                // keeps the key from the tree
+                Node node = nodes.dequeue();
+                mergedKeys[k] = node.key;
+                mergedValues[k++] = node.value;
+            } else {
+                // takes the key from the batch, unless it is a deletion
+                if (batch.values[j] != null) {
+                    mergedKeys[k] = batch.keys[j];
+                    mergedValues[k++] = batch.values[j];
+                }
+
+                // the batch overrides equal keys from the tree
+                if (cmp == 0)
+                    nodes.dequeue();
+
+                j++;
+            }
+        }
+
+        root = build(mergedKeys, mergedValues, 0, k - 1);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Removes every key in a single pass over the tree, rebuilding it
+     * perfectly balanced.</i>
+     */
+    // Time complexity: O(n + m log m), where m == number of keys
+    @SuppressWarnings("unchecked")
+    @Override
+    public void deleteAll(Key[] keys) {
+        putAll(keys, (Value[]) new Object[keys.length]);
+    }
+
+    /**
+     * Builds a perfectly balanced tree out of the sorted keys in [lo..hi].
+     *
+     * @param keys
+     *            sorted distinct keys
+     * @param values
+     * @param lo
+     * @param hi
+     * @return the root of the tree built
+     */
+    private Node build(Key[] keys, Value[] values, int lo, int hi) {
+        if (lo > hi)
+            return null;
+
+        int mid = lo + (hi - lo) / 2;
+        Node node = new Node(keys[mid], values[mid]);
+        node.left = build(keys, values, lo, mid - 1);
+        node.right = build(keys, values, mid + 1, hi);
+        node.size = hi - lo + 1;
+
+        return node;
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        Node found = find(key);
+
+        return found == null ? null : found.value;
+    }
+
     @Override
     public boolean contains(Key key) {
         return get(key) != null;
@@ -310,72 +428,125 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
         if (cursor == null)
             return 0;
 
-        int size = 0;
-        Queue<Node> q = new Queue<>();
-        q.enqueue(cursor);
-
-        while (!q.isEmpty()) {
-            Node node = q.dequeue();
-            size += 1;
+        return cursor.size;
+    }
 
-            if (node.left != null)
-                q.enqueue(node.left);
+    /**
+     * Returns the height of the tree, where a tree with a single node has
+     * height 0.
+     *
+     * @return the height of the tree, or -1 if it is empty
+     */
+    public int height() {
+        return height(root);
+    }
 
-            if (node.right != null)
-                q.enqueue(node.right);
-        }
+    /**
+     * Wrapper for {@link #height} method.
+     *
+     * @param node
+     * @return the height of the subtree rooted at the node
+     */
+    private int height(Node node) {
+        if (node == null)
+            return -1;
 
-        return size;
+        return 1 + Math.max(height(node.left), height(node.right));
     }
 
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the tree as the iteration goes, instead of
+     * being copied; the tree must not be modified meanwhile.</i>
+     */
     @Override
     public Iterable<Key> keys() {
-        return keys(min(), max());
+        return () -> new KeyIterator(null, null);
     }
 
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the tree as the iteration goes, instead of
+     * being copied, so the first one is returned in O(h) and the iteration
+     * may stop early; the tree must not be modified meanwhile.</i>
+     */
     @Override
     public Iterable<Key> keys(Key lo, Key hi) {
-        Stack<Node> stack = new Stack<>();
-        Queue<Key> keys = new Queue<>();
-        Node cursor = root;
-
-        // empty tree
-        if (isEmpty())
-            return keys;
-
-        while (true) {
+        return () -> new KeyIterator(lo, hi);
+    }
 
-            // (1) adds all nodes from left subtree which are greater or equal
-            // to lo
-            if (cursor != null) {
-                stack.push(cursor);
+    /**
+     * Implements an in-order Iterator over the keys of the tree, from a lower
+     * bound up to an upper bound.<br>
+     * <i>The stack holds the nodes whose key and right subtree are yet to be
+     * visited, which are never more than the height of the tree.</i>
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private final Stack<Node> stack = new Stack<>();
+        private final Key         lo;
+        private final Key         hi;
+
+        /**
+         * Constructs the iterator by pushing the path to the smallest key
+         * greater than or equal to lo.
+         * 
+         * @param lo
+         *            the smallest key to return, or null for no bound
+         * @param hi
+         *            the largest key to return, or null for no bound
+         */
+        KeyIterator(Key lo, Key hi) {
+            this.lo = lo;
+            this.hi = hi;
+            pushLeft(root);
+        }
 
-                if (cursor.key.compareTo(lo) >= 0)
+        /**
+         * Pushes the cursor and its left descendants, skipping the ones
+         * lesser than lo along with their left subtrees.
+         * 
+         * @param cursor
+         */
+        private void pushLeft(Node cursor) {
+            while (cursor != null) {
+                if (lo != null && cursor.key.compareTo(lo) < 0) {
+                    cursor = cursor.right;
+                } else {
+                    stack.push(cursor);
                     cursor = cursor.left;
-                else
-                    cursor = null;
+                }
+            }
+        }
 
-            } else {
-                // all nodes got visited
-                if (stack.isEmpty())
-                    break;
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                    && (hi == null || stack.peek().key.compareTo(hi) <= 0);
+        }
 
-                // (2) fetches the node from the stack which is already in
-                // natural order
-                cursor = stack.pop();
+        /**
+         * Operation not permitted.
+         * 
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
 
-                // (3) adds eligible keys (between lo..hi)
-                if (cursor.key.compareTo(lo) >= 0
-                        && cursor.key.compareTo(hi) <= 0)
-                    keys.enqueue(cursor.key);
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
 
-                // (4) adds its right subtree to the stack and go back to step
-                // (1) if subtree is not null
-                cursor = cursor.right;
-            }
-        }
+            Node node = stack.pop();
+            pushLeft(node.right);
 
-        return keys;
+            return node.key;
+        }
     }
 
     @Override
@@ -482,10 +653,34 @@ public class BinarySearchTree<Key extends Comparable<Key>, Value>
         return rank;
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws IllegalArgumentException
+     *             if k is not in [0..size())
+     */
     @Override
     public Key select(int k) {
-        // TODO
-        return null;
+        if (k < 0 || k >= size())
+            throw new IllegalArgumentException(
+                    "k must be between 0 and size - 1");
+
+        Node cursor = root;
+
+        while (true) {
+            int leftSize = size(cursor.left);
+
+            if (k < leftSize) {
+                // the key is at the left subtree
+                cursor = cursor.left;
+            } else if (k > leftSize) {
+                // skips the left subtree and the cursor
+                k -= leftSize + 1;
+                cursor = cursor.right;
+            } else {
+                return cursor.key;
+            }
+        }
     }
 
 }
@@ -0,0 +1,621 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe {@link OrderedSymbolTable} implementation using a lock-free
+ * skip list data structure.<br>
+ * Every key is in a sorted linked list, and a random half of them is also in
+ * a second one, a quarter in a third one and so on, so a search skips most
+ * keys by going right on the upper lists before going down:
+ * <ul>
+ * <li>no operation takes a lock: links are changed by compare-and-set, and a
+ * thread which finds a link changed by another one starts over;</li>
+ * <li>a key is deleted by setting its value to null first, which is the
+ * moment it leaves the table, then by marking its links so no key is
+ * inserted after it, and only then it is unlinked. Any thread which walks
+ * past a marked link unlinks its node;</li>
+ * <li>readers never write: they skip the nodes which are being deleted.</li>
+ * </ul>
+ * {@link #keys()}, {@link #keys(Comparable, Comparable)} and {@link #size()}
+ * are weakly consistent: they reflect the writes which completed before they
+ * were called, and may or may not reflect concurrent ones.<br>
+ * The following operations take O(log N) on average:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * <li>floor/ceiling</li>
+ * <li>max</li>
+ * </ul>
+ * {@link #rank(Comparable)} is estimated from a sparse list, in O(1).
+ *
+ * @author marioluan
+ * @param <Key>
+ *            the class type of the comparable keys on the table
+ * @param <Value>
+ *            the class type of the values on the table
+ */
+public class ConcurrentSkipListSymbolTable<Key extends Comparable<Key>, Value>
+        implements OrderedSymbolTable<Key, Value> {
+
+    private static final int MAX_LEVEL   = 32;
+    // number of keys rank counts on a list at most
+    private static final int RANK_SAMPLE = 128;
+
+    private static final class Node {
+        private static final AtomicReferenceFieldUpdater<Node, Object> VALUE = AtomicReferenceFieldUpdater
+                .newUpdater(Node.class, Object.class, "value");
+
+        private final Object                        key;
+        // null once the key is deleted
+        private volatile Object                     value;
+        // one link per list the node is in: the next node, or a Mark
+        // wrapping it once the node is being deleted
+        private final AtomicReferenceArray<Object> next;
+
+        private Node(Object key, Object value, int levels) {
+            this.key = key;
+            this.value = value;
+            this.next = new AtomicReferenceArray<>(levels);
+        }
+
+        private int levels() {
+            return next.length();
+        }
+
+        private Node next(int level) {
+            Object link = next.get(level);
+
+            return link instanceof Mark ? ((Mark) link).node : (Node) link;
+        }
+
+        /**
+         * Links the node to update, unless it is not linked to expected
+         * anymore or the link is marked.
+         */
+        private boolean casNext(int level, Node expected, Node update) {
+            return next.compareAndSet(level, expected, update);
+        }
+
+        /**
+         * Marks the link, unless another thread did it already.
+         */
+        private void mark(int level) {
+            Object link = next.get(level);
+
+            while (!(link instanceof Mark)
+                    && !next.compareAndSet(level, link, new Mark((Node) link)))
+                link = next.get(level);
+        }
+
+        private boolean casValue(Object expected, Object update) {
+            return VALUE.compareAndSet(this, expected, update);
+        }
+    }
+
+    /**
+     * Wraps the next node of a link which is marked. Unmarked links hold the
+     * next node itself, so reads do not go through one more object.
+     */
+    private static final class Mark {
+        private final Node node;
+
+        private Mark(Node node) {
+            this.node = node;
+        }
+    }
+
+    private final Node          head   = new Node(null, null, MAX_LEVEL);
+    // number of lists in use, so searches skip the empty ones
+    private final AtomicInteger levels = new AtomicInteger(1);
+    private final LongAdder     n      = new LongAdder();
+
+    /**
+     * Compares the key of the node with the key.
+     *
+     * @param node
+     * @param key
+     * @return a negative integer, zero, or a positive integer as the key of
+     *         the node is lesser than, equal to, or greater than key
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(Node node, Key key) {
+        return ((Key) node.key).compareTo(key);
+    }
+
+    /**
+     * Returns the number of lists a new node is put into: 1 with probability
+     * 1/2, 2 with probability 1/4 and so on.
+     *
+     * @return the number of lists a new node is put into
+     */
+    private static int randomLevels() {
+        int random = ThreadLocalRandom.current().nextInt();
+
+        return Integer.numberOfTrailingZeros(random | 1 << (MAX_LEVEL - 1))
+                + 1;
+    }
+
+    /**
+     * Finds, on every list, the last node lesser than key and the node after
+     * it, unlinking the deleted nodes on the way.
+     *
+     * @param key
+     * @param preds
+     *            receives the last node lesser than key of every list
+     * @param succs
+     *            receives the node after it on every list
+     * @return <code>true</code> if the node after it on the bottom list holds
+     *         the key; <code>false</code> otherwise
+     */
+    private boolean find(Key key, Node[] preds, Node[] succs) {
+        retry: while (true) {
+            Node pred = head;
+
+            for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+                Node curr = pred.next(level);
+
+                while (curr != null) {
+                    // reads the link once, so its node and mark agree
+                    Object link = curr.next.get(level);
+
+                    if (link instanceof Mark) {
+                        // unlinks the node, which is being deleted; starts
+                        // over if the predecessor changed meanwhile
+                        Node succ = ((Mark) link).node;
+                        if (!pred.casNext(level, curr, succ))
+                            continue retry;
+
+                        curr = succ;
+                    } else if (compare(curr, key) < 0) {
+                        pred = curr;
+                        curr = (Node) link;
+                    } else {
+                        break;
+                    }
+                }
+
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+
+            return succs[0] != null && compare(succs[0], key) == 0;
+        }
+    }
+
+    /**
+     * Marks every link of the node, top to bottom, so no node is linked
+     * after it anymore and the other threads unlink it.
+     *
+     * @param node
+     */
+    private void mark(Node node) {
+        for (int level = node.levels() - 1; level >= 0; level--)
+            node.mark(level);
+    }
+
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        int top = randomLevels();
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+
+        while (true) {
+            if (find(key, preds, succs)) {
+                Node node = succs[0];
+                Object old = node.value;
+
+                // handles updates
+                if (old != null && node.casValue(old, value))
+                    return;
+
+                // the key is being deleted: helps and starts over
+                if (old == null)
+                    mark(node);
+
+                continue;
+            }
+
+            Node node = new Node(key, value, top);
+            for (int level = 0; level < top; level++)
+                node.next.set(level, succs[level]);
+
+            // the key is in the table once it is on the bottom list
+            if (!preds[0].casNext(0, succs[0], node))
+                continue;
+
+            n.increment();
+            raise(top);
+            link(node, key, preds, succs);
+
+            return;
+        }
+    }
+
+    /**
+     * Raises the number of lists in use up to top.
+     *
+     * @param top
+     */
+    private void raise(int top) {
+        int current = levels.get();
+
+        while (current < top && !levels.compareAndSet(current, top))
+            current = levels.get();
+    }
+
+    /**
+     * Links the node, which is already on the bottom list, to the upper lists
+     * it belongs to.
+     *
+     * @param node
+     * @param key
+     * @param preds
+     * @param succs
+     */
+    private void link(Node node, Key key, Node[] preds, Node[] succs) {
+        for (int level = 1; level < node.levels(); level++) {
+            while (true) {
+                Node succ = succs[level];
+                Object link = node.next.get(level);
+
+                // stops if the node is being deleted: its links are marked
+                if (link instanceof Mark || link != succ
+                        && !node.casNext(level, (Node) link, succ))
+                    return;
+
+                if (preds[level].casNext(level, succ, node))
+                    break;
+
+                find(key, preds, succs);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        Node node = ceilingNode(key);
+        if (node == null || compare(node, key) != 0)
+            return null;
+
+        return (Value) node.value;
+    }
+
+    /**
+     * Returns the first node greater than or equal to key which is not being
+     * deleted, without unlinking anything.
+     *
+     * @param key
+     *            the key, or null for the first node
+     * @return the first node greater than or equal to key, or null if there
+     *         is none
+     */
+    private Node ceilingNode(Key key) {
+        Node pred = head;
+        Node curr = null;
+
+        if (key != null) {
+            for (int level = levels.get() - 1; level >= 0; level--) {
+                curr = pred.next(level);
+
+                while (curr != null) {
+                    Object link = curr.next.get(level);
+
+                    // skips the nodes which are being deleted
+                    if (link instanceof Mark) {
+                        curr = ((Mark) link).node;
+                    } else if (compare(curr, key) < 0) {
+                        pred = curr;
+                        curr = (Node) link;
+                    } else {
+                        break;
+                    }
+                }
+            }
+        } else {
+            curr = head.next(0);
+        }
+
+        while (curr != null && curr.value == null)
+            curr = curr.next(0);
+
+        return curr;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        remove(key);
+    }
+
+    /**
+     * Wrapper for {@link #delete} method.
+     *
+     * @param key
+     * @return <code>true</code> if this thread deleted the key;
+     *         <code>false</code> if it was absent or deleted by another one
+     */
+    private boolean remove(Key key) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+
+        if (!find(key, preds, succs))
+            return false;
+
+        Node node = succs[0];
+        Object old = node.value;
+
+        // the key leaves the table once its value is null
+        while (old != null && !node.casValue(old, null))
+            old = node.value;
+
+        if (old == null)
+            return false;
+
+        n.decrement();
+        mark(node);
+        find(key, preds, succs);
+
+        return true;
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ceilingNode(null) == null;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Weakly consistent: concurrent puts and deletes may or may not be
+     * counted.</i>
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, n.sum());
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the list as the iteration goes, instead of
+     * being copied; the keys put or deleted meanwhile may or may not be
+     * returned.</i>
+     */
+    @Override
+    public Iterable<Key> keys() {
+        return () -> new KeyIterator(null, null);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the list as the iteration goes, instead of
+     * being copied; the keys put or deleted meanwhile may or may not be
+     * returned.</i>
+     */
+    @Override
+    public Iterable<Key> keys(Key lo, Key hi) {
+        return () -> new KeyIterator(lo, hi);
+    }
+
+    /**
+     * Implements an Iterator over the keys of the bottom list, from a lower
+     * bound up to an upper bound.
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private final Key hi;
+        private Node      next;
+
+        /**
+         * Constructs the iterator by pointing its cursor to the smallest key
+         * greater than or equal to lo.
+         *
+         * @param lo
+         *            the smallest key to return, or null for no bound
+         * @param hi
+         *            the largest key to return, or null for no bound
+         */
+        KeyIterator(Key lo, Key hi) {
+            this.hi = hi;
+            this.next = ceilingNode(lo);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return next != null && (hi == null || compare(next, hi) <= 0);
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = (Key) next.key;
+
+            // skips the nodes which are being deleted
+            do {
+                next = next.next(0);
+            } while (next != null && next.value == null);
+
+            return key;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Key min() {
+        Node node = ceilingNode(null);
+
+        return node == null ? null : (Key) node.key;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Key max() {
+        while (true) {
+            Node last = head;
+
+            for (int level = levels.get() - 1; level >= 0; level--) {
+                Node curr = last.next(level);
+
+                while (curr != null) {
+                    last = curr;
+                    curr = curr.next(level);
+                }
+            }
+
+            if (last == head)
+                return null;
+
+            if (last.value != null)
+                return (Key) last.key;
+
+            // the last key is being deleted: helps and starts over
+            mark(last);
+            find((Key) last.key, new Node[MAX_LEVEL], new Node[MAX_LEVEL]);
+        }
+    }
+
+    @Override
+    public void deleteMin() {
+        Key min = min();
+
+        // another thread may delete it first
+        while (min != null && !remove(min))
+            min = min();
+    }
+
+    @Override
+    public void deleteMax() {
+        Key max = max();
+
+        // another thread may delete it first
+        while (max != null && !remove(max))
+            max = max();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Key floor(Key key) {
+        Node[] preds = new Node[MAX_LEVEL];
+        Node[] succs = new Node[MAX_LEVEL];
+
+        while (true) {
+            if (find(key, preds, succs) && succs[0].value != null)
+                return (Key) succs[0].key;
+
+            Node pred = preds[0];
+            if (pred == head)
+                return null;
+
+            if (pred.value != null)
+                return (Key) pred.key;
+
+            // the largest key lesser than key is being deleted: helps and
+            // starts over
+            mark(pred);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Key ceiling(Key key) {
+        Node node = ceilingNode(key);
+
+        return node == null ? null : (Key) node.key;
+    }
+
+    /**
+     * Returns an estimate of the number of keys less than key.<br>
+     * <i>Counts the smaller keys on the lowest list holding fewer than 128
+     * keys, each one standing for 2<sup>i</sup> keys of the bottom list when
+     * it is the i-th list from the bottom. It takes O(1) on average and its
+     * standard deviation is about sqrt(rank * size / 128); it is exact when
+     * the table holds fewer than 128 keys.</i>
+     *
+     * @param key
+     * @return an estimate of the number of keys less than key
+     */
+    @Override
+    public int rank(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        int size = size();
+        int level = Integer.SIZE
+                - Integer.numberOfLeadingZeros(size / RANK_SAMPLE);
+        long rank = 0;
+
+        for (Node curr = head.next(level); curr != null
+                && compare(curr, key) < 0; curr = curr.next(level))
+            if (curr.value != null)
+                rank++;
+
+        return (int) Math.min(rank << level, size);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Walks the bottom list, so it takes O(k).</i>
+     *
+     * @throws IllegalArgumentException
+     *             if k is not in [0..size())
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public Key select(int k) {
+        if (k < 0 || k >= size())
+            throw new IllegalArgumentException(
+                    "k must be between 0 and size - 1");
+
+        Node node = ceilingNode(null);
+
+        while (node != null && k > 0) {
+            node = node.next(0);
+
+            if (node != null && node.value != null)
+                k--;
+        }
+
+        // the keys may have been deleted meanwhile
+        return node == null ? null : (Key) node.key;
+    }
+}
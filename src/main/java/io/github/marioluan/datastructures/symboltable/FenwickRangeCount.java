@@ -0,0 +1,243 @@
+package io.github.marioluan.datastructures.symboltable;
+
+/**
+ * 1D range count implementation over a fixed universe of integer keys, using
+ * a Fenwick tree (binary indexed tree) held in a flat <code>long[]</code>.
+ * <br>
+ * Position i of the tree holds the number of occurrences of the keys in the
+ * last lowbit(i) positions up to i, where lowbit(i) == i &amp; -i, so a
+ * prefix sum adds one position per bit of its index. The following
+ * operations take O(log U), where U == max - min + 1:
+ * <ul>
+ * <li>add</li>
+ * <li>insert</li>
+ * <li>prefixSum</li>
+ * <li>count</li>
+ * </ul>
+ * <i>Unlike {@link OneDRangeCount}, it neither allocates per key nor
+ * compares keys, at the cost of U + 1 longs however few keys there are.
+ * {@link SortedArrayRangeCount} pays for the keys present only.</i>
+ *
+ * @author marioluan
+ */
+public class FenwickRangeCount {
+
+    private final long   min;
+    private final long   max;
+    // tree[1..U]; tree[0] is unused so every index has a lowest set bit
+    private final long[] tree;
+    private long         total;
+
+    /**
+     * Constructs an empty count over the keys in [min..max].
+     *
+     * @param min
+     *            the smallest key
+     * @param max
+     *            the largest key
+     * @throws IllegalArgumentException
+     *             if min is greater than max, or the universe does not fit
+     *             in an array
+     */
+    public FenwickRangeCount(long min, long max) {
+        if (min > max)
+            throw new IllegalArgumentException(
+                    "min must not be greater than max");
+        // a negative difference overflowed
+        if (max - min < 0 || max - min >= Integer.MAX_VALUE - 1)
+            throw new IllegalArgumentException(
+                    "max - min must be less than Integer.MAX_VALUE - 1");
+
+        this.min = min;
+        this.max = max;
+        this.tree = new long[(int) (max - min) + 2];
+    }
+
+    /**
+     * Constructs a count over the keys in [min..max] holding an occurrence
+     * of each one of the given keys.<br>
+     * <strong>Time complexity:</strong> O(U + N), instead of O(N log U) for
+     * N inserts
+     *
+     * @param min
+     *            the smallest key
+     * @param max
+     *            the largest key
+     * @param keys
+     *            the keys, in any order and with repetitions
+     * @throws IllegalArgumentException
+     *             if min is greater than max, the universe does not fit in
+     *             an array, or any key is out of it
+     */
+    public FenwickRangeCount(long min, long max, long[] keys) {
+        this(min, max);
+
+        for (long key : keys)
+            tree[index(key)]++;
+
+        build(tree, tree.length - 1);
+        total = keys.length;
+    }
+
+    /**
+     * Adds delta occurrences of the key; a negative delta removes them.<br>
+     * <i>The number of occurrences of a key is not checked, and must not go
+     * below zero.</i><br>
+     * <strong>Time complexity:</strong> O(log U)
+     *
+     * @param key
+     * @param delta
+     * @throws IllegalArgumentException
+     *             if key is out of the universe
+     */
+    public void add(long key, long delta) {
+        add(tree, tree.length - 1, index(key), delta);
+        total += delta;
+    }
+
+    /**
+     * Adds an occurrence of the key.<br>
+     * <strong>Time complexity:</strong> O(log U)
+     *
+     * @param key
+     * @throws IllegalArgumentException
+     *             if key is out of the universe
+     */
+    public void insert(long key) {
+        add(key, 1);
+    }
+
+    /**
+     * Computes and returns the number of occurrences of the keys less than or
+     * equal to the given one.<br>
+     * <strong>Time complexity:</strong> O(log U)
+     *
+     * @param key
+     * @return the number of occurrences of the keys up to key
+     */
+    public long prefixSum(long key) {
+        if (key < min)
+            return 0;
+        if (key >= max)
+            return total;
+
+        return prefix(tree, (int) (key - min) + 1);
+    }
+
+    /**
+     * Computes and returns the number of occurrences of the keys between lo
+     * and hi.<br>
+     * <strong>Time complexity:</strong> O(log U)
+     *
+     * @param lo
+     * @param hi
+     * @return the number of occurrences of the keys between lo and hi
+     */
+    public long count(long lo, long hi) {
+        if (lo > hi)
+            return 0;
+
+        // the keys below lo, which is > min so lo - 1 does not overflow
+        long below = lo <= min ? 0 : prefixSum(lo - 1);
+
+        return prefixSum(hi) - below;
+    }
+
+    /**
+     * Returns the number of occurrences of all keys.
+     *
+     * @return the number of occurrences of all keys
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Returns the position of the key in the tree.
+     *
+     * @param key
+     * @return the position of the key in the tree
+     * @throws IllegalArgumentException
+     *             if key is out of the universe
+     */
+    private int index(long key) {
+        if (key < min || key > max)
+            throw new IllegalArgumentException(
+                    "key must be between min and max");
+
+        return (int) (key - min) + 1;
+    }
+
+    /**
+     * Turns tree[1..n], holding the count of each position, into a Fenwick
+     * tree, pushing every position into the next one which covers it.<br>
+     * <strong>Time complexity:</strong> O(n)
+     *
+     * @param tree
+     * @param n
+     */
+    static void build(long[] tree, int n) {
+        for (int i = 1; i <= n; i++) {
+            long parent = next(i);
+            if (parent <= n)
+                tree[(int) parent] += tree[i];
+        }
+    }
+
+    /**
+     * Turns the Fenwick tree[1..n] back into the count of each position,
+     * undoing {@link #build(long[], int)} from the last position.<br>
+     * <strong>Time complexity:</strong> O(n)
+     *
+     * @param tree
+     * @param n
+     */
+    static void unbuild(long[] tree, int n) {
+        for (int i = n; i >= 1; i--) {
+            long parent = next(i);
+            if (parent <= n)
+                tree[(int) parent] -= tree[i];
+        }
+    }
+
+    /**
+     * Adds delta to position i of the Fenwick tree[1..n].<br>
+     * <strong>Time complexity:</strong> O(log n)
+     *
+     * @param tree
+     * @param n
+     * @param i
+     * @param delta
+     */
+    static void add(long[] tree, int n, int i, long delta) {
+        for (long j = i; j <= n; j = next((int) j))
+            tree[(int) j] += delta;
+    }
+
+    /**
+     * Returns the next position which covers position i, as a long: past
+     * 2^30, i + lowbit(i) overflows an int.
+     *
+     * @param i
+     * @return the next position which covers position i
+     */
+    static long next(int i) {
+        return (long) i + (i & -i);
+    }
+
+    /**
+     * Sums positions 1 to i of the Fenwick tree.<br>
+     * <strong>Time complexity:</strong> O(log i)
+     *
+     * @param tree
+     * @param i
+     * @return the sum of positions 1 to i
+     */
+    static long prefix(long[] tree, int i) {
+        long sum = 0;
+        for (; i > 0; i -= i & -i)
+            sum += tree[i];
+
+        return sum;
+    }
+}
@@ -1,15 +1,32 @@
 package io.github.marioluan.datastructures.symboltable;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-import edu.princeton.cs.algs4.Queue;
+import edu.princeton.cs.algs4.Stack;
 
 /**
- * 1D interval search tree implementation using a symbol table data
- * structure.<br>
- * <strong>Nondegeneracy assumption:</strong> No two intervals have the same
- * left endpoint.
- * 
+ * 1D interval search tree implementation using a left-leaning red-black
+ * binary search tree data structure.<br>
+ * Intervals are ordered by their left endpoint, then by their right one, so
+ * many intervals may share a left endpoint. Every node keeps the largest
+ * right endpoint of its subtree, which rotations and deletions keep up to
+ * date, and the tree stays balanced whatever the order the intervals are put
+ * in, as in {@link RedBlackBST}.<br>
+ * The following operations take O(log N) on worst-case:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * <li>getAnyIntersection</li>
+ * </ul>
+ * {@link #intersects} and {@link #containing} take O(log N) to the first
+ * interval, and O(min(N, K log N)) for all K of them, which falls short of
+ * O(log N + K): the largest right endpoint only tells a subtree holds some
+ * overlapping interval, so reaching each of them may walk a path of its own.
+ * A priority search tree would meet that bound; {@link StaticIntervalIndex}
+ * meets it for a set of intervals which does not change.
+ *
  * @author marioluan
  * @param <Key>
  *            the class type of the comparable key
@@ -18,9 +35,12 @@ import edu.princeton.cs.algs4.Queue;
  */
 public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
 
+    private static final boolean RED   = true;
+    private static final boolean BLACK = false;
+
     /**
      * Representation of a symbol table interval.
-     * 
+     *
      * @author marioluan
      */
     private final class Interval {
@@ -36,74 +56,110 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
 
         /**
          * Checks whether this interval is overlapped by the given interval.
-         * 
+         *
          * @param thatLo
          * @param thatHi
          * @return whether this interval is overlapped by the given interval.
          */
         private boolean overlaps(Key thatLo, Key thatHi) {
-            boolean loOverlap = this.lo.compareTo(thatLo) <= 0
-                    && this.hi.compareTo(thatLo) >= 0;
-            boolean hiOverlap = this.lo.compareTo(thatHi) <= 0
-                    && this.hi.compareTo(thatHi) >= 0;
-            return loOverlap || hiOverlap;
+            // neither interval ends before the other one starts, which also
+            // holds when one contains the other
+            return this.lo.compareTo(thatHi) <= 0
+                    && thatLo.compareTo(this.hi) <= 0;
         }
 
         /**
-         * Checks whether this interval is equal to the given interval.
-         * 
+         * Compares this interval with the given interval, by left endpoint
+         * then by right endpoint.
+         *
          * @param thatLo
          * @param thatHi
-         * @return whether this interval is equal to the given interval
+         * @return a negative integer, zero, or a positive integer as the
+         *         given interval is lesser than, equal to, or greater than
+         *         this one
          */
-        private boolean equals(Key thatLo, Key thatHi) {
-            return this.lo.compareTo(thatLo) == 0
-                    && this.hi.compareTo(thatHi) == 0;
+        private int compareTo(Key thatLo, Key thatHi) {
+            int cmp = thatLo.compareTo(this.lo);
+
+            return cmp != 0 ? cmp : thatHi.compareTo(this.hi);
         }
     }
 
     /**
      * Representation of the nodes from the symbol table.
-     * 
+     *
      * @author marioluan
      */
     private final class Node {
-        private Key      key;
         private Interval interval;
+        // largest right endpoint of the subtree rooted at this node
         private Key      max;
+        // color of the link from its parent
+        private boolean  color;
+        // number of nodes in the subtree rooted at this node
+        private int      size;
 
         private Node left;
         private Node right;
 
-        private Node(Key lo, Key hi, Key max, Value value) {
+        private Node(Key lo, Key hi, Value value) {
             this.interval = new Interval(lo, hi, value);
-            this.key = lo;
-            this.max = max;
+            this.max = hi;
+            this.color = RED;
+            this.size = 1;
         }
     }
 
     private Node root;
 
     /**
-     * Inserts interval-value pair into the symbol table, using the {@link Key
-     * lo} as the key.<br>
+     * Checks whether the link from the node to its parent is red.
+     *
+     * @param node
+     * @return <code>true</code> if the link is red; <code>false</code> if it
+     *         is black or the node is null
+     */
+    private boolean isRed(Node node) {
+        return node != null && node.color == RED;
+    }
+
+    /**
+     * Returns the size of the subtree rooted at the node.
+     *
+     * @param node
+     * @return the size of the subtree rooted at the node
+     */
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Inserts interval-value pair into the symbol table, replacing the value
+     * if the interval is there already.<br>
      * <strong>Time complexity:</strong> O(log N)
-     * 
+     *
      * @param lo
      * @param hi
      * @param value
+     * @throws IllegalArgumentException
+     *             if lo is greater than hi
      */
     public void put(Key lo, Key hi, Value value) {
         if (lo == null || hi == null)
             throw new NullPointerException("lo and hi must not be null");
 
+        if (lo.compareTo(hi) > 0)
+            throw new IllegalArgumentException(
+                    "lo must not be greater than hi");
+
         root = put(root, lo, hi, value);
+        root.color = BLACK;
     }
 
     /**
      * Recursive wrapper for {@link #put} method which inserts a new
      * interval-pair into the symbol table.
-     * 
+     *
      * @param cursor
      * @param lo
      * @param hi
@@ -112,28 +168,24 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
      */
     private Node put(Node cursor, Key lo, Key hi, Value value) {
         if (cursor == null)
-            return new Node(lo, hi, hi, value);
-
-        // maintains the max endpoint for each node
-        if (hi.compareTo(cursor.max) > 0)
-            cursor.max = hi;
+            return new Node(lo, hi, value);
 
         // finds the place to put the node
-        int cmp = cursor.key.compareTo(lo);
-        if (cmp > 0)
+        int cmp = cursor.interval.compareTo(lo, hi);
+        if (cmp < 0)
             cursor.left = put(cursor.left, lo, hi, value);
-        else if (cmp < 0)
+        else if (cmp > 0)
             cursor.right = put(cursor.right, lo, hi, value);
         else
-            throw new IllegalArgumentException("lo key already exists");
+            cursor.interval.value = value;
 
-        return cursor;
+        return balance(cursor);
     }
 
     /**
      * Finds and returns the value paired with the given interval.<br>
      * <strong>Time complexity:</strong> O(log N)
-     * 
+     *
      * @param lo
      * @param hi
      * @return the value paired with the given interval
@@ -142,17 +194,30 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
         if (lo == null || hi == null)
             throw new NullPointerException("lo and hi must not be null");
 
+        Node cursor = find(lo, hi);
+
+        return cursor == null ? null : cursor.interval.value;
+    }
+
+    /**
+     * Returns the node holding the given interval.
+     *
+     * @param lo
+     * @param hi
+     * @return the node holding the given interval, or null if there is none
+     */
+    private Node find(Key lo, Key hi) {
         Node cursor = root;
 
         while (cursor != null) {
-            if (cursor.interval.equals(lo, hi))
-                return cursor.interval.value;
-            else if (cursor.key.compareTo(lo) > 0)
+            int cmp = cursor.interval.compareTo(lo, hi);
+
+            if (cmp < 0)
                 cursor = cursor.left;
-            else if (cursor.key.compareTo(lo) < 0)
+            else if (cmp > 0)
                 cursor = cursor.right;
             else
-                break;
+                return cursor;
         }
 
         return null;
@@ -162,7 +227,7 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
      * Finds and returns any one interval that intersects the given
      * interval.<br>
      * <strong>Time complexity:</strong> O(log N)
-     * 
+     *
      * @param lo
      * @param hi
      * @return the value paired with the given interval
@@ -178,7 +243,7 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
                 return cursor.interval;
             else if (cursor.left == null)
                 cursor = cursor.right;
-            else if (cursor.left.max.compareTo(lo) > 0)
+            else if (cursor.left.max.compareTo(lo) < 0)
                 cursor = cursor.right;
             else
                 cursor = cursor.left;
@@ -190,86 +255,95 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
     /**
      * Deletes the given interval.<br>
      * <strong>Time complexity:</strong> O(log N)
-     * 
+     *
      * @param lo
      * @param hi
+     * @throws NoSuchElementException
+     *             if the interval is not in the symbol table
      */
     public void delete(Key lo, Key hi) {
         if (lo == null || hi == null)
             throw new NullPointerException("lo and hi must not be null");
 
-        if (isEmpty())
+        if (find(lo, hi) == null)
             throw new NoSuchElementException();
 
+        // turns the root into a 3-node, so the interval is never deleted
+        // from a 2-node on the way down
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
         root = delete(root, lo, hi);
+        if (root != null)
+            root.color = BLACK;
     }
 
     /**
      * Recursive wrapper for {@link #delete} method.
-     * 
+     *
      * @param cursor
      * @param lo
      * @param hi
+     *            an interval which is known to be in the subtree
      * @return the updated cursor node after the deletion
      */
     private Node delete(Node cursor, Key lo, Key hi) {
-        // not found
-        if (cursor == null)
-            throw new NoSuchElementException();
+        if (cursor.interval.compareTo(lo, hi) < 0) {
+            if (!isRed(cursor.left) && !isRed(cursor.left.left))
+                cursor = moveRedLeft(cursor);
 
-        int cmp = cursor.key.compareTo(lo);
-
-        if (cursor.interval.equals(lo, hi)) {
-            if (cursor.right == null)
-                return cursor.left;
-
-            if (cursor.left == null)
-                return cursor.right;
-
-            Node toBeDeleted = cursor;
-
-            // finds the minimum node from the right subtree and replaces it
-            // with the node to be deleted
-            cursor = min(toBeDeleted.right);
-
-            // deletes the previous node found and returns its updated right
-            // subtree
-            cursor.right = deleteMin(toBeDeleted.right);
-
-            // points its left subtree to the deleted node left subtree
-            cursor.left = toBeDeleted.left;
-        } else if (cmp > 0)
             cursor.left = delete(cursor.left, lo, hi);
-        else if (cmp < 0)
-            cursor.right = delete(cursor.right, lo, hi);
+        } else {
+            if (isRed(cursor.left))
+                cursor = rotateRight(cursor);
+
+            // the interval is at the bottom
+            if (cursor.interval.compareTo(lo, hi) == 0
+                    && cursor.right == null)
+                return null;
+
+            if (!isRed(cursor.right) && !isRed(cursor.right.left))
+                cursor = moveRedRight(cursor);
+
+            if (cursor.interval.compareTo(lo, hi) == 0) {
+                // replaces the interval by its successor
+                cursor.interval = min(cursor.right).interval;
+                cursor.right = deleteMin(cursor.right);
+            } else {
+                cursor.right = delete(cursor.right, lo, hi);
+            }
+        }
 
-        return cursor;
+        return balance(cursor);
     }
 
     /**
-     * Deletes the smallest key from the {@link Node cursor} tree and returns
-     * the updated tree. <br>
+     * Deletes the smallest interval from the {@link Node cursor} tree and
+     * returns the updated tree. <br>
      * <strong>Time complexity:</strong> O(log N)
-     * 
+     *
      * @param cursor
      * @return the updated tree
      */
     private Node deleteMin(Node cursor) {
         if (cursor.left == null)
-            return cursor.right;
+            return null;
+
+        if (!isRed(cursor.left) && !isRed(cursor.left.left))
+            cursor = moveRedLeft(cursor);
 
         cursor.left = deleteMin(cursor.left);
 
-        return cursor;
+        return balance(cursor);
     }
 
     /**
-     * Wrapper which returns the node with the smallest key from the {@link Node
-     * cursor} tree. <br>
+     * Wrapper which returns the node with the smallest interval from the
+     * {@link Node cursor} tree. <br>
      * <strong>Time complexity:</strong> O(log N)
-     * 
+     *
      * @param cursor
-     * @return the node with the smallest key from the cursor tree
+     * @return the node with the smallest interval from the cursor tree
      */
     private Node min(Node cursor) {
         while (cursor.left != null)
@@ -279,9 +353,145 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
     }
 
     /**
-     * Finds and returns all intervals that overlaps the given interval.<br>
-     * <strong>Time complexity:</strong> O(R log N)
-     * 
+     * Turns a right-leaning red link into a left-leaning one.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node rotateLeft(Node node) {
+        Node x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.color = node.color;
+        node.color = RED;
+        // the subtree holds the same intervals, under a new root
+        x.size = node.size;
+        x.max = node.max;
+        update(node);
+
+        return x;
+    }
+
+    /**
+     * Turns a left-leaning red link into a right-leaning one.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node rotateRight(Node node) {
+        Node x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.color = node.color;
+        node.color = RED;
+        // the subtree holds the same intervals, under a new root
+        x.size = node.size;
+        x.max = node.max;
+        update(node);
+
+        return x;
+    }
+
+    /**
+     * Flips the colors of the node and its children, which splits a
+     * temporary 4-node (or merges three 2-nodes into one).
+     *
+     * @param node
+     */
+    private void flipColors(Node node) {
+        node.color = !node.color;
+        node.left.color = !node.left.color;
+        node.right.color = !node.right.color;
+    }
+
+    /**
+     * Makes the left child of the node or one of its children red, assuming
+     * the node is red and both its children are black.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node moveRedLeft(Node node) {
+        flipColors(node);
+
+        // borrows an interval from the right sibling
+        if (isRed(node.right.left)) {
+            node.right = rotateRight(node.right);
+            node = rotateLeft(node);
+            flipColors(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Makes the right child of the node or one of its children red, assuming
+     * the node is red and both its children are black.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node moveRedRight(Node node) {
+        flipColors(node);
+
+        // borrows an interval from the left sibling
+        if (isRed(node.left.left)) {
+            node = rotateRight(node);
+            flipColors(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Restores the invariants of the subtree on the way up, and updates its
+     * size and max endpoint.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node balance(Node node) {
+        if (isRed(node.right) && !isRed(node.left))
+            node = rotateLeft(node);
+
+        if (isRed(node.left) && isRed(node.left.left))
+            node = rotateRight(node);
+
+        if (isRed(node.left) && isRed(node.right))
+            flipColors(node);
+
+        update(node);
+
+        return node;
+    }
+
+    /**
+     * Recomputes the size and the max endpoint of the node from its
+     * children's.
+     *
+     * @param node
+     */
+    private void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+
+        Key max = node.interval.hi;
+        if (node.left != null && node.left.max.compareTo(max) > 0)
+            max = node.left.max;
+        if (node.right != null && node.right.max.compareTo(max) > 0)
+            max = node.right.max;
+
+        node.max = max;
+    }
+
+    /**
+     * Finds and returns all intervals that overlaps the given interval, in
+     * ascending order of their left endpoint.<br>
+     * <i>The intervals are found as the iteration goes, instead of being
+     * collected up front, so the iteration may stop early; the tree must not
+     * be modified meanwhile.</i><br>
+     * <strong>Time complexity:</strong> O(log N) to the first interval, and
+     * O(min(N, K log N)), not O(log N + K), for all K of them
+     *
      * @param lo
      * @param hi
      * @return all intervals that overlaps the given interval
@@ -290,33 +500,157 @@ public class IntervalSearchTree<Key extends Comparable<Key>, Value> {
         if (lo == null || hi == null)
             throw new NullPointerException("lo and hi must not be null");
 
-        Queue<Value> intersects = new Queue<>();
-        Node cursor = root;
+        return () -> new IntersectionIterator(lo, hi);
+    }
 
-        while (cursor != null) {
-            // intersection found
-            if (cursor.interval.overlaps(lo, hi))
-                intersects.enqueue(cursor.interval.value);
+    /**
+     * Finds and returns all intervals that contain the given point, in
+     * ascending order of their left endpoint.<br>
+     * <i>The intervals are found as the iteration goes; the tree must not be
+     * modified meanwhile.</i><br>
+     * <strong>Time complexity:</strong> O(log N) to the first interval, and
+     * O(min(N, K log N)), not O(log N + K), for all K of them
+     *
+     * @param point
+     * @return all intervals that contain the given point
+     */
+    public Iterable<Value> containing(Key point) {
+        if (point == null)
+            throw new NullPointerException("point must not be null");
 
-            // go down the tree
-            if (cursor.left == null)
-                cursor = cursor.right;
-            else if (cursor.left.max.compareTo(lo) < 0)
-                cursor = cursor.right;
-            else
+        return intersects(point, point);
+    }
+
+    /**
+     * Implements an in-order Iterator over the values of the intervals which
+     * overlap a given interval.<br>
+     * <i>Skips the subtrees whose max endpoint is lesser than lo, and the
+     * right subtrees of the nodes whose left endpoint is greater than hi:
+     * none of their intervals overlap.</i>
+     */
+    private class IntersectionIterator implements Iterator<Value> {
+        private final Stack<Node> stack = new Stack<>();
+        private final Key         lo;
+        private final Key         hi;
+        private Node              next;
+
+        /**
+         * Constructs the iterator by finding the first interval which
+         * overlaps [lo..hi].
+         *
+         * @param lo
+         * @param hi
+         */
+        IntersectionIterator(Key lo, Key hi) {
+            this.lo = lo;
+            this.hi = hi;
+            pushLeft(root);
+            advance();
+        }
+
+        /**
+         * Pushes the cursor and its left descendants, as long as their
+         * subtrees may hold an interval which overlaps [lo..hi].
+         *
+         * @param cursor
+         */
+        private void pushLeft(Node cursor) {
+            while (cursor != null && cursor.max.compareTo(lo) >= 0) {
+                stack.push(cursor);
                 cursor = cursor.left;
+            }
         }
 
-        return intersects;
+        /**
+         * Points {@link #next} to the next node whose interval overlaps
+         * [lo..hi], or to null if there is none.
+         */
+        private void advance() {
+            next = null;
+
+            while (next == null && !stack.isEmpty()) {
+                Node cursor = stack.pop();
+
+                // the node starts after hi, and so do the ones left on the
+                // stack
+                if (cursor.interval.lo.compareTo(hi) > 0)
+                    return;
+
+                if (cursor.interval.overlaps(lo, hi))
+                    next = cursor;
+
+                pushLeft(cursor.right);
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Value next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Value value = next.interval.value;
+            advance();
+
+            return value;
+        }
     }
 
     /**
      * Checks whether the symbol table is empty.
-     * 
+     *
      * @return whether the symbol table is empty
      */
     public boolean isEmpty() {
         return root == null;
     }
 
+    /**
+     * Returns the number of intervals in the symbol table.
+     *
+     * @return the number of intervals in the symbol table
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the height of the tree, where a tree with a single node has
+     * height 0.
+     *
+     * @return the height of the tree, or -1 if it is empty
+     */
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Wrapper for {@link #height} method.
+     *
+     * @param node
+     * @return the height of the subtree rooted at the node
+     */
+    private int height(Node node) {
+        if (node == null)
+            return -1;
+
+        return 1 + Math.max(height(node.left), height(node.right));
+    }
 }
@@ -0,0 +1,430 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.princeton.cs.algs4.Queue;
+
+/**
+ * Immutable 2D range search implementation using a k-d tree flattened into
+ * arrays, the 2D counterpart of {@link OneDRangeCount}.<br>
+ * Every subtree owns a contiguous run of the arrays, with the point whose
+ * coordinate is the median along its axis in the middle, the smaller ones to
+ * its left and the larger ones to its right. The axis alternates between x
+ * and y from a level to the next, and every subtree keeps the bounding box of
+ * its points, so a query skips the subtrees out of its rectangle and takes
+ * the ones inside of it whole, without chasing a single pointer:
+ * <ul>
+ * <li>range takes O(sqrt(N) + K), where K == number of points returned</li>
+ * <li>count takes O(sqrt(N))</li>
+ * <li>nearest takes O(log N) on average for points spread evenly, O(N) on
+ * worst-case</li>
+ * </ul>
+ * It is built in O(N log N), selecting the medians on every core through
+ * fork/join.
+ *
+ * @author marioluan
+ * @param <Value>
+ *            the class type of the value
+ */
+public class KdTree<Value> {
+
+    // subtrees smaller than this are built by the thread which splits them
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int NONE                 = -1;
+
+    // points, each subtree at [lo..hi) with its root at (lo + hi) / 2
+    private final double[]   xs;
+    private final double[]   ys;
+    private final Object[]   values;
+
+    // bounding box of the subtree rooted at every position
+    private final double[]   xmins;
+    private final double[]   ymins;
+    private final double[]   xmaxs;
+    private final double[]   ymaxs;
+
+    /**
+     * Closest point found so far by a nearest neighbor search.
+     */
+    private static final class Search {
+        private int    position = NONE;
+        private double distance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Builds the tree of the given points, each one paired with
+     * values[i].<br>
+     * <strong>Time complexity:</strong> O(N log N), split among the cores
+     *
+     * @param points
+     * @param values
+     *            the values paired with the points, position by position
+     * @throws IllegalArgumentException
+     *             if the arrays do not have the same length
+     * @throws NullPointerException
+     *             if any point is null
+     */
+    public KdTree(Point[] points, Value[] values) {
+        if (points.length != values.length)
+            throw new IllegalArgumentException(
+                    "points and values must have the same length");
+
+        int n = points.length;
+        this.xs = new double[n];
+        this.ys = new double[n];
+        this.values = values.clone();
+        for (int i = 0; i < n; i++) {
+            if (points[i] == null)
+                throw new NullPointerException("point must not be null");
+
+            xs[i] = points[i].x();
+            ys[i] = points[i].y();
+        }
+
+        this.xmins = new double[n];
+        this.ymins = new double[n];
+        this.xmaxs = new double[n];
+        this.ymaxs = new double[n];
+
+        if (n > 0)
+            ForkJoinPool.commonPool().invoke(new Build(0, n, 0));
+    }
+
+    /**
+     * Builds the subtree at [lo..hi), forking the builds of its subtrees
+     * when it is large enough.
+     */
+    private final class Build extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int         lo;
+        private final int         hi;
+        private final int         depth;
+
+        /**
+         * @param lo
+         * @param hi
+         * @param depth
+         *            the level of the subtree, whose parity is its axis
+         */
+        Build(int lo, int hi, int depth) {
+            this.lo = lo;
+            this.hi = hi;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi, mid, depth % 2 == 0 ? xs : ys);
+
+            Build left = lo < mid ? new Build(lo, mid, depth + 1) : null;
+            Build right = mid + 1 < hi ? new Build(mid + 1, hi, depth + 1)
+                    : null;
+
+            if (left != null && right != null
+                    && hi - lo > SEQUENTIAL_THRESHOLD) {
+                invokeAll(left, right);
+            } else {
+                if (left != null)
+                    left.compute();
+                if (right != null)
+                    right.compute();
+            }
+
+            bound(lo, mid, hi);
+        }
+    }
+
+    /**
+     * Rearranges the points at [lo..hi) so the one at k is the one the
+     * position would hold if they were sorted by the given coordinate, with
+     * no larger one before it and no smaller one after it.<br>
+     * <i>Quickselect, with random pivots and 3-way partitioning so that
+     * repeated coordinates do not make it quadratic.</i><br>
+     * <strong>Time complexity:</strong> O(hi - lo) on average
+     *
+     * @param lo
+     * @param hi
+     * @param k
+     * @param coordinates
+     *            xs or ys
+     */
+    private void select(int lo, int hi, int k, double[] coordinates) {
+        hi--;
+
+        while (lo < hi) {
+            double pivot = coordinates[ThreadLocalRandom.current()
+                    .nextInt(lo, hi + 1)];
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+
+            // [lo..lt) < pivot, [lt..i) == pivot, (gt..hi] > pivot
+            while (i <= gt) {
+                if (coordinates[i] < pivot)
+                    swap(lt++, i++);
+                else if (coordinates[i] > pivot)
+                    swap(i, gt--);
+                else
+                    i++;
+            }
+
+            if (k < lt)
+                hi = lt - 1;
+            else if (k > gt)
+                lo = gt + 1;
+            else
+                return;
+        }
+    }
+
+    /**
+     * Swaps the points at i and j.
+     *
+     * @param i
+     * @param j
+     */
+    private void swap(int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+
+        Object value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+
+    /**
+     * Computes the bounding box of the subtree at [lo..hi) rooted at mid,
+     * out of its point and the boxes of its subtrees.
+     *
+     * @param lo
+     * @param mid
+     * @param hi
+     */
+    private void bound(int lo, int mid, int hi) {
+        xmins[mid] = xs[mid];
+        ymins[mid] = ys[mid];
+        xmaxs[mid] = xs[mid];
+        ymaxs[mid] = ys[mid];
+
+        if (lo < mid)
+            include(mid, (lo + mid) >>> 1);
+        if (mid + 1 < hi)
+            include(mid, (mid + 1 + hi) >>> 1);
+    }
+
+    /**
+     * Grows the bounding box at position to cover the one at child.
+     *
+     * @param position
+     * @param child
+     */
+    private void include(int position, int child) {
+        xmins[position] = Math.min(xmins[position], xmins[child]);
+        ymins[position] = Math.min(ymins[position], ymins[child]);
+        xmaxs[position] = Math.max(xmaxs[position], xmaxs[child]);
+        ymaxs[position] = Math.max(ymaxs[position], ymaxs[child]);
+    }
+
+    /**
+     * Finds and returns the values of all points in the rectangle, in no
+     * particular order.<br>
+     * <strong>Time complexity:</strong> O(sqrt(N) + K)
+     *
+     * @param rectangle
+     * @return the values of all points in the rectangle
+     */
+    public Iterable<Value> range(Rectangle rectangle) {
+        Queue<Value> found = new Queue<>();
+        range(rectangle, 0, xs.length, found);
+
+        return found;
+    }
+
+    /**
+     * Adds the values of the points of the subtree at [lo..hi) which are in
+     * the rectangle to found.
+     *
+     * @param rectangle
+     * @param lo
+     * @param hi
+     * @param found
+     */
+    private void range(Rectangle rectangle, int lo, int hi,
+            Queue<Value> found) {
+        if (lo >= hi)
+            return;
+
+        int mid = (lo + hi) >>> 1;
+        if (disjoint(rectangle, mid))
+            return;
+
+        if (inside(rectangle, mid)) {
+            for (int i = lo; i < hi; i++)
+                found.enqueue(value(i));
+
+            return;
+        }
+
+        if (rectangle.contains(xs[mid], ys[mid]))
+            found.enqueue(value(mid));
+
+        range(rectangle, lo, mid, found);
+        range(rectangle, mid + 1, hi, found);
+    }
+
+    /**
+     * Computes and returns the number of points in the rectangle.<br>
+     * <strong>Time complexity:</strong> O(sqrt(N))
+     *
+     * @param rectangle
+     * @return the number of points in the rectangle
+     */
+    public int count(Rectangle rectangle) {
+        return count(rectangle, 0, xs.length);
+    }
+
+    /**
+     * Returns the number of points of the subtree at [lo..hi) which are in
+     * the rectangle.
+     *
+     * @param rectangle
+     * @param lo
+     * @param hi
+     * @return the number of points in the rectangle
+     */
+    private int count(Rectangle rectangle, int lo, int hi) {
+        if (lo >= hi)
+            return 0;
+
+        int mid = (lo + hi) >>> 1;
+        if (disjoint(rectangle, mid))
+            return 0;
+        if (inside(rectangle, mid))
+            return hi - lo;
+
+        int count = rectangle.contains(xs[mid], ys[mid]) ? 1 : 0;
+
+        return count + count(rectangle, lo, mid)
+                + count(rectangle, mid + 1, hi);
+    }
+
+    /**
+     * Checks whether the bounding box at position lies out of the rectangle.
+     */
+    private boolean disjoint(Rectangle rectangle, int position) {
+        return xmaxs[position] < rectangle.xmin()
+                || xmins[position] > rectangle.xmax()
+                || ymaxs[position] < rectangle.ymin()
+                || ymins[position] > rectangle.ymax();
+    }
+
+    /**
+     * Checks whether the bounding box at position lies in the rectangle.
+     */
+    private boolean inside(Rectangle rectangle, int position) {
+        return xmins[position] >= rectangle.xmin()
+                && xmaxs[position] <= rectangle.xmax()
+                && ymins[position] >= rectangle.ymin()
+                && ymaxs[position] <= rectangle.ymax();
+    }
+
+    /**
+     * Finds and returns the value of the point closest to the given one, by
+     * Euclidean distance; ties are broken arbitrarily.<br>
+     * <strong>Time complexity:</strong> O(log N) on average, O(N) on
+     * worst-case
+     *
+     * @param point
+     * @return the value of the closest point, or null if the tree is empty
+     */
+    public Value nearest(Point point) {
+        Search search = new Search();
+        nearest(point.x(), point.y(), 0, xs.length, 0, search);
+
+        return search.position == NONE ? null : value(search.position);
+    }
+
+    /**
+     * Searches the subtree at [lo..hi) for a point closer to (x, y) than the
+     * one found so far, visiting first the side of the split (x, y) is on.
+     *
+     * @param x
+     * @param y
+     * @param lo
+     * @param hi
+     * @param depth
+     * @param search
+     */
+    private void nearest(double x, double y, int lo, int hi, int depth,
+            Search search) {
+        if (lo >= hi)
+            return;
+
+        int mid = (lo + hi) >>> 1;
+        // no point of the subtree can be closer than its bounding box
+        if (boxDistance(x, y, mid) >= search.distance)
+            return;
+
+        double dx = x - xs[mid];
+        double dy = y - ys[mid];
+        double distance = dx * dx + dy * dy;
+        if (distance < search.distance) {
+            search.position = mid;
+            search.distance = distance;
+        }
+
+        double side = depth % 2 == 0 ? dx : dy;
+        if (side < 0) {
+            nearest(x, y, lo, mid, depth + 1, search);
+            nearest(x, y, mid + 1, hi, depth + 1, search);
+        } else {
+            nearest(x, y, mid + 1, hi, depth + 1, search);
+            nearest(x, y, lo, mid, depth + 1, search);
+        }
+    }
+
+    /**
+     * Returns the square of the distance from (x, y) to the bounding box at
+     * position, which is 0 if the box holds the point.
+     */
+    private double boxDistance(double x, double y, int position) {
+        double dx = Math.max(0,
+                Math.max(xmins[position] - x, x - xmaxs[position]));
+        double dy = Math.max(0,
+                Math.max(ymins[position] - y, y - ymaxs[position]));
+
+        return dx * dx + dy * dy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value value(int position) {
+        return (Value) values[position];
+    }
+
+    /**
+     * Returns the number of points in the tree.
+     *
+     * @return the number of points in the tree
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * Checks whether the tree is empty.
+     *
+     * @return whether the tree is empty
+     */
+    public boolean isEmpty() {
+        return xs.length == 0;
+    }
+}
@@ -1,10 +1,18 @@
 package io.github.marioluan.datastructures.symboltable;
 
-import edu.princeton.cs.algs4.Stack;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * {@link SymbolTable} implementation using an unordered linked list data
- * structure.
+ * structure.<br>
+ * Searches start from the head, so tables where a few keys take most of the
+ * hits may bring them there with a {@link ReorderPolicy}. Tables may also be
+ * promoted into a table of the caller's choice, such as a hash table, once
+ * they grow past a threshold, so lookups stop degrading linearly; small
+ * tables stay a plain list.
  * 
  * @author marioluan
  * @param <Key>
@@ -36,74 +44,227 @@ public class LinkedListSymbolTable<Key extends Comparable<Key>, Value>
         }
     }
 
-    private Node<Key, Value> head;
-    private int              size;
+    private Node<Key, Value>                        head;
+    // oldest node, where iteration starts from
+    private Node<Key, Value>                        tail;
+    private int                                     size;
+    private final ReorderPolicy                     policy;
+    private final int                               promotionThreshold;
+    private final Supplier<SymbolTable<Key, Value>> promotion;
+    // the table every operation goes to, once promoted
+    private SymbolTable<Key, Value>                 promoted;
+    private static final int                        NEVER = Integer.MAX_VALUE;
 
-    // Time complexity: O(n)
+    /**
+     * Constructs an empty table which keeps its keys in insertion order and
+     * is never promoted.
+     */
+    public LinkedListSymbolTable() {
+        this(ReorderPolicy.NONE);
+    }
+
+    /**
+     * Constructs an empty table which reorders its keys as they are hit and
+     * is never promoted.
+     *
+     * @param policy
+     *            how the nodes are reordered on hits
+     */
+    public LinkedListSymbolTable(ReorderPolicy policy) {
+        if (policy == null)
+            throw new NullPointerException("policy must not be null");
+
+        this.policy = policy;
+        this.promotionThreshold = NEVER;
+        this.promotion = null;
+    }
+
+    /**
+     * Constructs an empty table which reorders its keys as they are hit and
+     * is promoted into the table promotion supplies once it holds more than
+     * promotionThreshold keys.<br>
+     * <i>A promoted table stays promoted, even if it shrinks back, and
+     * iterates over its keys in no particular order.</i>
+     *
+     * @param policy
+     *            how the nodes are reordered on hits
+     * @param promotionThreshold
+     *            the largest number of keys kept in the list
+     * @param promotion
+     *            supplies the empty table the keys move to, which had better
+     *            fit more than promotionThreshold keys
+     * @throws IllegalArgumentException
+     *             if promotionThreshold is not positive
+     * @throws NullPointerException
+     *             if policy or promotion is null
+     */
+    public LinkedListSymbolTable(ReorderPolicy policy, int promotionThreshold,
+            Supplier<SymbolTable<Key, Value>> promotion) {
+        if (policy == null || promotion == null)
+            throw new NullPointerException(
+                    "policy and promotion must not be null");
+        if (promotionThreshold <= 0)
+            throw new IllegalArgumentException(
+                    "promotionThreshold must be positive");
+
+        this.policy = policy;
+        this.promotionThreshold = promotionThreshold;
+        this.promotion = promotion;
+    }
+
+    // Time complexity: O(n), or the promoted table's once promoted
     @Override
     public void put(Key key, Value value) {
         if (key == null)
             throw new NullPointerException("key must not be null");
 
-        Node<Key, Value> newNode = new Node<>(key, value);
-
-        // first time adding new node
-        if (isEmpty()) {
-            if (value != null) {
-                head = newNode;
-                size++;
-            }
-
+        if (promoted != null) {
+            promoted.put(key, value);
             return;
         }
 
         // tries to find the node with the given key
-        Node<Key, Value> cursor = head;
-        while (!cursor.key.equals(key) && cursor.hasNext())
-            cursor = cursor.next;
+        Node<Key, Value> cursor = find(key);
         // if the key already exists in the table
-        if (cursor.key.equals(key)) {
+        if (cursor != null) {
             if (value == null) {
                 // removes it from table
-                if (cursor.hasPrev())
-                    cursor.prev.next = cursor.next;
-                else
-                    head = cursor.next;
+                unlink(cursor);
                 size--;
-                return;
             } else {
-                // only adds new key with not null values
-                if (value != null)
-                    cursor.value = value;
-                return;
+                cursor.value = value;
+                reorder(cursor);
             }
+
+            return;
         }
 
-        // inserts a new node into the table
-        Node<Key, Value> tmp = head;
-        head = newNode;
-        head.next = tmp;
+        // only adds new key with not null values
+        if (value == null)
+            return;
 
+        // inserts a new node into the table
+        linkBefore(new Node<>(key, value), head);
         size++;
+
+        if (size > promotionThreshold)
+            promote();
     }
 
-    // Time complexity: O(n)
+    // Time complexity: O(n), or the promoted table's once promoted
     @Override
     public Value get(Key key) {
         if (key == null)
             throw new NullPointerException("key must not be null");
 
-        if (isEmpty())
+        if (promoted != null)
+            return promoted.get(key);
+
+        Node<Key, Value> cursor = find(key);
+        if (cursor == null)
             return null;
 
+        reorder(cursor);
+        return cursor.value;
+    }
+
+    /**
+     * Returns the node of the key, searching from the head.
+     *
+     * @param key
+     * @return the node of the key, or null if it is absent
+     */
+    private Node<Key, Value> find(Key key) {
         Node<Key, Value> cursor = head;
-        while (!cursor.key.equals(key) && cursor.hasNext())
+        while (cursor != null && !cursor.key.equals(key))
             cursor = cursor.next;
 
-        if (cursor.key.equals(key))
-            return cursor.value;
+        return cursor;
+    }
+
+    /**
+     * Moves the node hit towards the head, as the policy says.
+     *
+     * @param node
+     */
+    private void reorder(Node<Key, Value> node) {
+        if (!node.hasPrev() || policy == ReorderPolicy.NONE)
+            return;
 
-        return null;
+        Node<Key, Value> successor = policy == ReorderPolicy.MOVE_TO_FRONT
+                ? head : node.prev;
+        unlink(node);
+        linkBefore(node, successor);
+    }
+
+    /**
+     * Removes the node from the list, keeping its size.
+     *
+     * @param node
+     */
+    private void unlink(Node<Key, Value> node) {
+        if (node.hasPrev())
+            node.prev.next = node.next;
+        else
+            head = node.next;
+        if (node.hasNext())
+            node.next.prev = node.prev;
+        else
+            tail = node.prev;
+
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Inserts the node right before the successor, or as the only node if
+     * the list is empty.
+     *
+     * @param node
+     * @param successor
+     *            the node which follows it, which must be null only if the
+     *            list is empty
+     */
+    private void linkBefore(Node<Key, Value> node,
+            Node<Key, Value> successor) {
+        if (successor == null) {
+            head = node;
+            tail = node;
+            return;
+        }
+
+        node.next = successor;
+        node.prev = successor.prev;
+        if (successor.hasPrev())
+            successor.prev.next = node;
+        else
+            head = node;
+        successor.prev = node;
+    }
+
+    /**
+     * Moves every pair into the table {@link #promotion} supplies, from the
+     * oldest to the newest, and drops the list.
+     */
+    // Time complexity: O(n) puts
+    private void promote() {
+        SymbolTable<Key, Value> table = promotion.get();
+        forEach(table::put);
+
+        promoted = table;
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Checks whether the table has been promoted.
+     *
+     * @return <code>true</code> if the table is promoted; <code>false</code>
+     *         otherwise
+     */
+    public boolean isPromoted() {
+        return promoted != null;
     }
 
     @Override
@@ -118,31 +279,75 @@ public class LinkedListSymbolTable<Key extends Comparable<Key>, Value>
 
     @Override
     public boolean isEmpty() {
-        return size == 0;
+        return size() == 0;
     }
 
     @Override
     public int size() {
-        return size;
+        return promoted != null ? promoted.size() : size;
     }
 
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the list as the iteration goes, from the
+     * oldest to the newest, instead of being copied; the table must not be
+     * modified meanwhile. A {@link ReorderPolicy} moves the keys hit
+     * towards the newest end, and lookups count as modifications then.</i>
+     */
     @Override
     public Iterable<Key> keys() {
-        Stack<Key> keys = new Stack<>();
+        if (promoted != null)
+            return promoted.keys();
+
+        return KeyIterator::new;
+    }
 
-        if (isEmpty())
-            return keys;
+    @Override
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        if (promoted != null) {
+            promoted.forEach(action);
+            return;
+        }
 
-        Node<Key, Value> headCopy = head;
+        for (Node<Key, Value> cursor = tail; cursor != null;
+                cursor = cursor.prev)
+            action.accept(cursor.key, cursor.value);
+    }
 
-        keys.push(headCopy.key);
+    /**
+     * Implements an Iterator over the nodes of the list, from the tail to
+     * the head.
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private Node<Key, Value> cursor = tail;
 
-        while (headCopy.hasNext()) {
-            headCopy = headCopy.next;
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return cursor != null;
+        }
 
-            keys.push(headCopy.key);
+        /**
+         * Operation not permitted.
+         * 
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
         }
 
-        return keys;
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = cursor.key;
+            cursor = cursor.prev;
+
+            return key;
+        }
     }
 }
@@ -16,13 +16,17 @@ public class OneDRangeCount<Key extends Comparable<Key>, Value>
     /**
      * Computes and returns the number of keys between {@link Key lo} and
      * {@link Key hi}.<br>
-     * <strong>Time complexity:</strong> O(log N)
+     * <strong>Time complexity:</strong> O(h), where h == height of tree
+     * (subtree sizes are kept on every node, so no node is counted)
      * 
      * @param lo
      * @param hi
      * @return the number of keys between lo and hi
      */
     public int count(Key lo, Key hi) {
+        if (lo.compareTo(hi) > 0)
+            return 0;
+
         if (contains(hi))
             return rank(hi) - rank(lo) + 1;
         else
@@ -1,5 +1,8 @@
 package io.github.marioluan.datastructures.symboltable;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Specification for an ordered {@link SymbolTable} implementations.
  * 
@@ -76,4 +79,42 @@ public interface OrderedSymbolTable<Key extends Comparable<Key>, Value>
      * @return all keys in [lo..hi], in sorted order.
      */
     Iterable<Key> keys(Key lo, Key hi);
+
+    /**
+     * Returns up to limit keys in [lo..hi], the smallest ones, in sorted
+     * order.<br>
+     * <i>Tables whose {@link #keys(Comparable, Comparable)} reads the keys as
+     * the iteration goes never visit the keys past the limit.</i>
+     * 
+     * @param lo
+     * @param hi
+     * @param limit
+     *            the maximum number of keys returned
+     * @return up to limit keys in [lo..hi], in sorted order.
+     * @throws IllegalArgumentException
+     *             if limit is negative
+     */
+    default Iterable<Key> keys(Key lo, Key hi, int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("limit must not be negative");
+
+        return () -> new Iterator<Key>() {
+            private final Iterator<Key> keys = keys(lo, hi).iterator();
+            private int                 left = limit;
+
+            @Override
+            public boolean hasNext() {
+                return left > 0 && keys.hasNext();
+            }
+
+            @Override
+            public Key next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                left--;
+                return keys.next();
+            }
+        };
+    }
 }
@@ -0,0 +1,635 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.UnaryOperator;
+
+import edu.princeton.cs.algs4.Stack;
+
+/**
+ * {@link OrderedSymbolTable} implementation using a persistent AVL tree data
+ * structure.<br>
+ * Nodes are never modified: a put or a delete copies the nodes on the path
+ * from the root down to the key, and shares every other node with the
+ * previous version of the tree. The heights of the two subtrees of every node
+ * differ by one at most, so its height is never greater than 1.44 lg N.<br>
+ * Hence a version of the table is just its root:
+ * <ul>
+ * <li>{@link #snapshot()} takes O(1) and returns a read-only table, which
+ * does not change whatever happens to this one afterwards;</li>
+ * <li>{@link #with(Comparable, Object)} and {@link #without(Comparable)}
+ * return a new version, leaving this one untouched;</li>
+ * <li>readers need no lock: each operation reads the root once and works on
+ * that version only, while writers replace the root by compare-and-set.
+ * {@link #keys()} iterates over the version current when it is called.</li>
+ * </ul>
+ * The following operations take O(log N) on worst-case:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * <li>min/max</li>
+ * <li>deleteMin/deleteMax</li>
+ * <li>floor/ceiling</li>
+ * <li>rank/select</li>
+ * </ul>
+ *
+ * @author marioluan
+ * @param <Key>
+ *            the class type of the comparable keys on the table
+ * @param <Value>
+ *            the class type of the values on the table
+ */
+public class PersistentAVLTree<Key extends Comparable<Key>, Value>
+        implements OrderedSymbolTable<Key, Value> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<PersistentAVLTree, Node> ROOT = AtomicReferenceFieldUpdater
+            .newUpdater(PersistentAVLTree.class, Node.class, "root");
+
+    private volatile Node<Key, Value> root;
+    // snapshots and versions are never written to
+    private final boolean             readOnly;
+
+    private static final class Node<Key, Value> {
+        private final Key              key;
+        private final Value            value;
+        private final Node<Key, Value> left;
+        private final Node<Key, Value> right;
+        // the height of a leaf is 0
+        private final int              height;
+        // number of nodes in the subtree rooted at this node
+        private final int              size;
+
+        Node(Key key, Value value, Node<Key, Value> left,
+                Node<Key, Value> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    /**
+     * Constructs an empty table.
+     */
+    public PersistentAVLTree() {
+        this(null, false);
+    }
+
+    private PersistentAVLTree(Node<Key, Value> root, boolean readOnly) {
+        this.root = root;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Returns a read-only view of the table as it is now. Later changes to
+     * this table are not visible through it.<br>
+     * <i>It takes O(1), since both tables share the same nodes.</i>
+     *
+     * @return a read-only copy of the table
+     */
+    public PersistentAVLTree<Key, Value> snapshot() {
+        return new PersistentAVLTree<>(root, true);
+    }
+
+    /**
+     * Returns a read-only copy of the table, with the key paired with the
+     * value. This table is left untouched.<br>
+     * <i>It copies O(log N) nodes and shares the others.</i>
+     *
+     * @param key
+     * @param value
+     *            the value, or null to leave the key out
+     * @return a read-only copy of the table with the key paired with the
+     *         value
+     */
+    public PersistentAVLTree<Key, Value> with(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (value == null)
+            return without(key);
+
+        return new PersistentAVLTree<>(put(root, key, value), true);
+    }
+
+    /**
+     * Returns a read-only copy of the table without the key. This table is
+     * left untouched.<br>
+     * <i>It copies O(log N) nodes and shares the others.</i>
+     *
+     * @param key
+     * @return a read-only copy of the table without the key
+     */
+    public PersistentAVLTree<Key, Value> without(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        return new PersistentAVLTree<>(delete(root, key), true);
+    }
+
+    /**
+     * Replaces the root by the one the change makes of it, starting over if
+     * another writer replaced it first.
+     *
+     * @param change
+     * @throws UnsupportedOperationException
+     *             if the table is read-only
+     */
+    private void update(UnaryOperator<Node<Key, Value>> change) {
+        if (readOnly)
+            throw new UnsupportedOperationException("the table is read-only");
+
+        while (true) {
+            Node<Key, Value> current = root;
+            Node<Key, Value> updated = change.apply(current);
+
+            if (updated == current || ROOT.compareAndSet(this, current, updated))
+                return;
+        }
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? -1 : node.height;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException
+     *             if the table is read-only
+     */
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        update(current -> put(current, key, value));
+    }
+
+    /**
+     * Wrapper for {@link #put} method.
+     *
+     * @param node
+     * @param key
+     * @param value
+     * @return the root of a copy of the subtree with the key put into it, or
+     *         the node itself if the key is already paired with the value
+     */
+    private Node<Key, Value> put(Node<Key, Value> node, Key key,
+            Value value) {
+        if (node == null)
+            return new Node<>(key, value, null, null);
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node<Key, Value> left = put(node.left, key, value);
+            return left == node.left ? node
+                    : balance(node.key, node.value, left, node.right);
+        }
+
+        if (cmp > 0) {
+            Node<Key, Value> right = put(node.right, key, value);
+            return right == node.right ? node
+                    : balance(node.key, node.value, node.left, right);
+        }
+
+        if (value == node.value)
+            return node;
+
+        return new Node<>(key, value, node.left, node.right);
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        Node<Key, Value> cursor = root;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp < 0)
+                cursor = cursor.left;
+            else if (cmp > 0)
+                cursor = cursor.right;
+            else
+                return cursor.value;
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException
+     *             if the table is read-only
+     */
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        update(current -> delete(current, key));
+    }
+
+    /**
+     * Wrapper for {@link #delete} method.
+     *
+     * @param node
+     * @param key
+     * @return the root of a copy of the subtree without the key, or the node
+     *         itself if the key is not in it
+     */
+    private Node<Key, Value> delete(Node<Key, Value> node, Key key) {
+        if (node == null)
+            return null;
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node<Key, Value> left = delete(node.left, key);
+            return left == node.left ? node
+                    : balance(node.key, node.value, left, node.right);
+        }
+
+        if (cmp > 0) {
+            Node<Key, Value> right = delete(node.right, key);
+            return right == node.right ? node
+                    : balance(node.key, node.value, node.left, right);
+        }
+
+        if (node.left == null)
+            return node.right;
+
+        if (node.right == null)
+            return node.left;
+
+        // replaces the node by its successor
+        Node<Key, Value> min = min(node.right);
+        return balance(min.key, min.value, node.left, deleteMin(node.right));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException
+     *             if the table is read-only
+     */
+    @Override
+    public void deleteMin() {
+        update(current -> current == null ? null : deleteMin(current));
+    }
+
+    /**
+     * Wrapper for {@link #deleteMin} method.
+     *
+     * @param node
+     * @return the root of a copy of the subtree without its smallest key
+     */
+    private Node<Key, Value> deleteMin(Node<Key, Value> node) {
+        if (node.left == null)
+            return node.right;
+
+        return balance(node.key, node.value, deleteMin(node.left),
+                node.right);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UnsupportedOperationException
+     *             if the table is read-only
+     */
+    @Override
+    public void deleteMax() {
+        update(current -> current == null ? null : deleteMax(current));
+    }
+
+    /**
+     * Wrapper for {@link #deleteMax} method.
+     *
+     * @param node
+     * @return the root of a copy of the subtree without its largest key
+     */
+    private Node<Key, Value> deleteMax(Node<Key, Value> node) {
+        if (node.right == null)
+            return node.left;
+
+        return balance(node.key, node.value, node.left,
+                deleteMax(node.right));
+    }
+
+    /**
+     * Builds a node from the key, the value and the subtrees, rotating it if
+     * their heights differ by two.
+     *
+     * @param key
+     * @param value
+     * @param left
+     *            the left subtree, which is balanced
+     * @param right
+     *            the right subtree, which is balanced
+     * @return the root of the new subtree
+     */
+    private Node<Key, Value> balance(Key key, Value value,
+            Node<Key, Value> left, Node<Key, Value> right) {
+        if (height(left) > height(right) + 1) {
+            // single rotation to the right
+            if (height(left.left) >= height(left.right))
+                return new Node<>(left.key, left.value, left.left,
+                        new Node<>(key, value, left.right, right));
+
+            // double rotation: the left child's right child goes up
+            Node<Key, Value> middle = left.right;
+            return new Node<>(middle.key, middle.value,
+                    new Node<>(left.key, left.value, left.left, middle.left),
+                    new Node<>(key, value, middle.right, right));
+        }
+
+        if (height(right) > height(left) + 1) {
+            // single rotation to the left
+            if (height(right.right) >= height(right.left))
+                return new Node<>(right.key, right.value,
+                        new Node<>(key, value, left, right.left),
+                        right.right);
+
+            // double rotation: the right child's left child goes up
+            Node<Key, Value> middle = right.left;
+            return new Node<>(middle.key, middle.value,
+                    new Node<>(key, value, left, middle.left),
+                    new Node<>(right.key, right.value, middle.right,
+                            right.right));
+        }
+
+        return new Node<>(key, value, left, right);
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the height of the tree, where a tree with a single node has
+     * height 0.
+     *
+     * @return the height of the tree, or -1 if it is empty
+     */
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the version of the tree current when this
+     * method is called, as the iteration goes; later changes to the table
+     * are not returned.</i>
+     */
+    @Override
+    public Iterable<Key> keys() {
+        Node<Key, Value> version = root;
+
+        return () -> new KeyIterator(version, null, null);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the version of the tree current when this
+     * method is called, as the iteration goes, so the first one is returned
+     * in O(log N) and the iteration may stop early; later changes to the
+     * table are not returned.</i>
+     */
+    @Override
+    public Iterable<Key> keys(Key lo, Key hi) {
+        Node<Key, Value> version = root;
+
+        return () -> new KeyIterator(version, lo, hi);
+    }
+
+    /**
+     * Implements an in-order Iterator over the keys of a version of the tree,
+     * from a lower bound up to an upper bound.<br>
+     * <i>The stack holds the nodes whose key and right subtree are yet to be
+     * visited, which are never more than 1.44 lg N.</i>
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private final Stack<Node<Key, Value>> stack = new Stack<>();
+        private final Key                     lo;
+        private final Key                     hi;
+
+        /**
+         * Constructs the iterator by pushing the path to the smallest key
+         * greater than or equal to lo.
+         *
+         * @param version
+         *            the root of the version to iterate over
+         * @param lo
+         *            the smallest key to return, or null for no bound
+         * @param hi
+         *            the largest key to return, or null for no bound
+         */
+        KeyIterator(Node<Key, Value> version, Key lo, Key hi) {
+            this.lo = lo;
+            this.hi = hi;
+            pushLeft(version);
+        }
+
+        /**
+         * Pushes the node and its left descendants, skipping the ones lesser
+         * than lo along with their left subtrees.
+         *
+         * @param node
+         */
+        private void pushLeft(Node<Key, Value> node) {
+            while (node != null) {
+                if (lo != null && node.key.compareTo(lo) < 0) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                    && (hi == null || stack.peek().key.compareTo(hi) <= 0);
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Node<Key, Value> node = stack.pop();
+            pushLeft(node.right);
+
+            return node.key;
+        }
+    }
+
+    @Override
+    public Key min() {
+        Node<Key, Value> version = root;
+        if (version == null)
+            return null;
+
+        return min(version).key;
+    }
+
+    /**
+     * Wrapper for {@link #min} method.
+     *
+     * @param cursor
+     * @return the node with the smallest key from the tree of the cursor
+     */
+    private Node<Key, Value> min(Node<Key, Value> cursor) {
+        while (cursor.left != null)
+            cursor = cursor.left;
+
+        return cursor;
+    }
+
+    @Override
+    public Key max() {
+        Node<Key, Value> cursor = root;
+        if (cursor == null)
+            return null;
+
+        while (cursor.right != null)
+            cursor = cursor.right;
+
+        return cursor.key;
+    }
+
+    @Override
+    public Key floor(Key key) {
+        Node<Key, Value> cursor = root;
+        Key largestKey = null;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp > 0) {
+                largestKey = cursor.key;
+                cursor = cursor.right;
+            } else if (cmp < 0) {
+                cursor = cursor.left;
+            } else {
+                return cursor.key;
+            }
+        }
+
+        return largestKey;
+    }
+
+    @Override
+    public Key ceiling(Key key) {
+        Node<Key, Value> cursor = root;
+        Key smallestKey = null;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp > 0) {
+                cursor = cursor.right;
+            } else if (cmp < 0) {
+                smallestKey = cursor.key;
+                cursor = cursor.left;
+            } else {
+                return cursor.key;
+            }
+        }
+
+        return smallestKey;
+    }
+
+    @Override
+    public int rank(Key key) {
+        int rank = 0;
+        Node<Key, Value> cursor = root;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp < 0) {
+                cursor = cursor.left;
+            } else if (cmp > 0) {
+                // every key of the left subtree and the cursor are lesser
+                rank += 1 + size(cursor.left);
+                cursor = cursor.right;
+            } else {
+                return rank + size(cursor.left);
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException
+     *             if k is not in [0..size())
+     */
+    @Override
+    public Key select(int k) {
+        Node<Key, Value> cursor = root;
+
+        if (k < 0 || k >= size(cursor))
+            throw new IllegalArgumentException(
+                    "k must be between 0 and size - 1");
+
+        while (true) {
+            int leftSize = size(cursor.left);
+
+            if (k < leftSize) {
+                cursor = cursor.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                cursor = cursor.right;
+            } else {
+                return cursor.key;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.marioluan.datastructures.symboltable;
+
+/**
+ * Immutable point of the plane, as the keys of a {@link KdTree}.
+ *
+ * @author marioluan
+ */
+public final class Point {
+
+    private final double x;
+    private final double y;
+
+    /**
+     * Constructs the point (x, y).
+     *
+     * @param x
+     * @param y
+     * @throws IllegalArgumentException
+     *             if any coordinate is NaN
+     */
+    public Point(double x, double y) {
+        if (Double.isNaN(x) || Double.isNaN(y))
+            throw new IllegalArgumentException(
+                    "coordinates must not be NaN");
+
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns the x-coordinate.
+     *
+     * @return the x-coordinate
+     */
+    public double x() {
+        return x;
+    }
+
+    /**
+     * Returns the y-coordinate.
+     *
+     * @return the y-coordinate
+     */
+    public double y() {
+        return y;
+    }
+
+    /**
+     * Returns the square of the Euclidean distance to the given point, which
+     * orders points by distance without computing a square root.
+     *
+     * @param that
+     * @return the square of the distance to that
+     */
+    public double distanceSquaredTo(Point that) {
+        double dx = x - that.x;
+        double dy = y - that.y;
+
+        return dx * dx + dy * dy;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Point))
+            return false;
+
+        Point that = (Point) other;
+        return Double.compare(x, that.x) == 0
+                && Double.compare(y, that.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(x) + Double.hashCode(y);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.marioluan.datastructures.symboltable;
+
+/**
+ * Immutable axis-aligned rectangle of the plane, as the queries of a
+ * {@link KdTree}. It holds the points on its border.
+ *
+ * @author marioluan
+ */
+public final class Rectangle {
+
+    private final double xmin;
+    private final double ymin;
+    private final double xmax;
+    private final double ymax;
+
+    /**
+     * Constructs the rectangle [xmin..xmax] x [ymin..ymax].
+     *
+     * @param xmin
+     * @param ymin
+     * @param xmax
+     * @param ymax
+     * @throws IllegalArgumentException
+     *             if any coordinate is NaN, or a min is greater than its max
+     */
+    public Rectangle(double xmin, double ymin, double xmax, double ymax) {
+        if (Double.isNaN(xmin) || Double.isNaN(ymin) || Double.isNaN(xmax)
+                || Double.isNaN(ymax))
+            throw new IllegalArgumentException(
+                    "coordinates must not be NaN");
+        if (xmin > xmax || ymin > ymax)
+            throw new IllegalArgumentException(
+                    "min must not be greater than max");
+
+        this.xmin = xmin;
+        this.ymin = ymin;
+        this.xmax = xmax;
+        this.ymax = ymax;
+    }
+
+    /**
+     * Returns the smallest x-coordinate.
+     *
+     * @return the smallest x-coordinate
+     */
+    public double xmin() {
+        return xmin;
+    }
+
+    /**
+     * Returns the smallest y-coordinate.
+     *
+     * @return the smallest y-coordinate
+     */
+    public double ymin() {
+        return ymin;
+    }
+
+    /**
+     * Returns the largest x-coordinate.
+     *
+     * @return the largest x-coordinate
+     */
+    public double xmax() {
+        return xmax;
+    }
+
+    /**
+     * Returns the largest y-coordinate.
+     *
+     * @return the largest y-coordinate
+     */
+    public double ymax() {
+        return ymax;
+    }
+
+    /**
+     * Checks whether the point lies in the rectangle or on its border.
+     *
+     * @param point
+     * @return whether the rectangle contains the point
+     */
+    public boolean contains(Point point) {
+        return contains(point.x(), point.y());
+    }
+
+    /**
+     * Checks whether the point (x, y) lies in the rectangle or on its border.
+     *
+     * @param x
+     * @param y
+     * @return whether the rectangle contains the point
+     */
+    boolean contains(double x, double y) {
+        return x >= xmin && x <= xmax && y >= ymin && y <= ymax;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof Rectangle))
+            return false;
+
+        Rectangle that = (Rectangle) other;
+        return Double.compare(xmin, that.xmin) == 0
+                && Double.compare(ymin, that.ymin) == 0
+                && Double.compare(xmax, that.xmax) == 0
+                && Double.compare(ymax, that.ymax) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(xmin);
+        hash = 31 * hash + Double.hashCode(ymin);
+        hash = 31 * hash + Double.hashCode(xmax);
+
+        return 31 * hash + Double.hashCode(ymax);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + xmin + ", " + xmax + "] x [" + ymin + ", " + ymax + "]";
+    }
+}
@@ -0,0 +1,628 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.princeton.cs.algs4.Stack;
+
+/**
+ * {@link OrderedSymbolTable} implementation using a left-leaning red-black
+ * binary search tree data structure.<br>
+ * It is a binary encoding of a 2-3 tree: a red link glues a node to its
+ * parent as if both were a single 3-node, red links always lean left, no
+ * node has two red links and every path from the root to a null link has
+ * the same number of black links. Hence its height is never greater than
+ * 2 lg N, whatever the order keys are inserted in.<br>
+ * Every node also keeps the size of its subtree, so rank and select do not
+ * need to count nodes.<br>
+ * The following operations take O(log N) on worst-case:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * <li>min/max</li>
+ * <li>deleteMin/deleteMax</li>
+ * <li>floor/ceiling</li>
+ * <li>rank/select</li>
+ * </ul>
+ *
+ * @author marioluan
+ * @param <Key>
+ *            the class type of the comparable keys on the table
+ * @param <Value>
+ *            the class type of the values on the table
+ */
+public class RedBlackBST<Key extends Comparable<Key>, Value>
+        implements OrderedSymbolTable<Key, Value> {
+
+    private static final boolean RED   = true;
+    private static final boolean BLACK = false;
+
+    private Node root;
+
+    private class Node {
+        private Key     key;
+        private Value   value;
+        private Node    left;
+        private Node    right;
+        // color of the link from its parent
+        private boolean color;
+        // number of nodes in the subtree rooted at this node
+        private int     size;
+
+        Node(Key key, Value value) {
+            this.key = key;
+            this.value = value;
+            this.color = RED;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * Checks whether the link from the node to its parent is red.
+     *
+     * @param node
+     * @return <code>true</code> if the link is red; <code>false</code> if it
+     *         is black or the node is null
+     */
+    private boolean isRed(Node node) {
+        return node != null && node.color == RED;
+    }
+
+    /**
+     * Returns the size of the subtree rooted at the node.
+     *
+     * @param node
+     * @return the size of the subtree rooted at the node
+     */
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        root = put(root, key, value);
+        root.color = BLACK;
+    }
+
+    /**
+     * Wrapper for {@link #put} method.
+     *
+     * @param node
+     * @param key
+     * @param value
+     * @return the root of the subtree after the key is put into it
+     */
+    private Node put(Node node, Key key, Value value) {
+        if (node == null)
+            return new Node(key, value);
+
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0)
+            node.left = put(node.left, key, value);
+        else if (cmp > 0)
+            node.right = put(node.right, key, value);
+        else
+            node.value = value;
+
+        return balance(node);
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        Node cursor = root;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp < 0)
+                cursor = cursor.left;
+            else if (cmp > 0)
+                cursor = cursor.right;
+            else
+                return cursor.value;
+        }
+
+        return null;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (!contains(key))
+            return;
+
+        // turns the root into a 3-node, so the key is never deleted from a
+        // 2-node on the way down
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        root = delete(root, key);
+        if (root != null)
+            root.color = BLACK;
+    }
+
+    /**
+     * Wrapper for {@link #delete} method.
+     *
+     * @param node
+     * @param key
+     *            a key which is known to be in the subtree
+     * @return the root of the subtree after the key is deleted from it
+     */
+    private Node delete(Node node, Key key) {
+        if (key.compareTo(node.key) < 0) {
+            if (!isRed(node.left) && !isRed(node.left.left))
+                node = moveRedLeft(node);
+
+            node.left = delete(node.left, key);
+        } else {
+            if (isRed(node.left))
+                node = rotateRight(node);
+
+            // the key is at the bottom
+            if (key.compareTo(node.key) == 0 && node.right == null)
+                return null;
+
+            if (!isRed(node.right) && !isRed(node.right.left))
+                node = moveRedRight(node);
+
+            if (key.compareTo(node.key) == 0) {
+                // replaces the node by its successor
+                Node min = min(node.right);
+                node.key = min.key;
+                node.value = min.value;
+                node.right = deleteMin(node.right);
+            } else {
+                node.right = delete(node.right, key);
+            }
+        }
+
+        return balance(node);
+    }
+
+    @Override
+    public void deleteMin() {
+        if (isEmpty())
+            return;
+
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        root = deleteMin(root);
+        if (root != null)
+            root.color = BLACK;
+    }
+
+    /**
+     * Wrapper for {@link #deleteMin} method.
+     *
+     * @param node
+     * @return the root of the subtree after its smallest key is deleted
+     */
+    private Node deleteMin(Node node) {
+        if (node.left == null)
+            return null;
+
+        if (!isRed(node.left) && !isRed(node.left.left))
+            node = moveRedLeft(node);
+
+        node.left = deleteMin(node.left);
+
+        return balance(node);
+    }
+
+    @Override
+    public void deleteMax() {
+        if (isEmpty())
+            return;
+
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        root = deleteMax(root);
+        if (root != null)
+            root.color = BLACK;
+    }
+
+    /**
+     * Wrapper for {@link #deleteMax} method.
+     *
+     * @param node
+     * @return the root of the subtree after its largest key is deleted
+     */
+    private Node deleteMax(Node node) {
+        if (isRed(node.left))
+            node = rotateRight(node);
+
+        if (node.right == null)
+            return null;
+
+        if (!isRed(node.right) && !isRed(node.right.left))
+            node = moveRedRight(node);
+
+        node.right = deleteMax(node.right);
+
+        return balance(node);
+    }
+
+    /**
+     * Turns a right-leaning red link into a left-leaning one.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node rotateLeft(Node node) {
+        Node x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.color = node.color;
+        node.color = RED;
+        x.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+
+        return x;
+    }
+
+    /**
+     * Turns a left-leaning red link into a right-leaning one.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node rotateRight(Node node) {
+        Node x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.color = node.color;
+        node.color = RED;
+        x.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+
+        return x;
+    }
+
+    /**
+     * Flips the colors of the node and its children, which splits a
+     * temporary 4-node (or merges three 2-nodes into one).
+     *
+     * @param node
+     */
+    private void flipColors(Node node) {
+        node.color = !node.color;
+        node.left.color = !node.left.color;
+        node.right.color = !node.right.color;
+    }
+
+    /**
+     * Makes the left child of the node or one of its children red, assuming
+     * the node is red and both its children are black.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node moveRedLeft(Node node) {
+        flipColors(node);
+
+        // borrows a key from the right sibling
+        if (isRed(node.right.left)) {
+            node.right = rotateRight(node.right);
+            node = rotateLeft(node);
+            flipColors(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Makes the right child of the node or one of its children red, assuming
+     * the node is red and both its children are black.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node moveRedRight(Node node) {
+        flipColors(node);
+
+        // borrows a key from the left sibling
+        if (isRed(node.left.left)) {
+            node = rotateRight(node);
+            flipColors(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Restores the invariants of the subtree on the way up, and updates its
+     * size.
+     *
+     * @param node
+     * @return the new root of the subtree
+     */
+    private Node balance(Node node) {
+        if (isRed(node.right) && !isRed(node.left))
+            node = rotateLeft(node);
+
+        if (isRed(node.left) && isRed(node.left.left))
+            node = rotateRight(node);
+
+        if (isRed(node.left) && isRed(node.right))
+            flipColors(node);
+
+        node.size = 1 + size(node.left) + size(node.right);
+
+        return node;
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Returns the height of the tree, where a tree with a single node has
+     * height 0.
+     *
+     * @return the height of the tree, or -1 if it is empty
+     */
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Wrapper for {@link #height} method.
+     *
+     * @param node
+     * @return the height of the subtree rooted at the node
+     */
+    private int height(Node node) {
+        if (node == null)
+            return -1;
+
+        return 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the tree as the iteration goes, instead of
+     * being copied; the tree must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys() {
+        return () -> new KeyIterator(null, null);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the tree as the iteration goes, instead of
+     * being copied, so the first one is returned in O(log N) and the
+     * iteration may stop early; the tree must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys(Key lo, Key hi) {
+        return () -> new KeyIterator(lo, hi);
+    }
+
+    /**
+     * Implements an in-order Iterator over the keys of the tree, from a lower
+     * bound up to an upper bound.<br>
+     * <i>The stack holds the nodes whose key and right subtree are yet to be
+     * visited, which are never more than 2 lg N.</i>
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private final Stack<Node> stack = new Stack<>();
+        private final Key         lo;
+        private final Key         hi;
+
+        /**
+         * Constructs the iterator by pushing the path to the smallest key
+         * greater than or equal to lo.
+         *
+         * @param lo
+         *            the smallest key to return, or null for no bound
+         * @param hi
+         *            the largest key to return, or null for no bound
+         */
+        KeyIterator(Key lo, Key hi) {
+            this.lo = lo;
+            this.hi = hi;
+            pushLeft(root);
+        }
+
+        /**
+         * Pushes the node and its left descendants, skipping the ones lesser
+         * than lo along with their left subtrees.
+         *
+         * @param node
+         */
+        private void pushLeft(Node node) {
+            while (node != null) {
+                if (lo != null && node.key.compareTo(lo) < 0) {
+                    node = node.right;
+                } else {
+                    stack.push(node);
+                    node = node.left;
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return !stack.isEmpty()
+                    && (hi == null || stack.peek().key.compareTo(hi) <= 0);
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Node node = stack.pop();
+            pushLeft(node.right);
+
+            return node.key;
+        }
+    }
+
+    @Override
+    public Key min() {
+        if (isEmpty())
+            return null;
+
+        return min(root).key;
+    }
+
+    /**
+     * Wrapper for {@link #min} method.
+     *
+     * @param cursor
+     * @return the node with the smallest key from the tree of the cursor
+     */
+    private Node min(Node cursor) {
+        while (cursor.left != null)
+            cursor = cursor.left;
+
+        return cursor;
+    }
+
+    @Override
+    public Key max() {
+        if (isEmpty())
+            return null;
+
+        Node cursor = root;
+        while (cursor.right != null)
+            cursor = cursor.right;
+
+        return cursor.key;
+    }
+
+    @Override
+    public Key floor(Key key) {
+        Node cursor = root;
+        Key largestKey = null;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp > 0) {
+                largestKey = cursor.key;
+                cursor = cursor.right;
+            } else if (cmp < 0) {
+                cursor = cursor.left;
+            } else {
+                return cursor.key;
+            }
+        }
+
+        return largestKey;
+    }
+
+    @Override
+    public Key ceiling(Key key) {
+        Node cursor = root;
+        Key smallestKey = null;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp > 0) {
+                cursor = cursor.right;
+            } else if (cmp < 0) {
+                smallestKey = cursor.key;
+                cursor = cursor.left;
+            } else {
+                return cursor.key;
+            }
+        }
+
+        return smallestKey;
+    }
+
+    @Override
+    public int rank(Key key) {
+        int rank = 0;
+        Node cursor = root;
+
+        while (cursor != null) {
+            int cmp = key.compareTo(cursor.key);
+
+            if (cmp < 0) {
+                cursor = cursor.left;
+            } else if (cmp > 0) {
+                // every key of the left subtree and the cursor are lesser
+                rank += 1 + size(cursor.left);
+                cursor = cursor.right;
+            } else {
+                return rank + size(cursor.left);
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException
+     *             if k is not in [0..size())
+     */
+    @Override
+    public Key select(int k) {
+        if (k < 0 || k >= size())
+            throw new IllegalArgumentException(
+                    "k must be between 0 and size - 1");
+
+        Node cursor = root;
+
+        while (true) {
+            int leftSize = size(cursor.left);
+
+            if (k < leftSize) {
+                cursor = cursor.left;
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                cursor = cursor.right;
+            } else {
+                return cursor.key;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.marioluan.datastructures.symboltable;
+
+/**
+ * Strategies a {@link LinkedListSymbolTable} may use to reorder its nodes as
+ * keys are hit, so the keys looked up the most end up next to the head,
+ * where every search starts from.
+ *
+ * @author marioluan
+ */
+public enum ReorderPolicy {
+
+    /**
+     * Keeps the nodes in insertion order.
+     */
+    NONE,
+
+    /**
+     * Moves the node hit to the head.<br>
+     * <i>Adapts right away when the hot keys change, at the cost of pushing
+     * a hot key back every time a cold one is hit.</i>
+     */
+    MOVE_TO_FRONT,
+
+    /**
+     * Swaps the node hit with the one before it.<br>
+     * <i>A hot key takes many hits to reach the head, but a single hit on a
+     * cold key barely disturbs the order.</i>
+     */
+    TRANSPOSE
+}
@@ -0,0 +1,189 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Arrays;
+
+/**
+ * 1D range count implementation over sparse integer keys, using the sorted
+ * distinct keys as a static rank index and a Fenwick tree over their
+ * positions, both held in flat <code>long[]</code>.<br>
+ * A range count is two binary searches over the keys plus two prefix sums.
+ * The following operations take O(log N), where N == number of distinct
+ * keys:
+ * <ul>
+ * <li>add and insert, for keys already present</li>
+ * <li>prefixSum</li>
+ * <li>count</li>
+ * </ul>
+ * A key seen for the first time takes O(N), since the arrays are shifted
+ * and the tree rebuilt.<br>
+ * <i>It takes two longs per distinct key instead of {@link FenwickRangeCount}'s
+ * one per key of the universe, so it suits universes which are too large or
+ * too sparse for it.</i>
+ *
+ * @author marioluan
+ */
+public class SortedArrayRangeCount {
+
+    // sorted distinct keys, at [0..n)
+    private long[]           keys;
+    // tree[1..n] over the positions of the keys; tree[0] is unused
+    private long[]           tree;
+    private int              n;
+    private long             total;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int TWICE            = 2;
+
+    /**
+     * Constructs an empty count.
+     */
+    public SortedArrayRangeCount() {
+        this.keys = new long[INITIAL_CAPACITY];
+        this.tree = new long[INITIAL_CAPACITY + 1];
+    }
+
+    /**
+     * Constructs a count holding an occurrence of each one of the given
+     * keys.<br>
+     * <strong>Time complexity:</strong> O(N log N), instead of O(N^2) for N
+     * inserts of new keys
+     *
+     * @param keys
+     *            the keys, in any order and with repetitions
+     */
+    public SortedArrayRangeCount(long[] keys) {
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        this.keys = new long[Math.max(INITIAL_CAPACITY, sorted.length)];
+        this.tree = new long[this.keys.length + 1];
+
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || this.keys[n - 1] != sorted[i])
+                this.keys[n++] = sorted[i];
+
+            tree[n]++;
+        }
+
+        FenwickRangeCount.build(tree, n);
+        total = sorted.length;
+    }
+
+    /**
+     * Adds delta occurrences of the key; a negative delta removes them.<br>
+     * <i>The number of occurrences of a key is not checked, and must not go
+     * below zero. A key whose occurrences all go stays in the index.</i><br>
+     * <strong>Time complexity:</strong> O(log N) if the key is present,
+     * O(N) otherwise
+     *
+     * @param key
+     * @param delta
+     */
+    public void add(long key, long delta) {
+        int i = rank(key);
+
+        if (i == n || keys[i] != key)
+            insertKey(i, key);
+
+        FenwickRangeCount.add(tree, n, i + 1, delta);
+        total += delta;
+    }
+
+    /**
+     * Adds an occurrence of the key.<br>
+     * <strong>Time complexity:</strong> O(log N) if the key is present,
+     * O(N) otherwise
+     *
+     * @param key
+     */
+    public void insert(long key) {
+        add(key, 1);
+    }
+
+    /**
+     * Computes and returns the number of occurrences of the keys less than or
+     * equal to the given one.<br>
+     * <strong>Time complexity:</strong> O(log N)
+     *
+     * @param key
+     * @return the number of occurrences of the keys up to key
+     */
+    public long prefixSum(long key) {
+        int i = rank(key);
+        if (i < n && keys[i] == key)
+            i++;
+
+        return FenwickRangeCount.prefix(tree, i);
+    }
+
+    /**
+     * Computes and returns the number of occurrences of the keys between lo
+     * and hi.<br>
+     * <strong>Time complexity:</strong> O(log N)
+     *
+     * @param lo
+     * @param hi
+     * @return the number of occurrences of the keys between lo and hi
+     */
+    public long count(long lo, long hi) {
+        if (lo > hi)
+            return 0;
+
+        return prefixSum(hi) - FenwickRangeCount.prefix(tree, rank(lo));
+    }
+
+    /**
+     * Returns the number of occurrences of all keys.
+     *
+     * @return the number of occurrences of all keys
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Returns the number of keys less than the given one by making a binary
+     * search.
+     *
+     * @param key
+     * @return the number of keys less than key
+     */
+    private int rank(long key) {
+        int lo = 0;
+        int hi = n;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (keys[mid] < key)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+
+    /**
+     * Inserts the key, with no occurrences, at position i.
+     *
+     * @param i
+     * @param key
+     */
+    // Time complexity: O(n)
+    private void insertKey(int i, long key) {
+        FenwickRangeCount.unbuild(tree, n);
+
+        if (n == keys.length) {
+            keys = Arrays.copyOf(keys, TWICE * keys.length);
+            tree = Arrays.copyOf(tree, keys.length + 1);
+        }
+
+        System.arraycopy(keys, i, keys, i + 1, n - i);
+        System.arraycopy(tree, i + 1, tree, i + 2, n - i);
+        keys[i] = key;
+        tree[i + 1] = 0;
+        n++;
+
+        FenwickRangeCount.build(tree, n);
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Key-value pairs of a batch of puts, sorted by key and without duplicate
+ * keys.<br>
+ * A key which shows up more than once keeps its last value, as if the pairs
+ * were put one by one; null values are kept, since they stand for deletions.
+ * <br>
+ * Pairs which are known to be sorted already are only checked instead, by
+ * {@link #checked(Comparable[], Object[])} and
+ * {@link #checked(Iterator, Iterator)}.
+ *
+ * @author marioluan
+ * @param <Key>
+ *            the class type of the comparable key
+ * @param <Value>
+ *            the class type of the value
+ */
+final class SortedBatch<Key extends Comparable<Key>, Value> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int TWICE            = 2;
+
+    final Key[]              keys;
+    final Value[]            values;
+    final int                n;
+
+    /**
+     * Sorts the given pairs, leaving the given arrays untouched.<br>
+     * <i>Time complexity: O(n log n)</i>
+     *
+     * @param keys
+     * @param values
+     *            the values paired with keys, position by position
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length
+     * @throws NullPointerException
+     *             if any key is null
+     */
+    @SuppressWarnings("unchecked")
+    SortedBatch(Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException(
+                    "keys and values must have the same length");
+
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null)
+                throw new NullPointerException("key must not be null");
+
+            order[i] = i;
+        }
+
+        // the sort is stable, so equal keys keep their order
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+
+        this.keys = (Key[]) new Comparable[keys.length];
+        this.values = (Value[]) new Object[keys.length];
+
+        int count = 0;
+        for (int i = 0; i < order.length; i++) {
+            int j = order[i];
+
+            // the last one of equal keys wins
+            if (i + 1 < order.length
+                    && keys[j].compareTo(keys[order[i + 1]]) == 0)
+                continue;
+
+            this.keys[count] = keys[j];
+            this.values[count] = values[j];
+            count++;
+        }
+
+        this.n = count;
+    }
+
+    private SortedBatch(Key[] keys, Value[] values, int n) {
+        this.keys = keys;
+        this.values = values;
+        this.n = n;
+    }
+
+    /**
+     * Wraps the given pairs, after checking they are sorted by key, without
+     * duplicate keys nor null values.<br>
+     * <i>Time complexity: O(n), with n - 1 comparisons</i>
+     *
+     * @param keys
+     * @param values
+     *            the values paired with keys, position by position
+     * @return the pairs, which share the given arrays
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length, or keys
+     *             are not sorted and distinct
+     * @throws NullPointerException
+     *             if any key or value is null
+     */
+    static <Key extends Comparable<Key>, Value> SortedBatch<Key, Value> checked(
+            Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException(
+                    "keys and values must have the same length");
+
+        return checked(keys, values, keys.length);
+    }
+
+    /**
+     * Reads the given pairs into arrays, after checking they are sorted by
+     * key, without duplicate keys nor null values.<br>
+     * <i>Time complexity: O(n), with n - 1 comparisons</i>
+     *
+     * @param keys
+     * @param values
+     *            the values paired with keys, one by one
+     * @return the pairs read
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length, or keys
+     *             are not sorted and distinct
+     * @throws NullPointerException
+     *             if any key or value is null
+     */
+    @SuppressWarnings("unchecked")
+    static <Key extends Comparable<Key>, Value> SortedBatch<Key, Value> checked(
+            Iterator<? extends Key> keys, Iterator<? extends Value> values) {
+        Key[] keyArray = (Key[]) new Comparable[INITIAL_CAPACITY];
+        Value[] valueArray = (Value[]) new Object[INITIAL_CAPACITY];
+        int count = 0;
+
+        while (keys.hasNext() && values.hasNext()) {
+            if (count == keyArray.length) {
+                keyArray = Arrays.copyOf(keyArray, TWICE * count);
+                valueArray = Arrays.copyOf(valueArray, TWICE * count);
+            }
+
+            keyArray[count] = keys.next();
+            valueArray[count++] = values.next();
+        }
+
+        if (keys.hasNext() || values.hasNext())
+            throw new IllegalArgumentException(
+                    "keys and values must have the same length");
+
+        return checked(keyArray, valueArray, count);
+    }
+
+    /**
+     * Wrapper for {@link #checked} methods.
+     *
+     * @param keys
+     * @param values
+     * @param n
+     *            the number of pairs, at the start of the arrays
+     * @return the pairs, which share the given arrays
+     */
+    private static <Key extends Comparable<Key>, Value> SortedBatch<Key, Value> checked(
+            Key[] keys, Value[] values, int n) {
+        for (int i = 0; i < n; i++) {
+            if (keys[i] == null)
+                throw new NullPointerException("key must not be null");
+
+            if (values[i] == null)
+                throw new NullPointerException("value must not be null");
+
+            if (i > 0 && keys[i - 1].compareTo(keys[i]) >= 0)
+                throw new IllegalArgumentException(
+                        "keys must be sorted and distinct");
+        }
+
+        return new SortedBatch<>(keys, values, n);
+    }
+}
@@ -0,0 +1,396 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+import edu.princeton.cs.algs4.Queue;
+
+/**
+ * Immutable 1D interval index implementation using a centered interval tree
+ * flattened into arrays.<br>
+ * Every node of the tree has a center point, holds the intervals which
+ * contain it, and leaves the ones which end before it to its left subtree
+ * and the ones which start after it to its right subtree. Both the intervals
+ * and the nodes live in primitive arrays, so a query reads contiguous memory
+ * instead of chasing one pointer per interval as {@link IntervalSearchTree}
+ * does:
+ * <ul>
+ * <li>the intervals sorted by left endpoint;</li>
+ * <li>the center and the children of every node;</li>
+ * <li>the intervals of every node, once sorted by left endpoint and once by
+ * right endpoint, descending, so a query stops at the first one which does
+ * not contain its point.</li>
+ * </ul>
+ * It is built in O(N log N), sorting and splitting the intervals on every
+ * core through fork/join. The following operations take O(log N + K), where
+ * K == number of intervals returned:
+ * <ul>
+ * <li>containing</li>
+ * <li>intersects</li>
+ * </ul>
+ *
+ * @author marioluan
+ * @param <Value>
+ *            the class type of the value
+ */
+public class StaticIntervalIndex<Value> {
+
+    // subtrees smaller than this are built by the thread which splits them
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int NONE                 = -1;
+
+    // intervals, sorted by left endpoint then by right endpoint
+    private final long[]     starts;
+    private final long[]     ends;
+    private final Object[]   values;
+
+    // nodes, in preorder
+    private final long[]     centers;
+    private final int[]      lefts;
+    private final int[]      rights;
+    // the intervals of node i are at [offsets[i]..offsets[i + 1]) of the
+    // member arrays
+    private final int[]      offsets;
+
+    // intervals of every node by left endpoint, and their left endpoints
+    private final int[]      byStart;
+    private final long[]     memberStarts;
+    // intervals of every node by right endpoint, descending, and their right
+    // endpoints
+    private final int[]      byEnd;
+    private final long[]     memberEnds;
+
+    /**
+     * Node of the tree while it is built.
+     */
+    private static final class Node {
+        private long  center;
+        // positions of the intervals holding the center, by left endpoint
+        // and by right endpoint, descending
+        private int[] byStart;
+        private int[] byEnd;
+        private Node  left;
+        private Node  right;
+        // number of nodes in the subtree rooted at this node
+        private int   size;
+    }
+
+    /**
+     * Builds the index of the intervals [lo[i]..hi[i]], each one paired with
+     * values[i].<br>
+     * <strong>Time complexity:</strong> O(N log N), split among the cores
+     *
+     * @param lo
+     *            the left endpoints
+     * @param hi
+     *            the right endpoints
+     * @param values
+     *            the values paired with the intervals, position by position
+     * @throws IllegalArgumentException
+     *             if the arrays do not have the same length, or an interval
+     *             starts after it ends
+     */
+    public StaticIntervalIndex(long[] lo, long[] hi, Value[] values) {
+        if (lo.length != hi.length || lo.length != values.length)
+            throw new IllegalArgumentException(
+                    "lo, hi and values must have the same length");
+
+        int n = lo.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            if (lo[i] > hi[i])
+                throw new IllegalArgumentException(
+                        "lo must not be greater than hi");
+
+            order[i] = i;
+        }
+
+        Arrays.parallelSort(order, (a, b) -> lo[a] != lo[b]
+                ? Long.compare(lo[a], lo[b]) : Long.compare(hi[a], hi[b]));
+
+        this.starts = new long[n];
+        this.ends = new long[n];
+        this.values = new Object[n];
+        Integer[] positions = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = lo[order[i]];
+            ends[i] = hi[order[i]];
+            this.values[i] = values[order[i]];
+            positions[i] = i;
+        }
+
+        Arrays.parallelSort(positions,
+                (a, b) -> Long.compare(ends[b], ends[a]));
+
+        int[] all = new int[n];
+        int[] allByEnd = new int[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = i;
+            allByEnd[i] = positions[i];
+        }
+
+        Node root = n == 0 ? null
+                : ForkJoinPool.commonPool().invoke(new Build(all, allByEnd));
+
+        int nodes = root == null ? 0 : root.size;
+        this.centers = new long[nodes];
+        this.lefts = new int[nodes];
+        this.rights = new int[nodes];
+        this.offsets = new int[nodes + 1];
+        this.byStart = new int[n];
+        this.memberStarts = new long[n];
+        this.byEnd = new int[n];
+        this.memberEnds = new long[n];
+
+        if (root != null)
+            flatten(root, 0);
+    }
+
+    /**
+     * Builds the subtree of the given intervals, forking the build of its
+     * left subtree when it is large enough.
+     */
+    private final class Build extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[]       byStart;
+        private final int[]       byEnd;
+
+        /**
+         * @param byStart
+         *            the positions of the intervals, by left endpoint
+         * @param byEnd
+         *            the same positions, by right endpoint, descending
+         */
+        Build(int[] byStart, int[] byEnd) {
+            this.byStart = byStart;
+            this.byEnd = byEnd;
+        }
+
+        @Override
+        protected Node compute() {
+            Node node = new Node();
+            // the left endpoint of the median interval: it holds at least
+            // that interval, and leaves at most half of them to each side
+            node.center = starts[byStart[byStart.length / 2]];
+
+            int[][] splitByStart = split(byStart, node.center);
+            int[][] splitByEnd = split(byEnd, node.center);
+            node.byStart = splitByStart[1];
+            node.byEnd = splitByEnd[1];
+
+            Build left = splitByStart[0].length == 0 ? null
+                    : new Build(splitByStart[0], splitByEnd[0]);
+            Build right = splitByStart[2].length == 0 ? null
+                    : new Build(splitByStart[2], splitByEnd[2]);
+
+            if (left != null && byStart.length > SEQUENTIAL_THRESHOLD) {
+                left.fork();
+                node.right = right == null ? null : right.compute();
+                node.left = left.join();
+            } else {
+                node.left = left == null ? null : left.compute();
+                node.right = right == null ? null : right.compute();
+            }
+
+            node.size = 1 + (node.left == null ? 0 : node.left.size)
+                    + (node.right == null ? 0 : node.right.size);
+
+            return node;
+        }
+    }
+
+    /**
+     * Splits the positions into the ones of the intervals which end before
+     * the center, contain it and start after it, keeping their order.
+     *
+     * @param positions
+     * @param center
+     * @return the three groups of positions
+     */
+    private int[][] split(int[] positions, long center) {
+        int[] side = new int[positions.length];
+        int[] count = new int[3];
+
+        for (int i = 0; i < positions.length; i++) {
+            int p = positions[i];
+            side[i] = ends[p] < center ? 0 : starts[p] > center ? 2 : 1;
+            count[side[i]]++;
+        }
+
+        int[][] groups = { new int[count[0]], new int[count[1]],
+                new int[count[2]] };
+        Arrays.fill(count, 0);
+        for (int i = 0; i < positions.length; i++)
+            groups[side[i]][count[side[i]]++] = positions[i];
+
+        return groups;
+    }
+
+    /**
+     * Copies the subtree into the arrays, in preorder.
+     *
+     * @param node
+     * @param id
+     *            the index of the node in the arrays
+     * @return the index of the next node in the arrays
+     */
+    private int flatten(Node node, int id) {
+        centers[id] = node.center;
+
+        int offset = offsets[id];
+        for (int i = 0; i < node.byStart.length; i++) {
+            byStart[offset + i] = node.byStart[i];
+            memberStarts[offset + i] = starts[node.byStart[i]];
+            byEnd[offset + i] = node.byEnd[i];
+            memberEnds[offset + i] = ends[node.byEnd[i]];
+        }
+
+        int next = id + 1;
+        offsets[next] = offset + node.byStart.length;
+
+        lefts[id] = NONE;
+        if (node.left != null) {
+            lefts[id] = next;
+            next = flatten(node.left, next);
+        }
+
+        rights[id] = NONE;
+        if (node.right != null) {
+            rights[id] = next;
+            next = flatten(node.right, next);
+        }
+
+        return next;
+    }
+
+    /**
+     * Finds and returns all intervals that contain the given point, in no
+     * particular order.<br>
+     * <strong>Time complexity:</strong> O(log N + K)
+     *
+     * @param point
+     * @return all intervals that contain the given point
+     */
+    public Iterable<Value> containing(long point) {
+        Queue<Value> found = new Queue<>();
+        stab(point, i -> found.enqueue(value(i)));
+
+        return found;
+    }
+
+    /**
+     * Finds and returns all intervals that overlap the given interval, in no
+     * particular order.<br>
+     * <i>They are the ones which contain lo, plus the ones which start in
+     * (lo..hi], which are next to each other in the sorted intervals.</i><br>
+     * <strong>Time complexity:</strong> O(log N + K)
+     *
+     * @param lo
+     * @param hi
+     * @return all intervals that overlap the given interval
+     * @throws IllegalArgumentException
+     *             if lo is greater than hi
+     */
+    public Iterable<Value> intersects(long lo, long hi) {
+        if (lo > hi)
+            throw new IllegalArgumentException(
+                    "lo must not be greater than hi");
+
+        Queue<Value> found = new Queue<>();
+        stab(lo, i -> found.enqueue(value(i)));
+
+        for (int i = firstStartAfter(lo); i < starts.length
+                && starts[i] <= hi; i++)
+            found.enqueue(value(i));
+
+        return found;
+    }
+
+    /**
+     * Passes the position of every interval which contains the point to the
+     * action.
+     *
+     * @param point
+     * @param action
+     */
+    private void stab(long point, IntConsumer action) {
+        int node = centers.length == 0 ? NONE : 0;
+
+        while (node != NONE) {
+            long center = centers[node];
+            int from = offsets[node];
+            int to = offsets[node + 1];
+
+            if (point < center) {
+                // every interval of the node ends after the point: the ones
+                // which start before it contain it
+                for (int i = from; i < to && memberStarts[i] <= point; i++)
+                    action.accept(byStart[i]);
+
+                node = lefts[node];
+            } else if (point > center) {
+                // every interval of the node starts before the point: the
+                // ones which end after it contain it
+                for (int i = from; i < to && memberEnds[i] >= point; i++)
+                    action.accept(byEnd[i]);
+
+                node = rights[node];
+            } else {
+                for (int i = from; i < to; i++)
+                    action.accept(byStart[i]);
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the first interval which starts after the
+     * point.
+     *
+     * @param point
+     * @return the position of the first interval which starts after the
+     *         point, or N if there is none
+     */
+    private int firstStartAfter(long point) {
+        int lo = 0;
+        int hi = starts.length;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+
+            if (starts[mid] <= point)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Value value(int position) {
+        return (Value) values[position];
+    }
+
+    /**
+     * Returns the number of intervals in the index.
+     *
+     * @return the number of intervals in the index
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Checks whether the index is empty.
+     *
+     * @return whether the index is empty
+     */
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.marioluan.datastructures.symboltable;
 
+import java.util.function.BiConsumer;
+
 /**
  * Key-value pair abstraction of a symbol table data structure.
  * 
@@ -66,4 +68,64 @@ public interface SymbolTable<Key extends Comparable<Key>, Value> {
      * @return returns all keys from the table
      */
     Iterable<Key> keys();
+
+    /**
+     * Performs the given action for each key-value pair of the table.<br>
+     * <i>The table must not be modified by the action.</i>
+     * 
+     * @param action
+     */
+    default void forEach(BiConsumer<? super Key, ? super Value> action) {
+        for (Key key : keys())
+            action.accept(key, get(key));
+    }
+
+    /**
+     * Puts every key-value pair into the table, as if {@link #put} was
+     * called for each of them in order: a key which shows up more than once
+     * ends up with its last value, and a null value removes its key.
+     * 
+     * @param keys
+     * @param values
+     *            the values paired with keys, position by position
+     * @throws IllegalArgumentException
+     *             if keys and values do not have the same length
+     */
+    default void putAll(Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException(
+                    "keys and values must have the same length");
+
+        for (int i = 0; i < keys.length; i++)
+            put(keys[i], values[i]);
+    }
+
+    /**
+     * Writes the value paired with every key into out, position by
+     * position, or null for absent keys.
+     * 
+     * @param keys
+     * @param out
+     *            the array the values are written to
+     * @throws IllegalArgumentException
+     *             if keys and out do not have the same length
+     */
+    default void getAll(Key[] keys, Value[] out) {
+        if (keys.length != out.length)
+            throw new IllegalArgumentException(
+                    "keys and out must have the same length");
+
+        for (int i = 0; i < keys.length; i++)
+            out[i] = get(keys[i]);
+    }
+
+    /**
+     * Removes every key and its value from table.
+     * 
+     * @param keys
+     */
+    default void deleteAll(Key[] keys) {
+        for (Key key : keys)
+            delete(key);
+    }
 }
@@ -0,0 +1,348 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import io.github.marioluan.datastructures.symboltable.SymbolTable;
+
+/**
+ * {@link SymbolTable} implementation using a separate chaining hash data
+ * structure without node objects.<br>
+ * Entries live in parallel arrays of keys, values, hashes and links, and a
+ * chain is a sequence of <code>int</code> indices into them starting at its
+ * bucket. Compared to {@link SeparateChainingHashTable}:
+ * <ul>
+ * <li>an entry takes no object header; FootprintReport measures 26.2
+ * bytes per entry against 28.0 at 100k keys, about 6% less, and 20 once
+ * the arrays are full;</li>
+ * <li>walking a chain reads neighbouring array slots instead of chasing
+ * pointers spread over the heap;</li>
+ * <li>the garbage collector traces a handful of arrays instead of one object
+ * per entry;</li>
+ * <li>deleted entries go to a free list and are recycled by the next puts,
+ * instead of being allocated again.</li>
+ * </ul>
+ * Its capacity is always a power of two, so the bucket of a key is found by
+ * masking its mixed hash.<br>
+ * The following operations take O(lg N) on worst-case and O(3-5) (constant
+ * time) on average under uniform hashing assumption:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * </ul>
+ *
+ * @param <Key>   the class type of the comparable key
+ * @param <Value> the class type of the value
+ * @author marioluan
+ */
+public class CompactSeparateChainingHashTable<Key extends Comparable<Key>, Value>
+    implements SymbolTable<Key, Value> {
+
+    // index of the first entry of each bucket
+    private int[] heads;
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // index of the next entry of the same chain, or of the free list
+    private int[] next;
+    // first recycled entry, or NIL
+    private int free;
+    // entries from this index onwards were never used
+    private int used;
+    private int n;
+    private int mask;
+    private static final int NIL = -1;
+    private static final int FOUR_TIMES = 4;
+    private static final int TWICE = 2;
+
+    /**
+     * Constructs a new hash table with the given capacity, rounded up to a
+     * power of two.
+     *
+     * @param capacity
+     */
+    public CompactSeparateChainingHashTable(int capacity) {
+        init(Hashing.ceilingPowerOfTwo(Math.max(TWICE, capacity)));
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity.
+     *
+     * @param capacity a power of two
+     */
+    private void init(int capacity) {
+        this.heads = new int[capacity];
+        Arrays.fill(this.heads, NIL);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.next = new int[capacity];
+        this.free = NIL;
+        this.used = 0;
+        this.n = 0;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Computes and returns the mixed hash value of the {@link Key key}.
+     *
+     * @param key
+     * @return the mixed hash value of the {@link Key key}
+     */
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    /**
+     * Returns the index of the entry of the key, or NIL if it is absent.
+     *
+     * @param key
+     * @param h   the mixed hash value of the key
+     * @return the index of the entry of the key, or NIL if it is absent
+     */
+    private int indexOf(Object key, int h) {
+        for (int i = heads[h & mask]; i != NIL; i = next[i])
+            if (hashes[i] == h && keys[i].equals(key))
+                return i;
+
+        return NIL;
+    }
+
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        // handles deletion
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        int h = hash(key);
+
+        // handles updates
+        int i = indexOf(key, h);
+        if (i != NIL) {
+            values[i] = value;
+            return;
+        }
+
+        // doubles size of arrays if necessary
+        if (n == keys.length)
+            resize(TWICE * keys.length);
+
+        // recycles a deleted entry, if any
+        if (free != NIL) {
+            i = free;
+            free = next[free];
+        } else {
+            i = used++;
+        }
+
+        // adds the entry to the top of the bucket
+        int bucket = h & mask;
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = h;
+        next[i] = heads[bucket];
+        heads[bucket] = i;
+        n++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        int i = indexOf(key, hash(key));
+        return i != NIL ? (Value) values[i] : null;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (isEmpty())
+            return;
+
+        int h = hash(key);
+        int bucket = h & mask;
+        int parent = NIL;
+        int i = heads[bucket];
+
+        // finds the entry
+        while (i != NIL && !(hashes[i] == h && keys[i].equals(key))) {
+            parent = i;
+            i = next[i];
+        }
+
+        // not found
+        if (i == NIL)
+            return;
+
+        // unlinks the entry from its chain
+        if (parent == NIL)
+            heads[bucket] = next[i];
+        else
+            next[parent] = next[i];
+
+        // hands the entry over to the free list
+        keys[i] = null;
+        values[i] = null;
+        next[i] = free;
+        free = i;
+        n--;
+
+        // shrink size of arrays if necessary
+        if (n > 0 && n <= keys.length / FOUR_TIMES)
+            resize(keys.length / TWICE);
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    @Override
+    public int size() {
+        return n;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the entries as the iteration goes, instead of
+     * being copied; the table must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys() {
+        return KeyIterator::new;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        for (int i = 0; i < used; i++)
+            if (keys[i] != null)
+                action.accept((Key) keys[i], (Value) values[i]);
+    }
+
+    /**
+     * Implements an Iterator over the entries of the table, which skips the
+     * recycled ones.
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private int i;
+
+        /**
+         * Constructs the iterator by pointing its cursor to the first key.
+         */
+        KeyIterator() {
+            this.i = -1;
+            advance();
+        }
+
+        /**
+         * Moves the cursor to the next key, if any.
+         */
+        private void advance() {
+            do {
+                i++;
+            } while (i < used && keys[i] == null);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return i < used;
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = (Key) keys[i];
+            advance();
+
+            return key;
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Only saves the resizes: the arrays grow once up front, to the
+     * capacity {@link Hashing#capacityForBatch} picks for them, then
+     * every pair goes through {@link #put}, checks included. They may still
+     * double once more if every key turns out to be new.</i>
+     */
+    @Override
+    public void putAll(Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException(
+                "keys and values must have the same length");
+
+        // the arrays resize once every entry is taken
+        int capacity = Hashing.capacityForBatch(this.keys.length, n,
+            keys.length, c -> c);
+
+        if (capacity != this.keys.length)
+            resize(capacity);
+
+        SymbolTable.super.putAll(keys, values);
+    }
+
+    /**
+     * Copies every entry into arrays of the given capacity.<br>
+     * <i>Entries are packed at the start of the new arrays, which empties the
+     * free list; their hashes are kept, so no key is hashed again.</i>
+     *
+     * @param capacity a power of two
+     */
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldUsed = used;
+
+        init(capacity);
+
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] == null)
+                continue;
+
+            int bucket = oldHashes[i] & mask;
+            keys[used] = oldKeys[i];
+            values[used] = oldValues[i];
+            hashes[used] = oldHashes[i];
+            next[used] = heads[bucket];
+            heads[bucket] = used;
+            used++;
+        }
+
+        n = used;
+    }
+}
@@ -0,0 +1,406 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.princeton.cs.algs4.Stack;
+import io.github.marioluan.datastructures.symboltable.SymbolTable;
+
+/**
+ * Thread-safe {@link SymbolTable} implementation using a separate chaining
+ * hash data structure.<br>
+ * <ul>
+ * <li>Reads take no lock: chains are made of nodes whose links never change,
+ * so a reader always walks a consistent chain, and values are volatile.</li>
+ * <li>Writes lock only the stripe their bucket belongs to; buckets are
+ * assigned to stripes by the low bits of their index, so writers of
+ * different stripes never wait on each other.</li>
+ * <li>Resizing is incremental and cooperative: once the table is 75% full a
+ * new table, twice as large, is allocated and every writer migrates a few
+ * buckets to it after its own write. A migrated bucket is replaced by a
+ * forwarding node, which sends readers and writers to the new table.</li>
+ * </ul>
+ * Since the table length is always a multiple of the number of stripes, a
+ * bucket and the two buckets it is split into when migrated share the same
+ * stripe, so one lock is enough to migrate it.<br>
+ * {@link #keys()} and {@link #size()} are weakly consistent: they reflect
+ * the writes which completed before they were called, and may or may not
+ * reflect concurrent ones.<br>
+ * The following operations take O(lg N) on worst-case and O(3-5) (constant
+ * time) on average under uniform hashing assumption:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * </ul>
+ *
+ * @param <Key>   the class type of the comparable key
+ * @param <Value> the class type of the value
+ * @author marioluan
+ */
+public class ConcurrentSeparateChainingHashTable<Key extends Comparable<Key>, Value>
+    implements SymbolTable<Key, Value> {
+
+    private static class Node {
+        private final Object key;
+        private final int hash;
+        private volatile Object value;
+        private final Node next;
+
+        private Node(Object key, int hash, Object value, Node next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Placeholder of a bucket which was migrated to the next table.
+     */
+    private static final class Forward extends Node {
+        private final AtomicReferenceArray<Node> table;
+
+        private Forward(AtomicReferenceArray<Node> table) {
+            super(null, 0, null, null);
+            this.table = table;
+        }
+    }
+
+    /**
+     * State of a resize in progress.
+     */
+    private static final class Transfer {
+        private final AtomicReferenceArray<Node> source;
+        private final AtomicReferenceArray<Node> target;
+        private final Forward forward;
+        // index of the next bucket to be claimed by a writer
+        private final AtomicInteger claimed = new AtomicInteger();
+        private final AtomicInteger migrated = new AtomicInteger();
+
+        private Transfer(AtomicReferenceArray<Node> source) {
+            this.source = source;
+            this.target = new AtomicReferenceArray<>(TWICE * source.length());
+            this.forward = new Forward(target);
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node> table;
+    private final AtomicReference<Transfer> transfer = new AtomicReference<>();
+    private final ReentrantLock[] locks;
+    private final LongAdder n = new LongAdder();
+    private static final int DEFAULT_STRIPES = 64;
+    private static final int BUCKETS_PER_HELP = 16;
+    private static final int TWICE = 2;
+    private static final int FOUR_TIMES = 4;
+    private static final int THREE_TIMES = 3;
+
+    /**
+     * Constructs a new hash table with the given capacity and 64 lock
+     * stripes.
+     *
+     * @param capacity
+     */
+    public ConcurrentSeparateChainingHashTable(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructs a new hash table with the given capacity and number of lock
+     * stripes, both rounded up to a power of two.
+     *
+     * @param capacity
+     * @param stripes  the number of writers which may write at the same time
+     */
+    public ConcurrentSeparateChainingHashTable(int capacity, int stripes) {
+        stripes = Hashing.ceilingPowerOfTwo(stripes);
+        this.locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++)
+            this.locks[i] = new ReentrantLock();
+
+        this.table = new AtomicReferenceArray<>(
+            Hashing.ceilingPowerOfTwo(Math.max(stripes, capacity)));
+    }
+
+    /**
+     * Computes and returns the mixed hash value of the {@link Key key}.
+     *
+     * @param key
+     * @return the mixed hash value of the {@link Key key}
+     */
+    private static int hash(Object key) {
+        return Hashing.mix(key.hashCode());
+    }
+
+    /**
+     * Returns the lock guarding the bucket of the given hash, on any table.
+     *
+     * @param hash
+     * @return the lock guarding the bucket of the given hash
+     */
+    private ReentrantLock lockOf(int hash) {
+        return locks[hash & (locks.length - 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        int h = hash(key);
+        AtomicReferenceArray<Node> tab = table;
+        Node node = tab.get(h & (tab.length() - 1));
+
+        // follows migrated buckets
+        while (node instanceof Forward) {
+            tab = ((Forward) node).table;
+            node = tab.get(h & (tab.length() - 1));
+        }
+
+        for (; node != null; node = node.next)
+            if (node.hash == h && node.key.equals(key))
+                return (Value) node.value;
+
+        return null;
+    }
+
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        // handles deletion
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        int h = hash(key);
+        boolean added = false;
+        ReentrantLock lock = lockOf(h);
+
+        lock.lock();
+        try {
+            // no bucket of this stripe can be migrated while we hold its
+            // lock, so the bucket found is the current one
+            AtomicReferenceArray<Node> tab = table;
+            int i = h & (tab.length() - 1);
+            Node head = tab.get(i);
+            while (head instanceof Forward) {
+                tab = ((Forward) head).table;
+                i = h & (tab.length() - 1);
+                head = tab.get(i);
+            }
+
+            Node node = head;
+            while (node != null && !(node.hash == h && node.key.equals(key)))
+                node = node.next;
+
+            if (node != null) {
+                // handles updates
+                node.value = value;
+            } else {
+                // adds the node to the top of the bucket
+                tab.set(i, new Node(key, h, value, head));
+                added = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (added) {
+            n.increment();
+            startResizeIfNeeded();
+        }
+
+        helpResize();
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        int h = hash(key);
+        boolean removed = false;
+        ReentrantLock lock = lockOf(h);
+
+        lock.lock();
+        try {
+            AtomicReferenceArray<Node> tab = table;
+            int i = h & (tab.length() - 1);
+            Node head = tab.get(i);
+            while (head instanceof Forward) {
+                tab = ((Forward) head).table;
+                i = h & (tab.length() - 1);
+                head = tab.get(i);
+            }
+
+            Node node = head;
+            while (node != null && !(node.hash == h && node.key.equals(key)))
+                node = node.next;
+
+            // found
+            if (node != null) {
+                // links never change, so the nodes before the deleted one
+                // are copied on top of the nodes after it
+                Node chain = node.next;
+                for (Node cursor = head; cursor != node; cursor = cursor.next)
+                    chain = new Node(cursor.key, cursor.hash, cursor.value,
+                        chain);
+
+                tab.set(i, chain);
+                removed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (removed)
+            n.decrement();
+
+        helpResize();
+    }
+
+    /**
+     * Starts a resize if the table is 75% full and no resize is in progress.
+     */
+    private void startResizeIfNeeded() {
+        // transfer must be read before table: a resize clears the transfer
+        // only after publishing its table
+        if (transfer.get() != null)
+            return;
+
+        AtomicReferenceArray<Node> tab = table;
+        if (tab.length() >= Hashing.MAX_CAPACITY
+            || n.sum() * FOUR_TIMES < (long) tab.length() * THREE_TIMES)
+            return;
+
+        Transfer started = new Transfer(tab);
+        if (!transfer.compareAndSet(null, started))
+            return;
+
+        // another resize completed in between: ours would copy a table
+        // whose buckets were all migrated already
+        if (table != tab)
+            transfer.compareAndSet(started, null);
+    }
+
+    /**
+     * Migrates a few buckets of the resize in progress, if any.
+     */
+    private void helpResize() {
+        Transfer t = transfer.get();
+        if (t == null)
+            return;
+
+        int length = t.source.length();
+        int start = t.claimed.getAndAdd(BUCKETS_PER_HELP);
+        if (start >= length)
+            return;
+
+        int end = Math.min(start + BUCKETS_PER_HELP, length);
+        int count = 0;
+        for (int i = start; i < end; i++)
+            if (migrate(t, i))
+                count++;
+
+        // the writer which migrates the last bucket publishes the new table
+        if (count > 0 && t.migrated.addAndGet(count) == length) {
+            table = t.target;
+            transfer.compareAndSet(t, null);
+        }
+    }
+
+    /**
+     * Splits the i-th bucket of the source table into the i-th and the
+     * (i + length)-th buckets of the target table.
+     *
+     * @param t
+     * @param i
+     * @return whether the bucket was migrated by this call
+     */
+    private boolean migrate(Transfer t, int i) {
+        int length = t.source.length();
+        ReentrantLock lock = locks[i & (locks.length - 1)];
+
+        lock.lock();
+        try {
+            Node head = t.source.get(i);
+            if (head instanceof Forward)
+                return false;
+
+            Node lo = null;
+            Node hi = null;
+            for (Node node = head; node != null; node = node.next) {
+                if ((node.hash & length) == 0)
+                    lo = new Node(node.key, node.hash, node.value, lo);
+                else
+                    hi = new Node(node.key, node.hash, node.value, hi);
+            }
+
+            // the target buckets are published before the forward, so
+            // whoever follows it finds them filled
+            t.target.set(i, lo);
+            t.target.set(i + length, hi);
+            t.source.set(i, t.forward);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, n.sum());
+    }
+
+    @Override
+    public Iterable<Key> keys() {
+        Stack<Key> keys = new Stack<>();
+        AtomicReferenceArray<Node> tab = table;
+
+        for (int i = 0; i < tab.length(); i++)
+            collect(tab, i, keys);
+
+        return keys;
+    }
+
+    /**
+     * Pushes every key of the i-th bucket of the table into keys, following
+     * the bucket into the next table if it was migrated.
+     *
+     * @param tab
+     * @param i
+     * @param keys
+     */
+    @SuppressWarnings("unchecked")
+    private void collect(AtomicReferenceArray<Node> tab, int i,
+        Stack<Key> keys) {
+        Node node = tab.get(i);
+
+        if (node instanceof Forward) {
+            AtomicReferenceArray<Node> next = ((Forward) node).table;
+            collect(next, i, keys);
+            collect(next, i + tab.length(), keys);
+            return;
+        }
+
+        for (; node != null; node = node.next)
+            keys.push((Key) node.key);
+    }
+}
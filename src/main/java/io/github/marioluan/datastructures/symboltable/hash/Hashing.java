@@ -0,0 +1,128 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Hashing utilities shared by the hash table implementations.
+ *
+ * @author marioluan
+ */
+final class Hashing {
+
+    private static final int  MIX_32_1       = 0x85ebca6b;
+    private static final int  MIX_32_2       = 0xc2b2ae35;
+    private static final long MIX_64_1       = 0xff51afd7ed558ccdL;
+    private static final long MIX_64_2       = 0xc4ceb9fe1a85ec53L;
+    private static final int  SHIFT_13       = 13;
+    private static final int  SHIFT_16       = 16;
+    private static final int  SHIFT_33       = 33;
+    private static final int  INT_BITS       = 32;
+    private static final int  TWICE          = 2;
+    // the largest power of two an array can hold
+    static final int          MAX_CAPACITY   = 1 << 30;
+
+    private Hashing() {
+    }
+
+    /**
+     * Spreads the bits of h using murmur3's 32 bits finalizer, so that keys
+     * differing only on their high bits do not end up on the same bucket
+     * once masked.
+     *
+     * @param h
+     * @return the mixed hash
+     */
+    static int mix(int h) {
+        h ^= h >>> SHIFT_16;
+        h *= MIX_32_1;
+        h ^= h >>> SHIFT_13;
+        h *= MIX_32_2;
+        h ^= h >>> SHIFT_16;
+        return h;
+    }
+
+    /**
+     * Spreads the bits of h using murmur3's 64 bits finalizer and folds the
+     * result into 32 bits.
+     *
+     * @param h
+     * @return the mixed hash
+     */
+    static int mix(long h) {
+        h ^= h >>> SHIFT_33;
+        h *= MIX_64_1;
+        h ^= h >>> SHIFT_33;
+        h *= MIX_64_2;
+        h ^= h >>> SHIFT_33;
+        return (int) (h ^ (h >>> INT_BITS));
+    }
+
+    /**
+     * Returns the smallest power of two greater than or equal to n.
+     *
+     * @param n
+     * @return the smallest power of two greater than or equal to n
+     */
+    static int ceilingPowerOfTwo(int n) {
+        if (n <= 1)
+            return 1;
+
+        if (n >= MAX_CAPACITY)
+            return MAX_CAPACITY;
+
+        return Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Returns the capacity a table should grow to before a batch of puts,
+     * doubling the current one until it holds the keys the table is certain
+     * to hold afterwards.<br>
+     * <i>Only the larger of the size of the table and the length of the
+     * batch is certain, since the batch may update keys the table holds
+     * already. Sizing for their sum would double or quadruple a table fed a
+     * batch of existing keys, and deletes are the only thing shrinking it
+     * back. If every key turns out to be new, the puts are left at most one
+     * more doubling.</i>
+     *
+     * @param capacity
+     *            the current capacity
+     * @param size
+     *            the number of keys in the table
+     * @param batch
+     *            the number of keys in the batch
+     * @param maxKeys
+     *            the number of keys a capacity holds before the table
+     *            resizes
+     * @return the capacity to grow to, which is the current one if it holds
+     *         them already
+     */
+    static int capacityForBatch(int capacity, int size, int batch,
+            IntUnaryOperator maxKeys) {
+        int expected = Math.max(size, batch);
+
+        while (maxKeys.applyAsInt(capacity) < expected
+                && capacity < MAX_CAPACITY)
+            capacity *= TWICE;
+
+        return capacity;
+    }
+
+    /**
+     * Returns how much of a retired table every operation must migrate for
+     * the migration to be over within the given number of operations, so an
+     * incremental resize never has to drain the previous one.
+     *
+     * @param pending
+     *            the work left on the retired table, in slots or buckets
+     * @param headroom
+     *            the number of operations before the next resize may start
+     * @param minimum
+     *            the least work done per operation
+     * @return the work to do per operation
+     */
+    static int migrationStep(long pending, long headroom, int minimum) {
+        headroom = Math.max(1, headroom);
+
+        return (int) Math.max(minimum, (pending + headroom - 1) / headroom);
+    }
+}
@@ -1,11 +1,17 @@
 package io.github.marioluan.datastructures.symboltable.hash;
 
-import edu.princeton.cs.algs4.Stack;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
 import io.github.marioluan.datastructures.symboltable.SymbolTable;
 
 /**
  * {@link SymbolTable} implementation using a linear probing hash data
  * structure with a fixed capacity.<br>
+ * Deletion shifts back the keys of the cluster that follows the deleted key
+ * instead of reinserting them, so it costs as much as a lookup plus the
+ * length of the rest of the cluster.<br>
  * The following operations take O(lg N) on worst-case and O(3-5) (constant
  * time) on average under uniform hashing assumption:
  * <ul>
@@ -25,21 +31,66 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
     private Value[] values;
     private int n;
     private int m;
+    private final TableSizing sizing;
+    private final boolean incremental;
+    // previous table, while its keys are migrated on incremental resizes
+    private LinearProbingHashTable<Key, Value> retired;
+    private int migrationCursor;
+    // slots walked per operation, so the migration is over before the next
+    // resize may start
+    private int migrationStep;
     private static final int UNSIGNED_CONST = 0x7fffffff;
     private static final int EIGHT_TIMES = 8;
     private static final int TWICE = 2;
+    private static final int MIN_MIGRATION_STEP = 4;
 
     /**
-     * Constructs a new hash table with the given capacity.
+     * Constructs a new hash table with the given capacity, using
+     * {@link TableSizing#MODULAR} sizing.
      *
      * @param capacity
      */
-    @SuppressWarnings("unchecked")
     public LinearProbingHashTable(int capacity) {
+        this(capacity, TableSizing.MODULAR);
+    }
+
+    /**
+     * Constructs a new hash table with the given capacity and sizing.
+     *
+     * @param capacity
+     * @param sizing
+     */
+    public LinearProbingHashTable(int capacity, TableSizing sizing) {
+        this(capacity, sizing, false);
+    }
+
+    /**
+     * Constructs a new hash table with the given capacity, sizing and resize
+     * mode.<br>
+     * <i>With incremental resizes, a resize only allocates the new table:
+     * the previous one is kept aside and every following put and delete
+     * walks a few of its slots, moving their keys into the new one, so no
+     * single operation pays for rehashing the whole table. The few are
+     * enough for the migration to be over before the size may cross a
+     * threshold again. Lookups check both tables meanwhile.</i>
+     *
+     * @param capacity
+     * @param sizing
+     * @param incremental whether resizes are spread over the following
+     *                    operations
+     */
+    @SuppressWarnings("unchecked")
+    public LinearProbingHashTable(int capacity, TableSizing sizing,
+        boolean incremental) {
+        if (sizing == TableSizing.POWER_OF_TWO)
+            capacity = Hashing.ceilingPowerOfTwo(capacity);
+
         this.keys = (Key[]) new Comparable[capacity];
         this.values = (Value[]) new Comparable[capacity];
         this.n = 0;
         this.m = capacity;
+        this.sizing = sizing;
+        this.incremental = incremental;
     }
 
     /**
@@ -49,11 +100,51 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
      * @return a positive hash value based on the {@link Key key}
      */
     private int hash(Key key) {
+        if (sizing == TableSizing.POWER_OF_TWO)
+            return Hashing.mix(key.hashCode()) & (m - 1);
+
         // forces the sign bit (the first one, from the 32) to 0 to avoid
         // negative indices
         return (key.hashCode() & UNSIGNED_CONST) % m;
     }
 
+    /**
+     * Returns the index which comes after i, wrapping around the end of the
+     * table without dividing.
+     *
+     * @param i
+     * @return the index which comes after i
+     */
+    private int next(int i) {
+        return i + 1 == m ? 0 : i + 1;
+    }
+
+    /**
+     * Returns how many probes it takes to go from index i to index j,
+     * wrapping around the end of the table.
+     *
+     * @param i
+     * @param j
+     * @return the number of probes from i to j
+     */
+    private int distance(int i, int j) {
+        return j >= i ? j - i : j + m - i;
+    }
+
+    /**
+     * Returns the index of the key on this table, or -1 if it is absent.
+     *
+     * @param key
+     * @return the index of the key, or -1 if it is absent
+     */
+    private int indexOf(Key key) {
+        for (int i = hash(key); keys[i] != null; i = next(i))
+            if (keys[i].equals(key))
+                return i;
+
+        return -1;
+    }
+
     @Override
     public void put(Key key, Value value) {
         if (key == null)
@@ -65,15 +156,15 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
             return;
         }
 
+        migrate();
+
         // doubles size of array if necessary (50% full)
-        if (n >= m / TWICE)
+        if (size() >= m / TWICE)
             resize(TWICE * m);
 
         // handles insertion
-        // hash can eventually return an index greater than keys' length
-        // see: https://github.com/marioluan/java-data-structures/issues/14
         int i;
-        for (i = hash(key); i < keys.length && keys[i] != null; i = i + 1 % m) {
+        for (i = hash(key); keys[i] != null; i = next(i)) {
             // handles updates
             if (keys[i].equals(key)) {
                 values[i] = value;
@@ -81,6 +172,13 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
             }
         }
 
+        // a key still on the previous table moves to this one
+        if (retired != null) {
+            int j = retired.indexOf(key);
+            if (j >= 0)
+                retired.removeAt(j);
+        }
+
         // adds the key-value pair to the empty spot found
         keys[i] = key;
         values[i] = value;
@@ -89,11 +187,12 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
 
     @Override
     public Value get(Key key) {
-        // hash can eventually return an index greater than keys' length
-        // see: https://github.com/marioluan/java-data-structures/issues/14
-        for (int i = hash(key); i < keys.length && keys[i] != null; i = i + 1 % m)
-            if (keys[i].equals(key))
-                return values[i];
+        int i = indexOf(key);
+        if (i >= 0)
+            return values[i];
+
+        if (retired != null)
+            return retired.get(key);
 
         return null;
     }
@@ -106,41 +205,53 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
         if (isEmpty())
             return;
 
-        // finds the position i of key
-        int i = hash(key);
-        while (keys[i] != null && !keys[i].equals(key))
-            i = i + 1 % m;
+        migrate();
 
-        // not found
-        if (keys[i] == null)
-            return;
-
-        // deletes the key-value pair from the table
-        keys[i] = null;
-        values[i] = null;
+        int i = indexOf(key);
+        if (i >= 0) {
+            removeAt(i);
+        } else if (retired != null) {
+            int j = retired.indexOf(key);
 
-        // rehashes all keys from the cluster to avoid empty spots
-        i = i + 1 % m;
-        while (keys[i] != null) {
-            Key tmpKey = keys[i];
-            Value tmpValue = values[i];
-
-            keys[i] = null;
-            values[i] = null;
-            n--;
+            // not found
+            if (j < 0)
+                return;
 
-            // rehash
-            put(tmpKey, tmpValue);
-            i = i + 1 % m;
+            retired.removeAt(j);
+        } else {
+            // not found
+            return;
         }
 
-        n--;
-
         // shrink size of array if necessary (12.5% full or less)
-        if (n > 0 && n <= m / EIGHT_TIMES)
+        if (size() > 0 && size() <= m / EIGHT_TIMES)
             resize(m / TWICE);
     }
 
+    /**
+     * Deletes the key-value pair at index i.<br>
+     * Walks the rest of the cluster and moves into the hole every key whose
+     * bucket comes at or before it (backward-shift), so no key becomes
+     * unreachable and no tombstone is left behind.
+     *
+     * @param i
+     */
+    private void removeAt(int i) {
+        keys[i] = null;
+        values[i] = null;
+        n--;
+
+        for (int j = next(i); keys[j] != null; j = next(j)) {
+            if (distance(hash(keys[j]), j) >= distance(i, j)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                keys[j] = null;
+                values[j] = null;
+                i = j;
+            }
+        }
+    }
+
     @Override
     public boolean contains(Key key) {
         return get(key) != null;
@@ -148,28 +259,194 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
 
     @Override
     public boolean isEmpty() {
-        return n == 0;
+        return size() == 0;
     }
 
     @Override
     public int size() {
+        if (retired != null)
+            return n + retired.n;
+
         return n;
     }
 
+    /**
+     * Checks whether the keys of a previous resize are still being migrated.
+     *
+     * @return whether a resize is in progress
+     */
+    boolean isResizing() {
+        return retired != null;
+    }
+
+    /**
+     * Returns the work left on the previous table, in slots and keys.
+     *
+     * @return the work left on the previous table
+     */
+    int pendingMigration() {
+        return retired == null ? 0 : (retired.m - migrationCursor) + retired.n;
+    }
+
+    /**
+     * Returns the work every put or delete does on the previous table.
+     *
+     * @return the work done per operation
+     */
+    int migrationStep() {
+        return migrationStep;
+    }
+
+    /**
+     * Returns the capacity of the current table.
+     *
+     * @return the capacity of the current table
+     */
+    int capacity() {
+        return m;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the table as the iteration goes, instead of
+     * being copied; the table must not be modified meanwhile.</i>
+     */
     @Override
     public Iterable<Key> keys() {
-        Stack<Key> stack = new Stack<>();
+        return KeyIterator::new;
+    }
 
-        for (int i = 0; i < m; i++)
-            if (keys[i] != null)
-                stack.push(keys[i]);
+    @Override
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        for (LinearProbingHashTable<Key, Value> table = this; table != null;
+            table = table.retired)
+            for (int i = 0; i < table.m; i++)
+                if (table.keys[i] != null)
+                    action.accept(table.keys[i], table.values[i]);
+    }
+
+    /**
+     * Implements an Iterator over the slots of the table, followed by the
+     * slots of the previous table while it is being migrated.
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private LinearProbingHashTable<Key, Value> table;
+        private int i;
+
+        /**
+         * Constructs the iterator by pointing its cursor to the first key.
+         */
+        KeyIterator() {
+            this.table = LinearProbingHashTable.this;
+            this.i = -1;
+            advance();
+        }
+
+        /**
+         * Moves the cursor to the next key, if any.
+         */
+        private void advance() {
+            while (table != null) {
+                if (++i < table.m) {
+                    if (table.keys[i] != null)
+                        return;
+                } else {
+                    table = table.retired;
+                    i = -1;
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return table != null;
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = table.keys[i];
+            advance();
+
+            return key;
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Only saves the resizes: the table grows once up front, to the
+     * capacity {@link Hashing#capacityForBatch} picks for it, then every
+     * pair goes through {@link #put}, checks included. It may still double
+     * once more if every key turns out to be new.</i>
+     */
+    @Override
+    public void putAll(Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException(
+                "keys and values must have the same length");
+
+        // the table resizes once half full
+        int capacity = Hashing.capacityForBatch(Math.max(1, m), size(),
+            keys.length, c -> c / TWICE);
+
+        // a migration in progress is left to the puts, which it is sized for
+        if (capacity != m && retired == null)
+            resize(capacity);
 
-        return stack;
+        SymbolTable.super.putAll(keys, values);
     }
 
     private void resize(int capacity) {
         LinearProbingHashTable<Key, Value> tmp = new LinearProbingHashTable<>(
-            capacity);
+            capacity, sizing);
+
+        if (incremental) {
+            // the step of the previous resize had it over by now
+            if (retired != null)
+                throw new IllegalStateException(
+                    "the previous resize is not over");
+
+            // keeps the current table aside and starts over on an empty one
+            Key[] emptyKeys = tmp.keys;
+            Value[] emptyValues = tmp.values;
+            int emptyM = tmp.m;
+
+            tmp.keys = keys;
+            tmp.values = values;
+            tmp.n = n;
+            tmp.m = m;
+            retired = tmp;
+            migrationCursor = 0;
+
+            keys = emptyKeys;
+            values = emptyValues;
+            n = 0;
+            m = emptyM;
+
+            // every put or delete migrates, and it takes this many of them
+            // to reach either threshold again; every slot is walked and
+            // every key moved once
+            int size = retired.n;
+            long headroom = Math.min(m / TWICE - size, size - m / EIGHT_TIMES);
+            migrationStep = Hashing.migrationStep((long) retired.m + size,
+                headroom, MIN_MIGRATION_STEP);
+            return;
+        }
 
         // copy all items from the current array
         for (int i = 0; i < m; i++)
@@ -181,4 +458,42 @@ public class LinearProbingHashTable<Key extends Comparable<Key>, Value>
         m = tmp.m;
 
     }
+
+    /**
+     * Walks {@link #migrationStep} slots of the previous table, from its
+     * first slot onwards, moving their keys into this one; a slot and a key
+     * moved count as one step each, so an operation never walks a long run
+     * of empty slots.<br>
+     * <i>Every slot before the cursor is empty, so removing the key at the
+     * cursor may only shift later keys back into it; the cursor only moves
+     * on once its slot is empty.</i>
+     */
+    private void migrate() {
+        if (retired == null)
+            return;
+
+        for (int step = 0; step < migrationStep && retired.n > 0; step++) {
+            int i = migrationCursor;
+            Key key = retired.keys[i];
+
+            if (key == null) {
+                migrationCursor++;
+                continue;
+            }
+
+            Value value = retired.values[i];
+            retired.removeAt(i);
+
+            int j = hash(key);
+            while (keys[j] != null)
+                j = next(j);
+
+            keys[j] = key;
+            values[j] = value;
+            n++;
+        }
+
+        if (retired.n == 0)
+            retired = null;
+    }
 }
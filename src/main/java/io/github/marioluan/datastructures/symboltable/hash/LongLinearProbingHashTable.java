@@ -0,0 +1,218 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+/**
+ * Linear probing hash table specialized for primitive <code>long</code> keys,
+ * so keys are never boxed and no {@link Object#hashCode()} or
+ * {@link Object#equals(Object)} call is made.<br>
+ * Its capacity is always a power of two, so the bucket of a key is found by
+ * masking its mixed hash instead of computing a remainder. Since values are
+ * never null, an empty slot is the one without a value, hence every
+ * <code>long</code> is a valid key.<br>
+ * The following operations take O(lg N) on worst-case and O(3-5) (constant
+ * time) on average under uniform hashing assumption:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * </ul>
+ *
+ * @param <Value> the class type of the value
+ * @author marioluan
+ */
+public class LongLinearProbingHashTable<Value> {
+
+    private long[] keys;
+    private Value[] values;
+    private int n;
+    private int mask;
+    private static final int EIGHT_TIMES = 8;
+    private static final int TWICE = 2;
+
+    /**
+     * Constructs a new hash table with the given capacity, rounded up to a
+     * power of two.
+     *
+     * @param capacity
+     */
+    public LongLinearProbingHashTable(int capacity) {
+        init(Hashing.ceilingPowerOfTwo(Math.max(TWICE, capacity)));
+    }
+
+    /**
+     * Allocates empty arrays of the given capacity.
+     *
+     * @param capacity a power of two
+     */
+    @SuppressWarnings("unchecked")
+    private void init(int capacity) {
+        this.keys = new long[capacity];
+        this.values = (Value[]) new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Computes and returns the index of the bucket of the key.
+     *
+     * @param key
+     * @return the index of the bucket of the key
+     */
+    private int hash(long key) {
+        return Hashing.mix(key) & mask;
+    }
+
+    /**
+     * Puts key-value pair into the table. Overwrites old value with new
+     * value, if present.<br>
+     * <i>Removes key from table if value is null.</i>
+     *
+     * @param key
+     * @param value
+     */
+    public void put(long key, Value value) {
+        // handles deletion
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        // doubles size of array if necessary (50% full)
+        if (n >= keys.length / TWICE)
+            resize(TWICE * keys.length);
+
+        int i;
+        for (i = hash(key); values[i] != null; i = (i + 1) & mask) {
+            // handles updates
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+
+        // adds the key-value pair to the empty spot found
+        keys[i] = key;
+        values[i] = value;
+        n++;
+    }
+
+    /**
+     * Returns the value paired with key.
+     *
+     * @param key
+     * @return the value or null if key is absent.
+     */
+    public Value get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value paired with key, or the given default value if key is
+     * absent.
+     *
+     * @param key
+     * @param defaultValue
+     * @return the value or defaultValue if key is absent.
+     */
+    public Value getOrDefault(long key, Value defaultValue) {
+        for (int i = hash(key); values[i] != null; i = (i + 1) & mask)
+            if (keys[i] == key)
+                return values[i];
+
+        return defaultValue;
+    }
+
+    /**
+     * Removes key and its value from table.<br>
+     * Instead of rehashing the rest of the cluster, shifts back only the keys
+     * which would not be reachable from their bucket anymore.
+     *
+     * @param key
+     */
+    public void delete(long key) {
+        if (isEmpty())
+            return;
+
+        // finds the position i of key
+        int i = hash(key);
+        while (values[i] != null && keys[i] != key)
+            i = (i + 1) & mask;
+
+        // not found
+        if (values[i] == null)
+            return;
+
+        // deletes the key-value pair from the table
+        values[i] = null;
+        n--;
+
+        // fills the hole with the next key of the cluster whose bucket comes
+        // at or before the hole, until the cluster ends
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int bucket = hash(keys[j]);
+
+            if (((j - bucket) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = null;
+                i = j;
+            }
+        }
+
+        // shrink size of array if necessary (12.5% full or less)
+        if (n > 0 && n <= keys.length / EIGHT_TIMES)
+            resize(keys.length / TWICE);
+    }
+
+    /**
+     * Checks if there is a value paired with key.
+     *
+     * @param key
+     * @return <code>true</code> if key exist;
+     *         <code> false</code> otherwise.
+     */
+    public boolean contains(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Checks if this table is empty.
+     *
+     * @return returns <code>true</code> if the table is empty;
+     *         <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * Returns the number of key-value pairs in the table.
+     *
+     * @return returns the number of key-value pairs in the table.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Rehashes every key into arrays of the given capacity.
+     *
+     * @param capacity a power of two
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Value[] oldValues = values;
+
+        init(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null)
+                continue;
+
+            int j = hash(oldKeys[i]);
+            while (values[j] != null)
+                j = (j + 1) & mask;
+
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.marioluan.datastructures.symboltable.hash;
 
-import edu.princeton.cs.algs4.Stack;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
 import io.github.marioluan.datastructures.symboltable.SymbolTable;
 
 /**
@@ -38,20 +41,78 @@ public class SeparateChainingHashTable<Key extends Comparable<Key>, Value>
     private Node[]              buckets;
     private int                 n;
     private int                 m;
-    private static final int    UNSIGNED_CONST = 0x7fffffff;
-    private static final double FIVE           = 5.0;
-    private static final int    FOUR_TIMES     = 4;
-    private static final int    TWICE          = 2;
+    private final TableSizing   sizing;
+    private final boolean       incremental;
+    // previous table, while its buckets are migrated on incremental resizes
+    private SeparateChainingHashTable<Key, Value> retired;
+    private int                 migrationCursor;
+    // buckets migrated per operation, so the migration is over before the
+    // next resize may start
+    private int                 migrationStep;
+    private static final int    UNSIGNED_CONST          = 0x7fffffff;
+    private static final double FIVE                    = 5.0;
+    private static final int    FOUR_TIMES              = 4;
+    private static final int    TWICE                   = 2;
+    private static final int    MIN_MIGRATION_STEP      = 4;
 
     /**
-     * Constructs a new hash table with the given capacity.
+     * Constructs a new hash table with the given capacity, using
+     * {@link TableSizing#MODULAR} sizing.
      * 
      * @param capacity
      */
     public SeparateChainingHashTable(int capacity) {
-        this.buckets = new Node[capacity + 1];
+        this(capacity, TableSizing.MODULAR);
+    }
+
+    /**
+     * Constructs a new hash table with the given capacity and sizing.<br>
+     * <i>With {@link TableSizing#POWER_OF_TWO} sizing every bucket is used,
+     * instead of the first fifth of them.</i>
+     * 
+     * @param capacity
+     * @param sizing
+     */
+    public SeparateChainingHashTable(int capacity, TableSizing sizing) {
+        this(capacity, sizing, false);
+    }
+
+    /**
+     * Constructs a new hash table with the given capacity, sizing and resize
+     * mode.<br>
+     * <i>With incremental resizes, a resize only allocates the new buckets:
+     * the previous ones are kept aside and every following put and delete
+     * moves a few of them into the new ones, so no single operation pays for
+     * rehashing the whole table. The few are enough for the migration to be
+     * over before the size may cross a threshold again. Lookups check both
+     * tables meanwhile.</i>
+     * 
+     * @param capacity
+     * @param sizing
+     * @param incremental
+     *            whether resizes are spread over the following operations
+     */
+    public SeparateChainingHashTable(int capacity, TableSizing sizing,
+            boolean incremental) {
+        this.sizing = sizing;
+        this.incremental = incremental;
         this.n = 0;
-        this.m = computeM();
+        init(capacity);
+    }
+
+    /**
+     * Allocates the buckets for the given capacity and computes m.
+     * 
+     * @param capacity
+     */
+    private void init(int capacity) {
+        if (sizing == TableSizing.POWER_OF_TWO) {
+            buckets = new Node[Hashing.ceilingPowerOfTwo(capacity)];
+            m = buckets.length;
+        } else {
+            buckets = new Node[capacity + 1];
+            m = computeM();
+        }
     }
 
     /**
@@ -61,6 +122,9 @@ public class SeparateChainingHashTable<Key extends Comparable<Key>, Value>
      * @return a positive hash value based on the {@link Key key}
      */
     private int hash(Key key) {
+        if (sizing == TableSizing.POWER_OF_TWO)
+            return Hashing.mix(key.hashCode()) & (m - 1);
+
         // forces the sign bit (the first one, from the 32) to 0 to avoid
         // negative indices
         return (key.hashCode() & UNSIGNED_CONST) % m;
@@ -77,34 +141,50 @@ public class SeparateChainingHashTable<Key extends Comparable<Key>, Value>
             return;
         }
 
+        migrate();
+
         // doubles size of array if necessary
-        if (size() == buckets.length)
+        if (size() >= buckets.length)
             resize(TWICE * buckets.length);
 
-        // handles insertion
-        int i = hash(key);
-        for (Node node = buckets[i]; node != null; node = node.next)
-            // handles updates
-            if (node.key.equals(key)) {
-                node.value = value;
-                return;
-            }
+        // handles updates
+        Node node = find(key);
+        if (node == null && retired != null)
+            node = retired.find(key);
+
+        if (node != null) {
+            node.value = value;
+            return;
+        }
 
         // adds the node to the top of the bucket
+        int i = hash(key);
         buckets[i] = new Node(key, value, buckets[i]);
         n++;
     }
 
+    /**
+     * Returns the node of the key on this table, or null if it is absent.
+     * 
+     * @param key
+     * @return the node of the key, or null if it is absent
+     */
+    private Node find(Key key) {
+        for (Node node = buckets[hash(key)]; node != null; node = node.next)
+            if (node.key.equals(key))
+                return node;
+
+        return null;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Value get(Key key) {
-        int i = hash(key);
-
-        for (Node node = buckets[i]; node != null; node = node.next)
-            if (node.key.equals(key))
-                return (Value) node.value;
+        Node node = find(key);
+        if (node == null && retired != null)
+            node = retired.find(key);
 
-        return null;
+        return node == null ? null : (Value) node.value;
     }
 
     @Override
@@ -115,34 +195,48 @@ public class SeparateChainingHashTable<Key extends Comparable<Key>, Value>
         if (isEmpty())
             return;
 
+        migrate();
+
+        // not found
+        if (!remove(key) && (retired == null || !retired.remove(key)))
+            return;
+
+        // shrink size of array if necessary
+        if (size() > 0 && size() <= buckets.length / FOUR_TIMES)
+            resize(buckets.length / TWICE);
+    }
+
+    /**
+     * Removes the key from this table.
+     * 
+     * @param key
+     * @return whether the key was found
+     */
+    private boolean remove(Key key) {
         int i = hash(key);
-        Node parent = buckets[i];
+        Node parent = null;
         Node cursor = buckets[i];
 
         // finds the cursor
-        while (!cursor.key.equals(key) && cursor != null) {
+        while (cursor != null && !cursor.key.equals(key)) {
             parent = cursor;
             cursor = cursor.next;
         }
 
         // not found
         if (cursor == null)
-            return;
-
-        n--;
+            return false;
 
-        // cursor at the top of the linked list
-        if (cursor.key.equals(buckets[i].key)) {
+        if (parent == null) {
+            // cursor at the top of the linked list
             buckets[i] = cursor.next;
-            return;
+        } else {
+            // cursor at the middle/bottom of the linked list
+            parent.next = cursor.next;
         }
 
-        // cursor at the middle/bottom of the linked list
-        parent.next = cursor.next;
-
-        // shrink size of array if necessary
-        if (n > 0 && n == buckets.length / FOUR_TIMES)
-            resize(buckets.length / TWICE);
+        n--;
+        return true;
     }
 
     @Override
@@ -152,39 +246,197 @@ public class SeparateChainingHashTable<Key extends Comparable<Key>, Value>
 
     @Override
     public boolean isEmpty() {
-        return n == 0;
+        return size() == 0;
     }
 
     @Override
     public int size() {
+        if (retired != null)
+            return n + retired.n;
+
         return n;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Checks whether the keys of a previous resize are still being migrated.
+     *
+     * @return whether a resize is in progress
+     */
+    boolean isResizing() {
+        return retired != null;
+    }
+
+    /**
+     * Returns the work left on the previous table, in buckets.
+     *
+     * @return the work left on the previous table
+     */
+    int pendingMigration() {
+        return retired == null ? 0 : retired.buckets.length - migrationCursor;
+    }
+
+    /**
+     * Returns the work every put or delete does on the previous table.
+     *
+     * @return the work done per operation
+     */
+    int migrationStep() {
+        return migrationStep;
+    }
+
+    /**
+     * Returns the capacity of the current table.
+     *
+     * @return the capacity of the current table
+     */
+    int capacity() {
+        return buckets.length;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the buckets as the iteration goes, instead of
+     * being copied; the table must not be modified meanwhile.</i>
+     */
     @Override
     public Iterable<Key> keys() {
-        Stack<Key> keys = new Stack<>();
+        return KeyIterator::new;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        for (SeparateChainingHashTable<Key, Value> table = this;
+                table != null; table = table.retired)
+            for (int i = 0; i < table.buckets.length; i++)
+                for (Node node = table.buckets[i]; node != null;
+                        node = node.next)
+                    action.accept((Key) node.key, (Value) node.value);
+    }
 
-        for (int i = 0; i < buckets.length; i++) {
-            Node bucket = buckets[i];
+    /**
+     * Implements an Iterator over the chains of the table, followed by the
+     * chains of the previous table while it is being migrated.
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private SeparateChainingHashTable<Key, Value> table;
+        private int                                   bucket;
+        private Node                                  cursor;
+
+        /**
+         * Constructs the iterator by pointing its cursor to the first key.
+         */
+        KeyIterator() {
+            this.table = SeparateChainingHashTable.this;
+            this.bucket = -1;
+            advance();
+        }
 
-            while (bucket != null) {
-                keys.push((Key) bucket.key);
-                bucket = bucket.next;
+        /**
+         * Moves the cursor to the next key, if any.
+         */
+        private void advance() {
+            if (cursor != null)
+                cursor = cursor.next;
+
+            while (cursor == null && table != null) {
+                if (++bucket < table.buckets.length) {
+                    cursor = table.buckets[bucket];
+                } else {
+                    table = table.retired;
+                    bucket = -1;
+                }
             }
         }
 
-        return keys;
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return cursor != null;
+        }
+
+        /**
+         * Operation not permitted.
+         * 
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = (Key) cursor.key;
+            advance();
+
+            return key;
+        }
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>Only saves the resizes: the table grows once up front, to the
+     * number of buckets {@link Hashing#capacityForBatch} picks for it,
+     * then every pair goes through {@link #put}, checks included. It may
+     * still double once more if every key turns out to be new.</i>
+     */
+    @Override
+    public void putAll(Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException(
+                    "keys and values must have the same length");
+
+        // the table resizes once it has as many keys as buckets
+        int capacity = Hashing.capacityForBatch(buckets.length, size(),
+                keys.length, c -> c);
+
+        // a migration in progress is left to the puts, which it is sized for
+        if (capacity != buckets.length && retired == null)
+            resize(capacity);
+
+        SymbolTable.super.putAll(keys, values);
     }
 
     @SuppressWarnings("unchecked")
     private void resize(int capacity) {
+        if (incremental) {
+            // the step of the previous resize had it over by now
+            if (retired != null)
+                throw new IllegalStateException(
+                        "the previous resize is not over");
+
+            // keeps the current buckets aside and starts over on empty ones
+            retired = new SeparateChainingHashTable<>(0, sizing);
+            retired.buckets = buckets;
+            retired.n = n;
+            retired.m = m;
+            migrationCursor = 0;
+
+            n = 0;
+            init(capacity);
+
+            // every put or delete migrates, and it takes this many of them
+            // to reach either threshold again
+            int size = retired.n;
+            long headroom = Math.min(buckets.length - size,
+                    size - buckets.length / FOUR_TIMES);
+            migrationStep = Hashing.migrationStep(retired.buckets.length,
+                    headroom, MIN_MIGRATION_STEP);
+            return;
+        }
+
         Node[] copy = buckets;
 
         // resets the instance with the new capacity
-        buckets = new Node[capacity + 1];
         n = 0;
-        m = computeM();
+        init(capacity);
 
         // copy all items from the old array
         for (int i = 0; i < copy.length; i++) {
@@ -199,6 +451,39 @@ public class SeparateChainingHashTable<Key extends Comparable<Key>, Value>
 
     }
 
+    /**
+     * Moves the next {@link #migrationStep} buckets of the previous table
+     * into this one, relinking their nodes instead of allocating new ones.
+     */
+    @SuppressWarnings("unchecked")
+    private void migrate() {
+        if (retired == null)
+            return;
+
+        int end = Math.min(migrationCursor + migrationStep,
+                retired.buckets.length);
+
+        for (; migrationCursor < end; migrationCursor++) {
+            Node node = retired.buckets[migrationCursor];
+            retired.buckets[migrationCursor] = null;
+
+            while (node != null) {
+                Node next = node.next;
+                int i = hash((Key) node.key);
+
+                node.next = buckets[i];
+                buckets[i] = node;
+                retired.n--;
+                n++;
+
+                node = next;
+            }
+        }
+
+        if (migrationCursor == retired.buckets.length)
+            retired = null;
+    }
+
     /**
      * Computes and returns the new value of m.
      *
@@ -0,0 +1,26 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+/**
+ * Strategies a hash table may use to size its array and to map a hash value
+ * into an index of it.
+ *
+ * @author marioluan
+ */
+public enum TableSizing {
+
+    /**
+     * Keeps the requested capacity and maps hash values with
+     * <code>(hashCode &amp; 0x7fffffff) % m</code>.
+     */
+    MODULAR,
+
+    /**
+     * Rounds the capacity up to a power of two, spreads the bits of the hash
+     * value with a murmur3 finalizer and masks it with <code>m - 1</code>,
+     * trading the division for a couple of multiplications and shifts.<br>
+     * <i>Mixing first keeps keys whose hash values only differ on their high
+     * bits, like multiples of a power of two, from landing on the same
+     * bucket.</i>
+     */
+    POWER_OF_TWO;
+}
@@ -0,0 +1,1516 @@
+package io.github.marioluan.datastructures.symboltable.mapped;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import io.github.marioluan.datastructures.symboltable.OrderedSymbolTable;
+
+/**
+ * {@link OrderedSymbolTable} implementation using a B+ tree stored on
+ * fixed-size pages of a memory-mapped file.<br>
+ * Opening a file reads a single page, so a process can serve lookups from an
+ * index right after it restarts, instead of rebuilding it:
+ * <ul>
+ * <li>keys and values are written by {@link Serializer}s of fixed width, so a
+ * leaf holds (pageSize - 8) / (keyWidth + valueWidth) pairs;</li>
+ * <li>pages are never modified once committed: put and delete copy the
+ * pages of the path they change to free pages, and {@link #commit()} makes
+ * the new root durable by writing it to one of two alternating meta pages,
+ * after the pages it points to are on disk. A crash at any point leaves the
+ * file at its last commit;</li>
+ * <li>the most recently used pages are kept decoded in memory, so hot pages
+ * are not deserialized on every lookup;</li>
+ * <li>delete merges a node left less than half full with a sibling, or
+ * moves entries to it from that sibling if both do not fit in a page.</li>
+ * </ul>
+ * Pages released by a commit are reused by the next ones. The free pages are
+ * written by every commit to a list of pages the meta page points to, so they
+ * are reused after the file is reopened as well, instead of growing it.<br>
+ * The following operations take O(M log N / log M) on worst-case, plus the
+ * time to read the pages which are not cached, where M == keys per page:
+ * <ul>
+ * <li>get</li>
+ * <li>put</li>
+ * <li>delete</li>
+ * <li>min/max</li>
+ * <li>floor/ceiling</li>
+ * <li>rank/select</li>
+ * </ul>
+ *
+ * @author marioluan
+ * @param <Key>
+ *            the class type of the comparable keys on the table
+ * @param <Value>
+ *            the class type of the values on the table
+ */
+public class MappedBPlusTree<Key extends Comparable<Key>, Value>
+        implements OrderedSymbolTable<Key, Value>, Closeable {
+
+    private static final int DEFAULT_PAGE_SIZE  = 4096;
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final int MIN_PAGE_SIZE      = 64;
+    private static final int MIN_FAN_OUT        = 4;
+    // a mapping cannot be larger than 2 GB, so the file is mapped in chunks
+    private static final int SEGMENT_SHIFT      = 30;
+    private static final int SEGMENT_SIZE       = 1 << SEGMENT_SHIFT;
+    private static final int TWICE              = 2;
+    private static final int NIL                = -1;
+
+    // meta page layout
+    private static final int MAGIC              = 0x42504C54;
+    private static final int META_PAGES         = 2;
+    private static final int META_MAGIC         = 0;
+    private static final int META_PAGE_SIZE     = 4;
+    private static final int META_KEY_WIDTH     = 8;
+    private static final int META_VALUE_WIDTH   = 12;
+    private static final int META_TXID          = 16;
+    private static final int META_ROOT          = 24;
+    private static final int META_PAGE_COUNT    = 28;
+    private static final int META_SIZE          = 32;
+    private static final int META_FREE          = 36;
+    private static final int META_CHECKSUM      = 40;
+
+    // node page layout: a header followed by the entries
+    private static final byte LEAF              = 0;
+    private static final byte INTERNAL          = 1;
+    private static final int  NODE_TYPE         = 0;
+    private static final int  NODE_N            = 4;
+    private static final int  NODE_HEADER       = 8;
+    // child page and subtree size
+    private static final int  CHILD_WIDTH       = 8;
+
+    // free list page layout: the next page of the list, followed by the
+    // number of free pages it holds and those pages
+    private static final int  FREE_NEXT         = 0;
+    private static final int  FREE_N            = 4;
+    private static final int  FREE_HEADER       = 8;
+
+    private abstract class Node {
+        // leaves: the keys; internal nodes: a lower bound of each child
+        protected Key[] keys;
+        // number of keys (leaves) or children (internal nodes)
+        protected int   n;
+        // number of key-value pairs under this node
+        protected int   size;
+        // index of the first entry changed since the node was read
+        protected int   changed;
+
+        /**
+         * Returns a copy of the node which may be modified.
+         *
+         * @return a copy of the node
+         */
+        abstract Node copy();
+    }
+
+    private final class Leaf extends Node {
+        private Value[] values;
+
+        @SuppressWarnings("unchecked")
+        Leaf() {
+            // one extra slot holds the entry which overflows the node until
+            // it is split
+            this.keys = (Key[]) new Comparable[leafCapacity + 1];
+            this.values = (Value[]) new Object[leafCapacity + 1];
+        }
+
+        @Override
+        Leaf copy() {
+            Leaf copy = new Leaf();
+            System.arraycopy(keys, 0, copy.keys, 0, n);
+            System.arraycopy(values, 0, copy.values, 0, n);
+            copy.n = n;
+            copy.size = size;
+            copy.changed = n;
+
+            return copy;
+        }
+    }
+
+    private final class Internal extends Node {
+        private int[] children;
+        private int[] sizes;
+
+        @SuppressWarnings("unchecked")
+        Internal() {
+            this.keys = (Key[]) new Comparable[internalCapacity + 1];
+            this.children = new int[internalCapacity + 1];
+            this.sizes = new int[internalCapacity + 1];
+        }
+
+        @Override
+        Internal copy() {
+            Internal copy = new Internal();
+            System.arraycopy(keys, 0, copy.keys, 0, n);
+            System.arraycopy(children, 0, copy.children, 0, n);
+            System.arraycopy(sizes, 0, copy.sizes, 0, n);
+            copy.n = n;
+            copy.size = size;
+            copy.changed = n;
+
+            return copy;
+        }
+    }
+
+    private final Serializer<Key>        keySerializer;
+    private final Serializer<Value>      valueSerializer;
+    private final int                    pageSize;
+    private final int                    leafCapacity;
+    private final int                    internalCapacity;
+    private final FileChannel            channel;
+    private final List<MappedByteBuffer> segments;
+    private final Map<Integer, Node>     cache;
+    // holds the pairs checked by put before any page is copied
+    private final ByteBuffer             scratch;
+
+    // pages allocated since the last commit, which may be overwritten
+    private final Set<Integer>           fresh;
+    // pages released since the last commit, still referenced by it
+    private final List<Integer>          released;
+    // pages which no commit that may be opened references
+    private final Deque<Integer>         free;
+    // pages holding the free list of the last commit
+    private final List<Integer>          freeList;
+
+    private long                         mappedPages;
+    private long                         txid;
+    private int                          root;
+    private int                          pageCount;
+    private int                          size;
+    private boolean                      dirty;
+
+    /**
+     * Opens the table stored in the file, or creates an empty one if the file
+     * is empty or does not exist, with pages of 4 KB.
+     *
+     * @param file
+     * @param keySerializer
+     * @param valueSerializer
+     * @throws IOException
+     *             if the file cannot be opened or holds no valid commit
+     */
+    public MappedBPlusTree(Path file, Serializer<Key> keySerializer,
+            Serializer<Value> valueSerializer) throws IOException {
+        this(file, keySerializer, valueSerializer, DEFAULT_PAGE_SIZE,
+                DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens the table stored in the file, or creates an empty one if the file
+     * is empty or does not exist.
+     *
+     * @param file
+     * @param keySerializer
+     * @param valueSerializer
+     * @param pageSize
+     *            the size of the pages, in bytes, which must be the one the
+     *            file was created with
+     * @param cacheSize
+     *            the maximum number of pages kept decoded in memory
+     * @throws IllegalArgumentException
+     *             if pageSize is not a power of two or is too small to hold 4
+     *             keys, or if the file was created with another page size or
+     *             serializers of another width
+     * @throws IOException
+     *             if the file cannot be opened or holds no valid commit
+     */
+    public MappedBPlusTree(Path file, Serializer<Key> keySerializer,
+            Serializer<Value> valueSerializer, int pageSize, int cacheSize)
+            throws IOException {
+        if (pageSize < MIN_PAGE_SIZE || Integer.bitCount(pageSize) != 1)
+            throw new IllegalArgumentException(
+                    "page size must be a power of two of at least "
+                            + MIN_PAGE_SIZE);
+
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.pageSize = pageSize;
+        this.leafCapacity = (pageSize - NODE_HEADER)
+                / (keySerializer.width() + valueSerializer.width());
+        this.internalCapacity = (pageSize - NODE_HEADER)
+                / (keySerializer.width() + CHILD_WIDTH);
+
+        if (leafCapacity < MIN_FAN_OUT || internalCapacity < MIN_FAN_OUT)
+            throw new IllegalArgumentException("page size must hold at least "
+                    + MIN_FAN_OUT + " keys");
+
+        this.cache = new LinkedHashMap<Integer, Node>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Node> e) {
+                return size() > cacheSize;
+            }
+        };
+        this.scratch = ByteBuffer.allocate(Math.max(keySerializer.width(),
+                valueSerializer.width()));
+        this.fresh = new HashSet<>();
+        this.released = new ArrayList<>();
+        this.free = new ArrayDeque<>();
+        this.freeList = new ArrayList<>();
+        this.segments = new ArrayList<>();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            open();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the latest valid commit of the file, or initializes it if it is
+     * empty.
+     *
+     * @throws IOException
+     */
+    private void open() throws IOException {
+        long fileSize = channel.size();
+        map(Math.max(fileSize / pageSize, META_PAGES));
+
+        if (fileSize == 0) {
+            this.pageCount = META_PAGES;
+            this.root = NIL;
+            this.dirty = true;
+            // both meta pages are valid from the start, so the page size
+            // can be checked against the first one
+            writeMeta(0);
+            commit();
+            return;
+        }
+
+        // the meta page of the latest commit may have been torn by a crash
+        int latest = NIL;
+        for (int i = 0; i < META_PAGES; i++)
+            if (isValidMeta(i) && (latest == NIL || buffer(i)
+                    .getLong(offset(i) + META_TXID) > txid(latest)))
+                latest = i;
+
+        if (latest == NIL)
+            throw new IOException("file holds no valid commit");
+
+        ByteBuffer meta = buffer(latest);
+        int offset = offset(latest);
+        if (meta.getInt(offset + META_PAGE_SIZE) != pageSize
+                || meta.getInt(offset + META_KEY_WIDTH) != keySerializer
+                        .width()
+                || meta.getInt(offset + META_VALUE_WIDTH) != valueSerializer
+                        .width())
+            throw new IllegalArgumentException("file was created with "
+                    + "another page size or serializers of another width");
+
+        this.txid = meta.getLong(offset + META_TXID);
+        this.root = meta.getInt(offset + META_ROOT);
+        this.pageCount = meta.getInt(offset + META_PAGE_COUNT);
+        this.size = meta.getInt(offset + META_SIZE);
+        readFreeList(meta.getInt(offset + META_FREE));
+    }
+
+    /**
+     * Loads the free pages recorded by the commit opened.<br>
+     * <i>The pages of the list are referenced by that commit, so they are
+     * only reused after the next one.</i>
+     *
+     * @param page
+     *            the first page of the list, or {@link #NIL} if it is empty
+     */
+    private void readFreeList(int page) {
+        while (page != NIL) {
+            ByteBuffer buffer = buffer(page);
+            int offset = offset(page);
+            int n = buffer.getInt(offset + FREE_N);
+
+            for (int i = 0; i < n; i++)
+                free.add(buffer.getInt(
+                        offset + FREE_HEADER + i * Integer.BYTES));
+
+            freeList.add(page);
+            released.add(page);
+            page = buffer.getInt(offset + FREE_NEXT);
+        }
+    }
+
+    /**
+     * Returns the transaction id written to the meta page.
+     *
+     * @param page
+     * @return the transaction id written to the meta page
+     */
+    private long txid(int page) {
+        return buffer(page).getLong(offset(page) + META_TXID);
+    }
+
+    /**
+     * Checks whether the meta page was completely written.
+     *
+     * @param page
+     * @return <code>true</code> if the meta page holds a commit;
+     *         <code>false</code> otherwise
+     */
+    private boolean isValidMeta(int page) {
+        ByteBuffer meta = buffer(page);
+        int offset = offset(page);
+
+        return meta.getInt(offset + META_MAGIC) == MAGIC
+                && meta.getLong(offset + META_CHECKSUM) == checksum(page);
+    }
+
+    /**
+     * Returns the checksum of the fields of the meta page.
+     *
+     * @param page
+     * @return the checksum of the fields of the meta page
+     */
+    private long checksum(int page) {
+        ByteBuffer fields = buffer(page).duplicate();
+        fields.limit(offset(page) + META_CHECKSUM);
+        fields.position(offset(page));
+
+        CRC32 crc = new CRC32();
+        crc.update(fields);
+
+        return crc.getValue();
+    }
+
+    /**
+     * Makes every change done since the last commit durable.<br>
+     * <i>The pages written are forced to disk before the meta page pointing
+     * to them, which is written over the meta page of the commit before the
+     * last one: if a crash tears it, the last commit is still valid.</i>
+     */
+    public void commit() {
+        if (!dirty)
+            return;
+
+        writeFreeList();
+        for (MappedByteBuffer segment : segments)
+            segment.force();
+
+        txid++;
+        writeMeta((int) (txid % META_PAGES));
+
+        dirty = false;
+        fresh.clear();
+        // the commit before the last one, the only other which may still be
+        // opened, did not reference them
+        free.addAll(released);
+        released.clear();
+        // the commit falls back to this one if the next one is torn
+        released.addAll(freeList);
+    }
+
+    /**
+     * Writes the pages which will be free once the commit is durable to a
+     * list of pages, which the meta page points to.<br>
+     * <i>The list is stored on pages taken from the free ones, which neither
+     * the last commit nor this one reference, so it shrinks as it grows.</i>
+     */
+    private void writeFreeList() {
+        int perPage = (pageSize - FREE_HEADER) / Integer.BYTES;
+
+        freeList.clear();
+        while (free.size() + released.size() > freeList.size() * perPage)
+            freeList.add(allocate());
+
+        List<Integer> pages = new ArrayList<>(free);
+        pages.addAll(released);
+
+        for (int i = 0, j = 0; i < freeList.size(); i++) {
+            int page = freeList.get(i);
+            ByteBuffer buffer = buffer(page);
+            int offset = offset(page);
+            int n = Math.min(perPage, pages.size() - j);
+
+            buffer.putInt(offset + FREE_NEXT,
+                    i + 1 < freeList.size() ? freeList.get(i + 1) : NIL);
+            buffer.putInt(offset + FREE_N, n);
+            for (int k = 0; k < n; k++, j++)
+                buffer.putInt(offset + FREE_HEADER + k * Integer.BYTES,
+                        pages.get(j));
+        }
+    }
+
+    /**
+     * Writes the current root to the meta page, and forces it to disk.
+     *
+     * @param page
+     */
+    private void writeMeta(int page) {
+        ByteBuffer meta = buffer(page);
+        int offset = offset(page);
+
+        meta.putInt(offset + META_MAGIC, MAGIC);
+        meta.putInt(offset + META_PAGE_SIZE, pageSize);
+        meta.putInt(offset + META_KEY_WIDTH, keySerializer.width());
+        meta.putInt(offset + META_VALUE_WIDTH, valueSerializer.width());
+        meta.putLong(offset + META_TXID, txid);
+        meta.putInt(offset + META_ROOT, root);
+        meta.putInt(offset + META_PAGE_COUNT, pageCount);
+        meta.putInt(offset + META_SIZE, size);
+        meta.putInt(offset + META_FREE,
+                freeList.isEmpty() ? NIL : freeList.get(0));
+        meta.putLong(offset + META_CHECKSUM, checksum(page));
+        segments.get(0).force();
+    }
+
+    /**
+     * Commits every pending change and closes the file.
+     *
+     * @throws IOException
+     *             if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            cache.clear();
+            segments.clear();
+            channel.close();
+        }
+    }
+
+    /**
+     * Maps at least the given number of pages of the file, growing it if
+     * needed.
+     *
+     * @param pages
+     * @throws IOException
+     */
+    private void map(long pages) throws IOException {
+        if (pages <= mappedPages)
+            return;
+
+        // grows geometrically, so the file is remapped O(log N) times
+        long bytes = Math.max(pages, mappedPages * TWICE) * pageSize;
+
+        int first = segments.isEmpty() ? 0 : segments.size() - 1;
+        int last = (int) ((bytes - 1) >>> SEGMENT_SHIFT);
+        for (int i = first; i <= last; i++) {
+            long position = (long) i << SEGMENT_SHIFT;
+            MappedByteBuffer segment = channel.map(MapMode.READ_WRITE,
+                    position, Math.min(SEGMENT_SIZE, bytes - position));
+
+            if (i < segments.size())
+                segments.set(i, segment);
+            else
+                segments.add(segment);
+        }
+
+        mappedPages = bytes / pageSize;
+    }
+
+    /**
+     * Returns the mapped segment which holds the page.
+     *
+     * @param page
+     * @return the mapped segment which holds the page
+     */
+    private ByteBuffer buffer(int page) {
+        return segments.get((int) (((long) page * pageSize) >>> SEGMENT_SHIFT));
+    }
+
+    /**
+     * Returns the offset of the page within its segment.
+     *
+     * @param page
+     * @return the offset of the page within its segment
+     */
+    private int offset(int page) {
+        return (int) (((long) page * pageSize) & (SEGMENT_SIZE - 1));
+    }
+
+    /**
+     * Returns the node stored in the page.<br>
+     * <i>The node returned is shared with the cache, so it must not be
+     * modified: use {@link Node#copy()}.</i>
+     *
+     * @param page
+     * @return the node stored in the page
+     */
+    private Node read(int page) {
+        Node node = cache.get(page);
+        if (node != null)
+            return node;
+
+        ByteBuffer buffer = buffer(page);
+        int offset = offset(page);
+        int keyWidth = keySerializer.width();
+
+        if (buffer.get(offset + NODE_TYPE) == LEAF) {
+            Leaf leaf = new Leaf();
+            int width = keyWidth + valueSerializer.width();
+
+            leaf.n = buffer.getInt(offset + NODE_N);
+            for (int i = 0, entry = offset + NODE_HEADER; i < leaf.n;
+                    i++, entry += width) {
+                leaf.keys[i] = keySerializer.read(buffer, entry);
+                leaf.values[i] = valueSerializer.read(buffer,
+                        entry + keyWidth);
+            }
+            leaf.size = leaf.n;
+            node = leaf;
+        } else {
+            Internal internal = new Internal();
+            int width = keyWidth + CHILD_WIDTH;
+
+            internal.n = buffer.getInt(offset + NODE_N);
+            for (int i = 0, entry = offset + NODE_HEADER; i < internal.n;
+                    i++, entry += width) {
+                internal.keys[i] = keySerializer.read(buffer, entry);
+                internal.children[i] = buffer.getInt(entry + keyWidth);
+                internal.sizes[i] = buffer.getInt(
+                        entry + keyWidth + Integer.BYTES);
+                internal.size += internal.sizes[i];
+            }
+            node = internal;
+        }
+
+        cache.put(page, node);
+
+        return node;
+    }
+
+    /**
+     * Writes the node to the page it was read from if that page was not
+     * committed yet, otherwise to a free page.<br>
+     * <i>Only the entries changed are encoded: the other ones are copied
+     * as they are from the page the node was read from. The node must not be
+     * modified afterwards.</i>
+     *
+     * @param page
+     *            the page the node was read from, or {@link #NIL} for a new
+     *            node
+     * @param node
+     * @return the page the node was written to
+     */
+    private int write(int page, Node node) {
+        int keyWidth = keySerializer.width();
+        boolean isLeaf = node instanceof MappedBPlusTree.Leaf;
+        int width = keyWidth
+                + (isLeaf ? valueSerializer.width() : CHILD_WIDTH);
+
+        if (page == NIL || !fresh.contains(page)) {
+            int source = page;
+            page = allocate();
+
+            if (source != NIL) {
+                copy(source, page, NODE_HEADER + node.changed * width);
+                release(source);
+            }
+        }
+
+        ByteBuffer buffer = buffer(page);
+        int offset = offset(page);
+        int entry = offset + NODE_HEADER + node.changed * width;
+
+        buffer.put(offset + NODE_TYPE, isLeaf ? LEAF : INTERNAL);
+        buffer.putInt(offset + NODE_N, node.n);
+        if (isLeaf) {
+            Leaf leaf = (Leaf) node;
+
+            for (int i = leaf.changed; i < leaf.n; i++, entry += width) {
+                keySerializer.write(buffer, entry, leaf.keys[i]);
+                valueSerializer.write(buffer, entry + keyWidth,
+                        leaf.values[i]);
+            }
+        } else {
+            Internal internal = (Internal) node;
+
+            for (int i = internal.changed; i < internal.n;
+                    i++, entry += width) {
+                keySerializer.write(buffer, entry, internal.keys[i]);
+                buffer.putInt(entry + keyWidth, internal.children[i]);
+                buffer.putInt(entry + keyWidth + Integer.BYTES,
+                        internal.sizes[i]);
+            }
+        }
+
+        cache.put(page, node);
+
+        return page;
+    }
+
+    /**
+     * Copies the first bytes of a page to another one.
+     *
+     * @param source
+     * @param target
+     * @param bytes
+     */
+    private void copy(int source, int target, int bytes) {
+        ByteBuffer from = buffer(source).duplicate();
+        from.limit(offset(source) + bytes);
+        from.position(offset(source));
+
+        ByteBuffer to = buffer(target).duplicate();
+        to.position(offset(target));
+        to.put(from);
+    }
+
+    /**
+     * Returns a free page, growing the file if there is none.
+     *
+     * @return a free page
+     */
+    private int allocate() {
+        int page;
+
+        if (free.isEmpty()) {
+            page = pageCount++;
+
+            try {
+                map(pageCount);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            page = free.pop();
+        }
+
+        fresh.add(page);
+        dirty = true;
+
+        return page;
+    }
+
+    /**
+     * Releases the page, which can be reused right away if it was not
+     * committed yet, or after the next commit otherwise.
+     *
+     * @param page
+     */
+    private void release(int page) {
+        if (page == NIL)
+            return;
+
+        cache.remove(page);
+        if (fresh.remove(page))
+            free.push(page);
+        else
+            released.add(page);
+
+        dirty = true;
+    }
+
+    /**
+     * Returns the index of the child of the internal node whose keys may
+     * contain the key.
+     *
+     * @param node
+     * @param key
+     * @return the index of the child which may contain the key
+     */
+    private int childIndex(Internal node, Key key) {
+        // the first lower bound is never compared: every key lesser than the
+        // second one goes to the first child
+        int i = Arrays.binarySearch(node.keys, 1, node.n, key);
+
+        return i >= 0 ? i : -i - 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException
+     *             if the key or the value cannot be written by its
+     *             {@link Serializer}, in which case the table is left as it
+     *             was
+     */
+    @Override
+    public void put(Key key, Value value) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (value == null) {
+            delete(key);
+            return;
+        }
+
+        // a serializer failing halfway through would leave the pages of the
+        // path released while the root still points to them
+        keySerializer.write(scratch, 0, key);
+        valueSerializer.write(scratch, 0, value);
+
+        Node node = root == NIL ? new Leaf() : read(root).copy();
+        Node split = put(node, key, value);
+        int page = write(root, node);
+
+        // grows the tree by one level
+        if (split != null) {
+            Internal newRoot = new Internal();
+            newRoot.keys[0] = node.keys[0];
+            newRoot.children[0] = page;
+            newRoot.sizes[0] = node.size;
+            newRoot.keys[1] = split.keys[0];
+            newRoot.children[1] = write(NIL, split);
+            newRoot.sizes[1] = split.size;
+            newRoot.n = 2;
+            newRoot.size = node.size + split.size;
+            page = write(NIL, newRoot);
+        }
+
+        root = page;
+        size = read(root).size;
+    }
+
+    /**
+     * Wrapper for {@link #put} method.
+     *
+     * @param node
+     *            a copy of the node, which is modified
+     * @param key
+     * @param value
+     * @return the new right sibling of the node if it was split, otherwise
+     *         null
+     */
+    private Node put(Node node, Key key, Value value) {
+        if (node instanceof MappedBPlusTree.Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+            // handles updates
+            if (i >= 0) {
+                leaf.values[i] = value;
+                leaf.changed = Math.min(leaf.changed, i);
+                return null;
+            }
+
+            i = -i - 1;
+            leaf.changed = Math.min(leaf.changed, i);
+            System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+            System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.n - i);
+            leaf.keys[i] = key;
+            leaf.values[i] = value;
+            leaf.n++;
+            leaf.size++;
+
+            return leaf.n > leafCapacity ? split(leaf) : null;
+        }
+
+        Internal internal = (Internal) node;
+        int i = childIndex(internal, key);
+        Node child = read(internal.children[i]).copy();
+        Node split = put(child, key, value);
+
+        internal.size += child.size - internal.sizes[i];
+        internal.changed = Math.min(internal.changed, i);
+        internal.children[i] = write(internal.children[i], child);
+        internal.sizes[i] = child.size;
+
+        if (split == null)
+            return null;
+
+        // links the new sibling right after the child
+        System.arraycopy(internal.keys, i + 1, internal.keys, i + 2,
+                internal.n - i - 1);
+        System.arraycopy(internal.children, i + 1, internal.children, i + 2,
+                internal.n - i - 1);
+        System.arraycopy(internal.sizes, i + 1, internal.sizes, i + 2,
+                internal.n - i - 1);
+        internal.keys[i + 1] = split.keys[0];
+        internal.children[i + 1] = write(NIL, split);
+        internal.sizes[i + 1] = split.size;
+        internal.n++;
+        internal.size += split.size;
+
+        return internal.n > internalCapacity ? split(internal) : null;
+    }
+
+    /**
+     * Moves the upper half of the overflowing leaf into a new leaf.
+     *
+     * @param leaf
+     * @return the new right sibling of the leaf
+     */
+    private Leaf split(Leaf leaf) {
+        Leaf right = new Leaf();
+        int mid = leaf.n / 2;
+
+        right.n = leaf.n - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.n);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.n);
+        Arrays.fill(leaf.keys, mid, leaf.n, null);
+        Arrays.fill(leaf.values, mid, leaf.n, null);
+        leaf.n = mid;
+        right.size = right.n;
+        leaf.size = leaf.n;
+
+        return right;
+    }
+
+    /**
+     * Moves the upper half of the overflowing internal node into a new one.
+     *
+     * @param node
+     * @return the new right sibling of the node
+     */
+    private Internal split(Internal node) {
+        Internal right = new Internal();
+        int mid = node.n / 2;
+
+        right.n = node.n - mid;
+        System.arraycopy(node.keys, mid, right.keys, 0, right.n);
+        System.arraycopy(node.children, mid, right.children, 0, right.n);
+        System.arraycopy(node.sizes, mid, right.sizes, 0, right.n);
+        Arrays.fill(node.keys, mid, node.n, null);
+        node.n = mid;
+
+        for (int i = 0; i < right.n; i++)
+            right.size += right.sizes[i];
+        node.size -= right.size;
+
+        return right;
+    }
+
+    @Override
+    public Value get(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        if (root == NIL)
+            return null;
+
+        int page = root;
+        while (buffer(page).get(offset(page) + NODE_TYPE) == INTERNAL) {
+            Internal node = (Internal) read(page);
+            page = node.children[childIndex(node, key)];
+        }
+
+        return get(page, key);
+    }
+
+    /**
+     * Returns the value paired with the key in the leaf stored in the
+     * page.<br>
+     * <i>If the leaf is not cached, the binary search reads the keys it
+     * compares straight from the page, instead of decoding the whole leaf
+     * for a single lookup.</i>
+     *
+     * @param page
+     * @param key
+     * @return the value paired with the key, or null if it is not in the leaf
+     */
+    private Value get(int page, Key key) {
+        Node cached = cache.get(page);
+        if (cached != null) {
+            Leaf leaf = (Leaf) cached;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+            return i >= 0 ? leaf.values[i] : null;
+        }
+
+        ByteBuffer buffer = buffer(page);
+        int offset = offset(page) + NODE_HEADER;
+        int keyWidth = keySerializer.width();
+        int width = keyWidth + valueSerializer.width();
+        int lo = 0;
+        int hi = buffer.getInt(offset(page) + NODE_N) - 1;
+
+        while (lo <= hi) {
+            int mid = lo + (hi - lo) / 2;
+            int entry = offset + mid * width;
+            int cmp = keySerializer.read(buffer, entry).compareTo(key);
+
+            if (cmp < 0)
+                lo = mid + 1;
+            else if (cmp > 0)
+                hi = mid - 1;
+            else
+                return valueSerializer.read(buffer, entry + keyWidth);
+        }
+
+        return null;
+    }
+
+    @Override
+    public void delete(Key key) {
+        if (key == null)
+            throw new NullPointerException("key must not be null");
+
+        // avoids copying the path to an absent key
+        if (!contains(key))
+            return;
+
+        Node node = read(root).copy();
+        delete(node, key);
+        size--;
+
+        if (node.n == 0) {
+            release(root);
+            root = NIL;
+            return;
+        }
+
+        root = write(root, node);
+
+        // shrinks the tree while its root has a single child
+        while (node instanceof MappedBPlusTree.Internal && node.n == 1) {
+            release(root);
+            root = ((Internal) node).children[0];
+            node = read(root);
+        }
+    }
+
+    /**
+     * Wrapper for {@link #delete} method.<br>
+     * <i>The children left less than half full are merged with a sibling, or
+     * take entries from it.</i>
+     *
+     * @param node
+     *            a copy of the node, which is modified
+     * @param key
+     *            a key which is known to be under the node
+     */
+    private void delete(Node node, Key key) {
+        if (node instanceof MappedBPlusTree.Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = Arrays.binarySearch(leaf.keys, 0, leaf.n, key);
+
+            leaf.changed = Math.min(leaf.changed, i);
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i,
+                    leaf.n - i - 1);
+            leaf.n--;
+            leaf.keys[leaf.n] = null;
+            leaf.values[leaf.n] = null;
+            leaf.size--;
+
+            return;
+        }
+
+        Internal internal = (Internal) node;
+        int i = childIndex(internal, key);
+        Node child = read(internal.children[i]).copy();
+
+        delete(child, key);
+        internal.size--;
+        internal.changed = Math.min(internal.changed, i);
+
+        int capacity = child instanceof MappedBPlusTree.Leaf ? leafCapacity
+                : internalCapacity;
+        if (child.n < capacity / 2 && internal.n > 1) {
+            rebalance(internal, i, child);
+            return;
+        }
+
+        if (child.n > 0) {
+            internal.children[i] = write(internal.children[i], child);
+            internal.sizes[i] = child.size;
+            return;
+        }
+
+        release(internal.children[i]);
+        remove(internal, i);
+    }
+
+    /**
+     * Merges the child of the internal node, which was left less than half
+     * full, with its left sibling (or its right one if it is the first
+     * child); if both do not fit in a page, moves entries between them so
+     * each one holds half of them.
+     *
+     * @param parent
+     *            a copy of the internal node, which is modified
+     * @param i
+     *            the index of the child
+     * @param child
+     *            a copy of the child, which is modified
+     */
+    private void rebalance(Internal parent, int i, Node child) {
+        int l = i > 0 ? i - 1 : i;
+        int r = l + 1;
+        Node left = l == i ? child : read(parent.children[l]).copy();
+        Node right = r == i ? child : read(parent.children[r]).copy();
+        int capacity = child instanceof MappedBPlusTree.Leaf ? leafCapacity
+                : internalCapacity;
+        int total = left.n + right.n;
+
+        // the lower bound of the first child of an internal node is never
+        // compared, so it may be lesser than the keys of that child: the one
+        // of its parent is exact
+        if (right instanceof MappedBPlusTree.Internal) {
+            right.keys[0] = parent.keys[r];
+            right.changed = 0;
+        }
+
+        parent.changed = Math.min(parent.changed, l);
+
+        if (total <= capacity) {
+            move(right, 0, left, left.n, right.n);
+            left.changed = Math.min(left.changed, left.n);
+            left.n = total;
+            count(left);
+
+            release(parent.children[r]);
+            remove(parent, r);
+            parent.children[l] = write(parent.children[l], left);
+            parent.sizes[l] = left.size;
+            return;
+        }
+
+        int half = total / 2;
+        if (left.n > half) {
+            int moved = left.n - half;
+            move(right, 0, right, moved, right.n);
+            move(left, half, right, 0, moved);
+            clear(left, half, left.n);
+            left.changed = Math.min(left.changed, half);
+        } else {
+            int moved = half - left.n;
+            move(right, 0, left, left.n, moved);
+            move(right, moved, right, 0, right.n - moved);
+            clear(right, right.n - moved, right.n);
+            left.changed = Math.min(left.changed, left.n);
+        }
+        right.changed = 0;
+        left.n = half;
+        right.n = total - half;
+        count(left);
+        count(right);
+
+        parent.keys[r] = right.keys[0];
+        parent.children[l] = write(parent.children[l], left);
+        parent.sizes[l] = left.size;
+        parent.children[r] = write(parent.children[r], right);
+        parent.sizes[r] = right.size;
+    }
+
+    /**
+     * Copies entries of a node to another one of the same type, or within the
+     * same node.
+     *
+     * @param from
+     * @param fromIndex
+     * @param to
+     * @param toIndex
+     * @param count
+     *            the number of entries to copy
+     */
+    private void move(Node from, int fromIndex, Node to, int toIndex,
+            int count) {
+        System.arraycopy(from.keys, fromIndex, to.keys, toIndex, count);
+
+        if (from instanceof MappedBPlusTree.Leaf) {
+            System.arraycopy(((Leaf) from).values, fromIndex,
+                    ((Leaf) to).values, toIndex, count);
+        } else {
+            System.arraycopy(((Internal) from).children, fromIndex,
+                    ((Internal) to).children, toIndex, count);
+            System.arraycopy(((Internal) from).sizes, fromIndex,
+                    ((Internal) to).sizes, toIndex, count);
+        }
+    }
+
+    /**
+     * Clears the references held by the entries of the node which were moved
+     * elsewhere.
+     *
+     * @param node
+     * @param fromIndex
+     * @param toIndex
+     */
+    private void clear(Node node, int fromIndex, int toIndex) {
+        Arrays.fill(node.keys, fromIndex, toIndex, null);
+
+        if (node instanceof MappedBPlusTree.Leaf)
+            Arrays.fill(((Leaf) node).values, fromIndex, toIndex, null);
+    }
+
+    /**
+     * Updates the number of key-value pairs under the node.
+     *
+     * @param node
+     */
+    private void count(Node node) {
+        if (node instanceof MappedBPlusTree.Leaf) {
+            node.size = node.n;
+            return;
+        }
+
+        node.size = 0;
+        for (int i = 0; i < node.n; i++)
+            node.size += ((Internal) node).sizes[i];
+    }
+
+    /**
+     * Removes the child from the internal node.
+     *
+     * @param node
+     * @param i
+     *            the index of the child
+     */
+    private void remove(Internal node, int i) {
+        System.arraycopy(node.keys, i + 1, node.keys, i, node.n - i - 1);
+        System.arraycopy(node.children, i + 1, node.children, i,
+                node.n - i - 1);
+        System.arraycopy(node.sizes, i + 1, node.sizes, i, node.n - i - 1);
+        node.n--;
+        node.keys[node.n] = null;
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the height of the tree, where a tree with a single leaf has
+     * height 0.
+     *
+     * @return the height of the tree, or -1 if it is empty
+     */
+    public int height() {
+        if (root == NIL)
+            return -1;
+
+        int height = 0;
+        Node cursor = read(root);
+
+        while (cursor instanceof MappedBPlusTree.Internal) {
+            cursor = read(((Internal) cursor).children[0]);
+            height++;
+        }
+
+        return height;
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the pages as the iteration goes, instead of
+     * being copied; the table must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys() {
+        return () -> new KeyIterator(null, null);
+    }
+
+    /**
+     * {@inheritDoc}<br>
+     * <i>The keys are read from the pages as the iteration goes, instead of
+     * being copied; the table must not be modified meanwhile.</i>
+     */
+    @Override
+    public Iterable<Key> keys(Key lo, Key hi) {
+        return () -> new KeyIterator(lo, hi);
+    }
+
+    /**
+     * Implements an Iterator over the keys of the leaves, in order, from a
+     * lower bound up to an upper bound.<br>
+     * <i>Leaves are not linked to each other, since a committed page cannot
+     * be updated when its neighbour is copied: the path to the current leaf
+     * is kept on a stack instead.</i>
+     */
+    private class KeyIterator implements Iterator<Key> {
+        private final Deque<Internal> path    = new ArrayDeque<>();
+        private final Deque<Integer>  indexes = new ArrayDeque<>();
+        private final Key             hi;
+        private Leaf                  leaf;
+        private int                   i;
+
+        /**
+         * Constructs the iterator by pointing its cursor to the smallest key
+         * greater than or equal to lo.
+         *
+         * @param lo
+         *            the smallest key to return, or null for no bound
+         * @param hi
+         *            the largest key to return, or null for no bound
+         */
+        KeyIterator(Key lo, Key hi) {
+            this.hi = hi;
+
+            if (root == NIL)
+                return;
+
+            Node cursor = read(root);
+            while (cursor instanceof MappedBPlusTree.Internal) {
+                Internal node = (Internal) cursor;
+                int index = lo == null ? 0 : childIndex(node, lo);
+
+                path.push(node);
+                indexes.push(index);
+                cursor = read(node.children[index]);
+            }
+
+            leaf = (Leaf) cursor;
+            if (lo != null) {
+                i = Arrays.binarySearch(leaf.keys, 0, leaf.n, lo);
+                i = i >= 0 ? i : -i - 1;
+            }
+
+            skipEmpty();
+        }
+
+        /**
+         * Moves the cursor to the first key of the next leaves if it went
+         * past the last key of its leaf.
+         */
+        private void skipEmpty() {
+            while (leaf != null && i >= leaf.n) {
+                // climbs up to the first ancestor with a next child
+                while (!path.isEmpty()
+                        && indexes.peek() + 1 >= path.peek().n) {
+                    path.pop();
+                    indexes.pop();
+                }
+
+                if (path.isEmpty()) {
+                    leaf = null;
+                    return;
+                }
+
+                // descends to the leftmost leaf of that child
+                int index = indexes.pop() + 1;
+                indexes.push(index);
+                Node cursor = read(path.peek().children[index]);
+
+                while (cursor instanceof MappedBPlusTree.Internal) {
+                    path.push((Internal) cursor);
+                    indexes.push(0);
+                    cursor = read(((Internal) cursor).children[0]);
+                }
+
+                leaf = (Leaf) cursor;
+                i = 0;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return leaf != null
+                    && (hi == null || leaf.keys[i].compareTo(hi) <= 0);
+        }
+
+        /**
+         * Operation not permitted.
+         *
+         * @throws UnsupportedOperationException
+         */
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Key next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Key key = leaf.keys[i++];
+            skipEmpty();
+
+            return key;
+        }
+    }
+
+    @Override
+    public Key min() {
+        if (root == NIL)
+            return null;
+
+        return min(root);
+    }
+
+    /**
+     * Wrapper for {@link #min} method.
+     *
+     * @param page
+     * @return the smallest key of the subtree stored in the page
+     */
+    private Key min(int page) {
+        Node cursor = read(page);
+
+        while (cursor instanceof MappedBPlusTree.Internal)
+            cursor = read(((Internal) cursor).children[0]);
+
+        return cursor.keys[0];
+    }
+
+    @Override
+    public Key max() {
+        if (root == NIL)
+            return null;
+
+        return max(root);
+    }
+
+    /**
+     * Wrapper for {@link #max} method.
+     *
+     * @param page
+     * @return the largest key of the subtree stored in the page
+     */
+    private Key max(int page) {
+        Node cursor = read(page);
+
+        while (cursor instanceof MappedBPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            cursor = read(node.children[node.n - 1]);
+        }
+
+        return cursor.keys[cursor.n - 1];
+    }
+
+    @Override
+    public void deleteMin() {
+        if (!isEmpty())
+            delete(min());
+    }
+
+    @Override
+    public void deleteMax() {
+        if (!isEmpty())
+            delete(max());
+    }
+
+    @Override
+    public Key floor(Key key) {
+        if (root == NIL)
+            return null;
+
+        // the closest subtree whose keys are all lesser than key
+        int lesser = NIL;
+        Node cursor = read(root);
+
+        while (cursor instanceof MappedBPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            int i = childIndex(node, key);
+
+            if (i > 0)
+                lesser = node.children[i - 1];
+
+            cursor = read(node.children[i]);
+        }
+
+        int i = Arrays.binarySearch(cursor.keys, 0, cursor.n, key);
+        if (i >= 0)
+            return cursor.keys[i];
+
+        // the largest key lesser than key
+        i = -i - 2;
+        if (i >= 0)
+            return cursor.keys[i];
+
+        return lesser == NIL ? null : max(lesser);
+    }
+
+    @Override
+    public Key ceiling(Key key) {
+        if (root == NIL)
+            return null;
+
+        // the closest subtree whose keys are all greater than key
+        int greater = NIL;
+        Node cursor = read(root);
+
+        while (cursor instanceof MappedBPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            int i = childIndex(node, key);
+
+            if (i + 1 < node.n)
+                greater = node.children[i + 1];
+
+            cursor = read(node.children[i]);
+        }
+
+        int i = Arrays.binarySearch(cursor.keys, 0, cursor.n, key);
+        if (i >= 0)
+            return cursor.keys[i];
+
+        // the smallest key greater than key
+        i = -i - 1;
+        if (i < cursor.n)
+            return cursor.keys[i];
+
+        return greater == NIL ? null : min(greater);
+    }
+
+    @Override
+    public int rank(Key key) {
+        if (root == NIL)
+            return 0;
+
+        int rank = 0;
+        Node cursor = read(root);
+
+        while (cursor instanceof MappedBPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            int i = childIndex(node, key);
+
+            // every key of the children before i is lesser
+            for (int j = 0; j < i; j++)
+                rank += node.sizes[j];
+
+            cursor = read(node.children[i]);
+        }
+
+        int i = Arrays.binarySearch(cursor.keys, 0, cursor.n, key);
+        return rank + (i >= 0 ? i : -i - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException
+     *             if k is not in [0..size())
+     */
+    @Override
+    public Key select(int k) {
+        if (k < 0 || k >= size())
+            throw new IllegalArgumentException(
+                    "k must be between 0 and size - 1");
+
+        Node cursor = read(root);
+
+        while (cursor instanceof MappedBPlusTree.Internal) {
+            Internal node = (Internal) cursor;
+            int i = 0;
+
+            // skips the children whose keys all rank lower than k
+            while (k >= node.sizes[i]) {
+                k -= node.sizes[i];
+                i++;
+            }
+
+            cursor = read(node.children[i]);
+        }
+
+        return cursor.keys[k];
+    }
+}
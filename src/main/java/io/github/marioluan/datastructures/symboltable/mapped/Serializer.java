@@ -0,0 +1,131 @@
+package io.github.marioluan.datastructures.symboltable.mapped;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Specification for converting keys and values to fixed-width binary
+ * records, so a page holds a known number of them.
+ *
+ * @author marioluan
+ * @param <T>
+ *            the class type of the objects converted
+ */
+public interface Serializer<T> {
+
+    /**
+     * {@link Serializer} of {@link Integer}s as 4 bytes.
+     */
+    Serializer<Integer> INTEGER = new Serializer<Integer>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer value) {
+            buffer.putInt(offset, value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * {@link Serializer} of {@link Long}s as 8 bytes.
+     */
+    Serializer<Long> LONG = new Serializer<Long>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long value) {
+            buffer.putLong(offset, value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Returns a {@link Serializer} of {@link String}s whose UTF-8 encoding
+     * takes up to maxBytes bytes.<br>
+     * <i>Every string takes maxBytes + 2 bytes: its length followed by its
+     * encoding, padded with zeros.</i>
+     *
+     * @param maxBytes
+     *            the maximum length of the encoded strings
+     * @return a serializer of strings
+     * @throws IllegalArgumentException
+     *             if maxBytes is not in [1..{@link Short#MAX_VALUE}]
+     */
+    static Serializer<String> string(int maxBytes) {
+        if (maxBytes < 1 || maxBytes > Short.MAX_VALUE)
+            throw new IllegalArgumentException(
+                    "maxBytes must be between 1 and " + Short.MAX_VALUE);
+
+        return new Serializer<String>() {
+            @Override
+            public int width() {
+                return Short.BYTES + maxBytes;
+            }
+
+            @Override
+            public void write(ByteBuffer buffer, int offset, String value) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes)
+                    throw new IllegalArgumentException(
+                            "value must take up to " + maxBytes + " bytes");
+
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < maxBytes; i++)
+                    buffer.put(offset + Short.BYTES + i,
+                            i < bytes.length ? bytes[i] : 0);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer, int offset) {
+                byte[] bytes = new byte[buffer.getShort(offset)];
+                for (int i = 0; i < bytes.length; i++)
+                    bytes[i] = buffer.get(offset + Short.BYTES + i);
+
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+    /**
+     * Returns the number of bytes taken by every record.
+     *
+     * @return the number of bytes taken by every record
+     */
+    int width();
+
+    /**
+     * Writes the value at the offset of the buffer, in exactly
+     * {@link #width()} bytes.
+     *
+     * @param buffer
+     * @param offset
+     * @param value
+     *            a non-null value
+     * @throws IllegalArgumentException
+     *             if the value does not fit in {@link #width()} bytes
+     */
+    void write(ByteBuffer buffer, int offset, T value);
+
+    /**
+     * Reads the value written at the offset of the buffer.
+     *
+     * @param buffer
+     * @param offset
+     * @return the value read
+     */
+    T read(ByteBuffer buffer, int offset);
+}
@@ -10,7 +10,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Random;
+import java.util.TreeMap;
 
 import org.junit.runner.RunWith;
 
@@ -180,6 +183,44 @@ public class ArraySymbolTableTest {
                 });
             });
 
+            describe("#put and #delete in random order", () -> {
+                it("keeps the keys sorted across buffer merges", () -> {
+                    TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+                    for (int i = 0; i < 20000; i++) {
+                        int k = RANDOM.nextInt(5000);
+
+                        if (RANDOM.nextInt(4) == 0) {
+                            expected.remove(k);
+                            this.subject.delete(k);
+                        } else {
+                            expected.put(k, i);
+                            this.subject.put(k, i);
+                        }
+                    }
+
+                    assertEquals(expected.size(), this.subject.size());
+                    for (int k = -1; k <= 5000; k++) {
+                        assertEquals(expected.get(k), this.subject.get(k));
+                        assertEquals(expected.floorKey(k),
+                                this.subject.floor(k));
+                        assertEquals(expected.ceilingKey(k),
+                                this.subject.ceiling(k));
+                    }
+
+                    Iterator<Integer> keys = expected.keySet().iterator();
+                    for (Integer k : this.subject.keys())
+                        assertEquals(keys.next(), k);
+
+                    assertFalse(keys.hasNext());
+
+                    Iterator<Integer> values = expected.values().iterator();
+                    this.subject.forEach(
+                            (k, v) -> assertEquals(values.next(), v));
+                    assertFalse(values.hasNext());
+                });
+            });
+
             describe("#get", () -> {
                 describe("when key is null", () -> {
                     it("throws null pointer", () -> {
@@ -295,6 +336,213 @@ public class ArraySymbolTableTest {
                     });
                 });
             });
+
+            describe("#putAll", () -> {
+                describe("when keys and values lengths differ", () -> {
+                    it("throws illegal argument", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            this.subject.putAll(new Integer[2],
+                                    new Integer[1]);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                it("merges the pairs into the table in order", () -> {
+                    this.subject.put(2, 20);
+                    this.subject.put(4, 40);
+                    this.subject.put(6, 60);
+
+                    this.subject.putAll(new Integer[] { 5, 1, 4, 6, 5 },
+                            new Integer[] { 50, 10, 41, null, 51 });
+
+                    Integer[] expected = { 1, 2, 4, 5 };
+                    int i = 0;
+                    for (Integer k : this.subject.keys())
+                        assertEquals(expected[i++], k);
+
+                    assertEquals(expected.length, i);
+                    assertEquals(Integer.valueOf(41), this.subject.get(4));
+                    assertEquals(Integer.valueOf(51), this.subject.get(5));
+                });
+            });
+
+            describe("#fromSorted", () -> {
+                it("copies the pairs in order", () -> {
+                    this.subject = ArraySymbolTable.fromSorted(
+                            new Integer[] { 1, 3, 5 },
+                            new Integer[] { 10, 30, 50 });
+                    this.subject.put(4, 40);
+
+                    Integer[] expected = { 1, 3, 4, 5 };
+                    int i = 0;
+                    for (Integer k : this.subject.keys())
+                        assertEquals(expected[i++], k);
+
+                    assertEquals(expected.length, i);
+                    assertEquals(Integer.valueOf(30), this.subject.get(3));
+                });
+
+                it("reads the pairs from iterators", () -> {
+                    Integer[] keys = new Integer[100];
+                    for (int i = 0; i < keys.length; i++)
+                        keys[i] = i * 2;
+
+                    this.subject = ArraySymbolTable.fromSorted(
+                            Arrays.asList(keys).iterator(),
+                            Arrays.asList(keys).iterator());
+
+                    assertEquals(keys.length, this.subject.size());
+                    for (Integer k : keys)
+                        assertEquals(k, this.subject.get(k));
+
+                    this.subject.put(1, 1);
+                    assertEquals(keys.length + 1, this.subject.size());
+                });
+
+                describe("when keys and values lengths differ", () -> {
+                    it("throws illegal argument", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            ArraySymbolTable.fromSorted(
+                                    Arrays.asList(1, 2).iterator(),
+                                    Arrays.asList(1).iterator());
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when a value is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            ArraySymbolTable.fromSorted(new Integer[] { 1 },
+                                    new Integer[] { null });
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
+
+            describe("#deleteAll", () -> {
+                it("removes the keys from the table", () -> {
+                    for (int i = 0; i < 10; i++)
+                        this.subject.put(i, i);
+
+                    this.subject.deleteAll(new Integer[] { 7, 3, 42, 0 });
+
+                    assertEquals(7, this.subject.size());
+                    assertFalse(this.subject.contains(0));
+                    assertFalse(this.subject.contains(3));
+                    assertFalse(this.subject.contains(7));
+                    assertTrue(this.subject.contains(9));
+                });
+            });
+
+            describe("#forEach", () -> {
+                it("visits every pair in order", () -> {
+                    for (int i = 9; i >= 0; i--)
+                        this.subject.put(i, i * 10);
+
+                    int[] i = { 0 };
+                    this.subject.forEach((k, v) -> {
+                        assertEquals(Integer.valueOf(i[0]), k);
+                        assertEquals(Integer.valueOf(i[0] * 10), v);
+                        i[0]++;
+                    });
+
+                    assertEquals(10, i[0]);
+                });
+            });
+
+            describe("#floor and #ceiling", () -> {
+                it("return the closest keys around the given one", () -> {
+                    this.subject.put(10, 1);
+                    this.subject.put(20, 2);
+                    this.subject.put(30, 3);
+
+                    assertNull(this.subject.floor(5));
+                    assertEquals(Integer.valueOf(10), this.subject.floor(10));
+                    assertEquals(Integer.valueOf(20), this.subject.floor(25));
+                    assertEquals(Integer.valueOf(30), this.subject.floor(35));
+                    assertEquals(Integer.valueOf(10), this.subject.ceiling(5));
+                    assertEquals(Integer.valueOf(20), this.subject.ceiling(20));
+                    assertEquals(Integer.valueOf(30), this.subject.ceiling(25));
+                    assertNull(this.subject.ceiling(35));
+                });
+            });
+
+            describe("#freeze", () -> {
+                it("answers lookups like a sorted map of any size", () -> {
+                    for (int n = 0; n < 70; n++) {
+                        TreeMap<Integer, Integer> expected = new TreeMap<>();
+                        this.subject = new ArraySymbolTable<>(1);
+
+                        for (int i = 0; i < n; i++) {
+                            int k = RANDOM.nextInt(4 * n);
+                            expected.put(k, i);
+                            this.subject.put(k, i);
+                        }
+
+                        this.subject.freeze();
+                        assertTrue(this.subject.isFrozen());
+                        assertEquals(expected.size(), this.subject.size());
+
+                        for (int k = -1; k <= 4 * n; k++) {
+                            assertEquals(expected.get(k), this.subject.get(k));
+                            assertEquals(expected.floorKey(k),
+                                    this.subject.floor(k));
+                            assertEquals(expected.ceilingKey(k),
+                                    this.subject.ceiling(k));
+                        }
+
+                        Iterator<Integer> keys = expected.keySet().iterator();
+                        for (Integer k : this.subject.keys())
+                            assertEquals(keys.next(), k);
+
+                        assertFalse(keys.hasNext());
+
+                        Iterator<Integer> values = expected.values()
+                                .iterator();
+                        this.subject.forEach(
+                                (k, v) -> assertEquals(values.next(), v));
+                        assertFalse(values.hasNext());
+                    }
+                });
+
+                it("thaws on the next write", () -> {
+                    for (int i = 0; i < 10; i++)
+                        this.subject.put(i * 2, i);
+
+                    this.subject.freeze();
+                    this.subject.put(5, 50);
+                    this.subject.delete(0);
+
+                    assertFalse(this.subject.isFrozen());
+                    assertEquals(10, this.subject.size());
+                    assertEquals(Integer.valueOf(50), this.subject.get(5));
+                    assertNull(this.subject.get(0));
+
+                    Integer previous = -1;
+                    for (Integer k : this.subject.keys()) {
+                        assertTrue(previous < k);
+                        previous = k;
+                    }
+                });
+            });
         });
     }
 }
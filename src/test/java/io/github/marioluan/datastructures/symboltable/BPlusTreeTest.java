@@ -0,0 +1,248 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class BPlusTreeTest {
+
+    private BPlusTree<Integer, Integer> subject;
+    private static final Random         RANDOM = new Random();
+    private Integer                     value;
+
+    {
+        describe("BPlusTree", () -> {
+            beforeEach(() -> {
+                // a small fan-out splits, borrows and merges often
+                this.subject = new BPlusTree<>(4);
+                this.value = RANDOM.nextInt();
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+                this.value = null;
+            });
+
+            // every node but the root has at least 2 children
+            new OrderedSymbolTableBehavior<Integer>(() -> this.subject,
+                    i -> i).balanced(() -> this.subject.height(),
+                            n -> Math.log(n) / Math.log(2)).declare();
+
+            describe("constructor", () -> {
+                describe("when fan-out is lesser than 4", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new BPlusTree<Integer, Integer>(3);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
+
+            describe("#put", () -> {
+                describe("when key is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.put(null, value);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when key already exists", () -> {
+                    it("updates its value", () -> {
+                        this.subject.put(1, RANDOM.nextInt());
+                        this.subject.put(1, value);
+
+                        assertEquals(value, this.subject.get(1));
+                        assertEquals(1, this.subject.size());
+                    });
+
+                    it("removes the key when value is null", () -> {
+                        this.subject.put(1, value);
+                        this.subject.put(2, value);
+                        this.subject.put(1, null);
+
+                        assertFalse(this.subject.contains(1));
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+
+                describe("when the fan-out is large", () -> {
+                    it("keeps the tree shallow", () -> {
+                        BPlusTree<Integer, Integer> tree = new BPlusTree<>(
+                                128);
+
+                        for (int i = 0; i < 100000; i++)
+                            tree.put(RANDOM.nextInt(), i);
+
+                        assertTrue(tree.height() <= 3);
+                    });
+                });
+            });
+
+            describe("#delete", () -> {
+                it("keeps the tree balanced", () -> {
+                    int n = 1 << 16;
+                    for (int i = 0; i < n; i++)
+                        this.subject.put(i, i);
+
+                    // leaves 1/4 of the keys
+                    for (int i = 0; i < n; i++)
+                        if (i % 4 != 0)
+                            this.subject.delete(i);
+
+                    assertEquals(n / 4, this.subject.size());
+                    assertTrue(this.subject.height() <= 14);
+                    assertTrue(this.subject.contains(4));
+                    assertFalse(this.subject.contains(5));
+                });
+
+                it("shrinks the tree back to a single leaf", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, i);
+
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.delete(i);
+
+                    assertTrue(this.subject.isEmpty());
+                    assertEquals(0, this.subject.height());
+                    assertFalse(this.subject.keys().iterator().hasNext());
+                });
+
+                it("ignores absent keys", () -> {
+                    this.subject.put(1, value);
+                    this.subject.delete(2);
+
+                    assertEquals(1, this.subject.size());
+                });
+            });
+
+            describe("#deleteMin and #deleteMax", () -> {
+                it("remove the smallest and the largest keys", () -> {
+                    for (int i = 0; i < 100; i++)
+                        this.subject.put(i, i);
+
+                    this.subject.deleteMin();
+                    this.subject.deleteMax();
+
+                    assertEquals(98, this.subject.size());
+                    assertEquals(Integer.valueOf(1), this.subject.min());
+                    assertEquals(Integer.valueOf(98), this.subject.max());
+                });
+
+                it("empty the tree eventually", () -> {
+                    for (int i = 0; i < 10; i++)
+                        this.subject.put(i, i);
+
+                    for (int i = 0; i < 5; i++) {
+                        this.subject.deleteMin();
+                        this.subject.deleteMax();
+                    }
+
+                    assertTrue(this.subject.isEmpty());
+                    this.subject.deleteMin();
+                    this.subject.deleteMax();
+                });
+            });
+
+            describe("#floor and #ceiling", () -> {
+                it("return the closest keys", () -> {
+                    for (int i = 0; i < 100; i += 10)
+                        this.subject.put(i, i);
+
+                    assertEquals(Integer.valueOf(40), this.subject.floor(45));
+                    assertEquals(Integer.valueOf(50),
+                            this.subject.ceiling(45));
+                    assertEquals(Integer.valueOf(40), this.subject.floor(40));
+                    assertEquals(Integer.valueOf(40),
+                            this.subject.ceiling(40));
+                    assertNull(this.subject.floor(-1));
+                    assertNull(this.subject.ceiling(91));
+                });
+
+                it("cross the boundaries between leaves", () -> {
+                    TreeMap<Integer, Integer> expected = new TreeMap<>();
+
+                    for (int i = 0; i < 1000; i++) {
+                        int k = RANDOM.nextInt(10000) * 2;
+                        expected.put(k, i);
+                        this.subject.put(k, i);
+                    }
+
+                    for (int k = -1; k <= 20000; k++) {
+                        assertEquals(expected.floorKey(k),
+                                this.subject.floor(k));
+                        assertEquals(expected.ceilingKey(k),
+                                this.subject.ceiling(k));
+                    }
+                });
+            });
+
+            describe("#rank and #select", () -> {
+                it("are inverse of each other", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i * 2, i);
+
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i, this.subject.rank(i * 2));
+                        assertEquals(i + 1, this.subject.rank(i * 2 + 1));
+                        assertEquals(Integer.valueOf(i * 2),
+                                this.subject.select(i));
+                    }
+                });
+            });
+
+            describe("#keys", () -> {
+                it("returns the keys in [lo..hi] in order", () -> {
+                    for (int i = 99; i >= 0; i--)
+                        this.subject.put(i, i);
+
+                    Iterator<Integer> keys = this.subject.keys(10, 19)
+                            .iterator();
+                    for (int i = 10; i <= 19; i++)
+                        assertEquals(Integer.valueOf(i), keys.next());
+
+                    assertFalse(keys.hasNext());
+                });
+
+                it("returns nothing when no key is in [lo..hi]", () -> {
+                    for (int i = 0; i < 100; i += 10)
+                        this.subject.put(i, i);
+
+                    assertFalse(
+                            this.subject.keys(41, 49).iterator().hasNext());
+                    assertFalse(
+                            this.subject.keys(91, 99).iterator().hasNext());
+                    assertFalse(
+                            this.subject.keys(50, 40).iterator().hasNext());
+                });
+            });
+        });
+    }
+}
@@ -4,14 +4,16 @@ import static com.greghaskins.spectrum.Spectrum.afterEach;
 import static com.greghaskins.spectrum.Spectrum.beforeEach;
 import static com.greghaskins.spectrum.Spectrum.describe;
 import static com.greghaskins.spectrum.Spectrum.it;
-import static com.greghaskins.spectrum.Spectrum.xdescribe;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Random;
+import java.util.TreeSet;
 
 import org.junit.runner.RunWith;
 
@@ -700,6 +702,47 @@ public class BinarySearchTreeTest {
                 });
             });
 
+            describe("#keys(lo, hi, limit)", () -> {
+                it("returns the smallest keys in [lo..hi]", () -> {
+                    TreeSet<String> expected = new TreeSet<>();
+
+                    for (int i = 0; i < 1000; i++) {
+                        String k = String.valueOf(RANDOM.nextInt(10000));
+                        expected.add(k);
+                        this.subject.put(k, i);
+                    }
+
+                    for (int limit : new int[] { 0, 1, 10, 10000 }) {
+                        Iterator<String> keys = this.subject
+                                .keys("3", "6", limit).iterator();
+                        int n = 0;
+
+                        for (String k : expected.subSet("3", true, "6", true)) {
+                            if (n++ == limit)
+                                break;
+
+                            assertEquals(k, keys.next());
+                        }
+
+                        assertFalse(keys.hasNext());
+                    }
+                });
+
+                describe("when limit is negative", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            this.subject.keys(key, key, -1);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
+
             describe("#min", () -> {
                 it("returns the minimum key", () -> {
                     subject.put(key + 1, value);
@@ -1150,7 +1193,7 @@ public class BinarySearchTreeTest {
                 });
             });
 
-            xdescribe("#select", () -> {
+            describe("#select", () -> {
                 describe("when index k is lesser than 0", () -> {
                     it("throws argument error", () -> {
                         IllegalArgumentException throwed = null;
@@ -1165,7 +1208,7 @@ public class BinarySearchTreeTest {
                     });
                 });
 
-                xdescribe("when index k is greater or equal to table size",
+                describe("when index k is greater or equal to table size",
                         () -> {
                             it("throws argument error", () -> {
                                 this.subject.put(key, value);
@@ -1205,10 +1248,169 @@ public class BinarySearchTreeTest {
                         this.subject.put("T", value);
                         this.subject.put("D", value);
 
-                        assertEquals(key, this.subject.select(0));
+                        assertEquals("A", this.subject.select(0));
+                        assertEquals("C", this.subject.select(2));
+                        assertEquals("T", this.subject.select(4));
+                    });
+                });
+            });
+
+            describe("#putAll", () -> {
+                it("merges the pairs into the tree in order", () -> {
+                    this.subject.put("B", 2);
+                    this.subject.put("D", 4);
+                    this.subject.put("F", 6);
+
+                    this.subject.putAll(
+                            new String[] { "E", "A", "D", "F", "E" },
+                            new Integer[] { 5, 1, 41, null, 51 });
+
+                    String[] expected = { "A", "B", "D", "E" };
+                    int i = 0;
+                    for (String k : this.subject.keys())
+                        assertEquals(expected[i++], k);
+
+                    assertEquals(expected.length, i);
+                    assertEquals(Integer.valueOf(41), this.subject.get("D"));
+                    assertEquals(Integer.valueOf(51), this.subject.get("E"));
+                });
+
+                it("keeps every pair of a sorted batch", () -> {
+                    String[] keys = new String[1023];
+                    Integer[] values = new Integer[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = String.format("%04d", i);
+                        values[i] = i;
+                    }
+
+                    this.subject.putAll(keys, values);
+
+                    assertEquals(keys.length, this.subject.size());
+                    for (int i = 0; i < keys.length; i++)
+                        assertEquals(values[i], this.subject.get(keys[i]));
+                });
+            });
+
+            describe("#fromSorted", () -> {
+                it("builds a perfectly balanced tree", () -> {
+                    String[] keys = new String[1023];
+                    Integer[] values = new Integer[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = String.format("%04d", i);
+                        values[i] = i;
+                    }
+
+                    this.subject = BinarySearchTree.fromSorted(keys, values);
+
+                    assertEquals(keys.length, this.subject.size());
+                    assertEquals(9, this.subject.height());
+                    for (int i = 0; i < keys.length; i++) {
+                        assertEquals(values[i], this.subject.get(keys[i]));
+                        assertEquals(keys[i], this.subject.select(i));
+                    }
+                });
+
+                it("reads the pairs from iterators", () -> {
+                    this.subject = BinarySearchTree.fromSorted(
+                            Arrays.asList("A", "B", "C").iterator(),
+                            Arrays.asList(1, 2, 3).iterator());
+
+                    assertEquals(3, this.subject.size());
+                    assertEquals(1, this.subject.height());
+                    assertEquals(Integer.valueOf(2), this.subject.get("B"));
+                });
+
+                it("builds an empty tree out of no pairs", () -> {
+                    this.subject = BinarySearchTree.fromSorted(new String[0],
+                            new Integer[0]);
+
+                    assertTrue(this.subject.isEmpty());
+                });
+
+                describe("when keys are not sorted and distinct", () -> {
+                    it("throws illegal argument", () -> {
+                        for (String[] keys : new String[][] {
+                                { "A", "C", "B" }, { "A", "B", "B" } }) {
+                            IllegalArgumentException throwed = null;
+
+                            try {
+                                BinarySearchTree.fromSorted(keys,
+                                        new Integer[] { 1, 2, 3 });
+                            } catch (IllegalArgumentException e) {
+                                throwed = e;
+                            }
+
+                            assertNotNull(throwed);
+                        }
                     });
                 });
             });
+
+            describe("#deleteAll", () -> {
+                it("removes the keys from the tree", () -> {
+                    for (int i = 0; i < 10; i++)
+                        this.subject.put("k" + i, i);
+
+                    this.subject.deleteAll(new String[] { "k7", "k3", "x" });
+
+                    assertEquals(8, this.subject.size());
+                    assertFalse(this.subject.contains("k3"));
+                    assertFalse(this.subject.contains("k7"));
+                    assertTrue(this.subject.contains("k9"));
+                });
+            });
+
+            describe("when deleting a key with two subtrees", () -> {
+                it("keeps the right subtree of its successor", () -> {
+                    for (String k : new String[] { "M", "E", "T", "P", "R",
+                            "Q", "S", "Z" })
+                        this.subject.put(k, value);
+
+                    // P is the successor of M and has a right subtree
+                    this.subject.delete("M");
+
+                    assertEquals(7, this.subject.size());
+                    assertEquals("P", this.subject.select(1));
+                    for (String k : new String[] { "E", "P", "Q", "R", "S",
+                            "T", "Z" })
+                        assertTrue(this.subject.contains(k));
+                });
+
+                it("deletes the root", () -> {
+                    this.subject.put("M", value);
+                    this.subject.put("E", value);
+                    this.subject.delete("M");
+                    this.subject.delete("E");
+
+                    assertTrue(this.subject.isEmpty());
+                });
+            });
+
+            describe("when mixing puts and deletes", () -> {
+                it("keeps sizes, ranks and selects consistent", () -> {
+                    TreeSet<String> expected = new TreeSet<>();
+
+                    for (int i = 0; i < 5000; i++) {
+                        String k = "k" + RANDOM.nextInt(500);
+
+                        if (RANDOM.nextInt(3) == 0) {
+                            expected.remove(k);
+                            this.subject.delete(k);
+                        } else {
+                            expected.add(k);
+                            this.subject.put(k, i);
+                        }
+                    }
+
+                    assertEquals(expected.size(), this.subject.size());
+                    int rank = 0;
+                    for (String k : expected) {
+                        assertEquals(rank, this.subject.rank(k));
+                        assertEquals(k, this.subject.select(rank));
+                        rank++;
+                    }
+                });
+            });
         });
     }
 }
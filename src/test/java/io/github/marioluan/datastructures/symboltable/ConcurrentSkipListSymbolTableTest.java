@@ -0,0 +1,215 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class ConcurrentSkipListSymbolTableTest {
+
+    private ConcurrentSkipListSymbolTable<Integer, Integer> subject;
+    private static final Random                             RANDOM  = new Random();
+    private static final int                                THREADS = 8;
+    private static final int                                KEYS    = 20000;
+    private ExecutorService                                 executor;
+    private Integer                                         value;
+
+    /**
+     * Runs the task on every thread at once and waits for all of them.
+     */
+    private void runConcurrently(Task task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<Void> future : futures)
+            future.get(1, TimeUnit.MINUTES);
+    }
+
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+
+    {
+        describe("ConcurrentSkipListSymbolTable", () -> {
+            beforeEach(() -> {
+                this.subject = new ConcurrentSkipListSymbolTable<>();
+                this.executor = Executors.newFixedThreadPool(THREADS);
+                this.value = RANDOM.nextInt();
+            });
+
+            afterEach(() -> {
+                this.executor.shutdownNow();
+                this.subject = null;
+                this.value = null;
+            });
+
+            new OrderedSymbolTableBehavior<Integer>(() -> this.subject,
+                    i -> i).estimatedRank().declare();
+
+            describe("#put", () -> {
+                describe("when key is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.put(null, value);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when key already exists", () -> {
+                    it("updates its value", () -> {
+                        this.subject.put(1, RANDOM.nextInt());
+                        this.subject.put(1, value);
+
+                        assertEquals(value, this.subject.get(1));
+                        assertEquals(1, this.subject.size());
+                    });
+
+                    it("removes the key when value is null", () -> {
+                        this.subject.put(1, value);
+                        this.subject.put(2, value);
+                        this.subject.put(1, null);
+
+                        assertFalse(this.subject.contains(1));
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+            });
+
+            describe("#rank", () -> {
+                it("is exact for a few keys", () -> {
+                    for (int i = 0; i < 100; i++)
+                        this.subject.put(i * 2, i);
+
+                    for (int k = -1; k <= 200; k++)
+                        assertEquals((k + 1) / 2, this.subject.rank(k));
+                });
+
+                it("estimates the number of smaller keys", () -> {
+                    int n = 1 << 16;
+                    for (int i = 0; i < n; i++)
+                        this.subject.put(i, i);
+
+                    // a key of the sparse list stands for up to 1024 keys
+                    for (int k = 0; k < n; k += 1000)
+                        assertTrue(Math.abs(this.subject.rank(k) - k) <= 6
+                                * Math.sqrt(k * 1024.0) + 1024);
+                });
+            });
+
+            describe("when used by many threads", () -> {
+                it("keeps every key put concurrently", () -> {
+                    runConcurrently(thread -> {
+                        for (int i = thread; i < KEYS; i += THREADS)
+                            this.subject.put(i, -i);
+                    });
+
+                    assertEquals(KEYS, this.subject.size());
+                    Iterator<Integer> keys = this.subject.keys().iterator();
+                    for (int i = 0; i < KEYS; i++) {
+                        assertEquals(Integer.valueOf(i), keys.next());
+                        assertEquals(Integer.valueOf(-i), this.subject.get(i));
+                    }
+
+                    assertFalse(keys.hasNext());
+                });
+
+                it("deletes every key exactly once", () -> {
+                    for (int i = 0; i < KEYS; i++)
+                        this.subject.put(i, i);
+
+                    // every thread races to delete the smallest key
+                    runConcurrently(thread -> {
+                        for (int i = 0; i < KEYS / THREADS; i++)
+                            this.subject.deleteMin();
+                    });
+
+                    assertTrue(this.subject.isEmpty());
+                    assertEquals(0, this.subject.size());
+                });
+
+                it("never returns keys out of order while they change", () -> {
+                    AtomicBoolean done = new AtomicBoolean();
+
+                    runConcurrently(thread -> {
+                        if (thread == 0) {
+                            // readers see a list in flux
+                            while (!done.get()) {
+                                Integer previous = null;
+
+                                for (Integer k : this.subject.keys()) {
+                                    assertTrue(previous == null
+                                            || previous < k);
+                                    previous = k;
+                                }
+                            }
+
+                            return;
+                        }
+
+                        Random random = new Random(thread);
+                        for (int i = 0; i < KEYS; i++) {
+                            int k = random.nextInt(KEYS / 10);
+
+                            if (random.nextBoolean())
+                                this.subject.put(k, k);
+                            else
+                                this.subject.delete(k);
+
+                            Integer floor = this.subject.floor(k);
+                            assertTrue(floor == null || floor <= k);
+                        }
+
+                        if (thread == THREADS - 1)
+                            done.set(true);
+                    });
+
+                    // every surviving key is reachable and counted once
+                    int size = 0;
+                    for (Integer k : this.subject.keys()) {
+                        assertEquals(k, this.subject.get(k));
+                        size++;
+                    }
+
+                    assertEquals(size, this.subject.size());
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class FenwickRangeCountTest {
+
+    private FenwickRangeCount   subject;
+    private static final Random RANDOM = new Random();
+
+    {
+        describe("FenwickRangeCount", () -> {
+            beforeEach(() -> {
+                this.subject = new FenwickRangeCount(-10, 10);
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+            });
+
+            describe("constructor", () -> {
+                describe("when min is greater than max", () -> {
+                    it("throws illegal argument", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new FenwickRangeCount(2, 1);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when the universe does not fit in an array", () -> {
+                    it("throws illegal argument", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new FenwickRangeCount(Long.MIN_VALUE,
+                                    Long.MAX_VALUE);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                it("counts the given keys", () -> {
+                    this.subject = new FenwickRangeCount(0, 9,
+                            new long[] { 3, 1, 3, 9, 0 });
+
+                    assertEquals(5, this.subject.total());
+                    assertEquals(2, this.subject.count(3, 3));
+                    assertEquals(3, this.subject.count(1, 8));
+                    assertEquals(4, this.subject.prefixSum(3));
+                });
+            });
+
+            describe("#add", () -> {
+                describe("when key is out of the universe", () -> {
+                    it("throws illegal argument", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            this.subject.insert(11);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                it("adds and removes occurrences", () -> {
+                    this.subject.add(5, 3);
+                    this.subject.insert(-10);
+                    this.subject.add(5, -1);
+
+                    assertEquals(3, this.subject.total());
+                    assertEquals(2, this.subject.count(5, 5));
+                    assertEquals(1, this.subject.prefixSum(-10));
+                });
+            });
+
+            describe("#next", () -> {
+                it("does not overflow past 2^30", () -> {
+                    assertEquals(1L << 31, FenwickRangeCount.next(1 << 30));
+                    assertEquals(1L << 31,
+                            FenwickRangeCount.next(Integer.MAX_VALUE - 1));
+                    assertEquals(Integer.MAX_VALUE - 1L,
+                            FenwickRangeCount.next(Integer.MAX_VALUE - 2));
+                });
+            });
+
+            describe("#count", () -> {
+                it("counts the keys out of the universe as absent", () -> {
+                    this.subject.insert(-10);
+                    this.subject.insert(10);
+
+                    assertEquals(2,
+                            this.subject.count(Long.MIN_VALUE, Long.MAX_VALUE));
+                    assertEquals(0, this.subject.count(11, 20));
+                    assertEquals(0, this.subject.count(-20, -11));
+                    assertEquals(0, this.subject.count(3, 2));
+                });
+
+                it("matches a count of every key", () -> {
+                    long[] counts = new long[21];
+
+                    for (int i = 0; i < 1000; i++) {
+                        int key = RANDOM.nextInt(21) - 10;
+                        long delta = RANDOM.nextInt(5);
+                        counts[key + 10] += delta;
+                        this.subject.add(key, delta);
+                    }
+
+                    for (int lo = -12; lo <= 12; lo++)
+                        for (int hi = lo; hi <= 12; hi++) {
+                            long expected = 0;
+                            for (int k = Math.max(lo, -10); k <= Math.min(hi,
+                                    10); k++)
+                                expected += counts[k + 10];
+
+                            assertEquals(expected, this.subject.count(lo, hi));
+                        }
+                });
+            });
+        });
+    }
+}
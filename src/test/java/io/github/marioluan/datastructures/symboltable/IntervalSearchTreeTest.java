@@ -0,0 +1,249 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class IntervalSearchTreeTest {
+
+    private IntervalSearchTree<Integer, String> subject;
+    private static final Random                 RANDOM = new Random();
+
+    {
+        describe("IntervalSearchTree", () -> {
+            beforeEach(() -> {
+                this.subject = new IntervalSearchTree<>();
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+            });
+
+            describe("#put", () -> {
+                it("keeps intervals which share the left endpoint", () -> {
+                    this.subject.put(1, 5, "A");
+                    this.subject.put(1, 3, "B");
+                    this.subject.put(1, 5, "C");
+
+                    assertEquals(2, this.subject.size());
+                    assertEquals("B", this.subject.get(1, 3));
+                    assertEquals("C", this.subject.get(1, 5));
+                });
+
+                describe("when lo is greater than hi", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            this.subject.put(2, 1, "A");
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when intervals are put in sorted order", () -> {
+                    it("keeps the tree balanced", () -> {
+                        int n = 1 << 14;
+                        for (int i = 0; i < n; i++)
+                            this.subject.put(i, i + 10, "A");
+
+                        assertEquals(n, this.subject.size());
+                        // 2 lg N
+                        assertTrue(this.subject.height() <= 28);
+                    });
+                });
+            });
+
+            describe("#delete", () -> {
+                it("keeps the max endpoints up to date", () -> {
+                    this.subject.put(1, 100, "A");
+                    this.subject.put(2, 3, "B");
+                    this.subject.put(4, 5, "C");
+
+                    this.subject.delete(1, 100);
+
+                    assertFalse(this.subject.intersects(50, 60).iterator()
+                            .hasNext());
+                    assertNull(this.subject.getAnyIntersection(50, 60));
+                });
+
+                describe("when the interval is absent", () -> {
+                    it("throws no such element", () -> {
+                        this.subject.put(1, 5, "A");
+                        NoSuchElementException throwed = null;
+
+                        try {
+                            this.subject.delete(1, 4);
+                        } catch (NoSuchElementException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+            });
+
+            describe("#containing", () -> {
+                it("returns the intervals which contain the point", () -> {
+                    this.subject.put(1, 10, "A");
+                    this.subject.put(3, 4, "B");
+                    this.subject.put(5, 5, "C");
+                    this.subject.put(5, 9, "D");
+                    this.subject.put(6, 8, "E");
+
+                    Iterator<String> values = this.subject.containing(5)
+                            .iterator();
+                    for (String v : new String[] { "A", "C", "D" })
+                        assertEquals(v, values.next());
+
+                    assertFalse(values.hasNext());
+                });
+            });
+
+            describe("#intersects", () -> {
+                describe("when lo or hi is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.intersects(null, 1);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                it("returns the intervals which overlap, by left endpoint",
+                        () -> {
+                            this.subject.put(17, 19, "A");
+                            this.subject.put(5, 8, "B");
+                            this.subject.put(21, 24, "C");
+                            this.subject.put(4, 8, "D");
+                            this.subject.put(15, 18, "E");
+                            this.subject.put(7, 10, "F");
+                            this.subject.put(16, 22, "G");
+
+                            Iterator<String> values = this.subject
+                                    .intersects(18, 21).iterator();
+                            for (String v : new String[] { "E", "G", "A",
+                                    "C" })
+                                assertEquals(v, values.next());
+
+                            assertFalse(values.hasNext());
+                        });
+
+                it("returns the intervals contained by the given one", () -> {
+                    this.subject.put(3, 4, "A");
+
+                    assertTrue(this.subject.intersects(1, 10).iterator()
+                            .hasNext());
+                    assertNotNull(this.subject.getAnyIntersection(1, 10));
+                });
+
+                it("returns nothing when no interval overlaps", () -> {
+                    this.subject.put(3, 4, "A");
+                    this.subject.put(8, 9, "B");
+
+                    assertFalse(this.subject.intersects(5, 7).iterator()
+                            .hasNext());
+                });
+
+                it("finds every overlap of random intervals", () -> {
+                    List<int[]> intervals = new ArrayList<>();
+
+                    for (int i = 0; i < 1000; i++) {
+                        int lo = i * 7;
+                        int hi = lo + RANDOM.nextInt(100);
+                        intervals.add(new int[] { lo, hi });
+                    }
+
+                    // puts them in random order to get a bushy tree
+                    Collections.shuffle(intervals, RANDOM);
+                    for (int[] interval : intervals)
+                        this.subject.put(interval[0], interval[1],
+                                String.valueOf(interval[0]));
+
+                    for (int q = 0; q < 100; q++) {
+                        int lo = RANDOM.nextInt(7000);
+                        int hi = lo + RANDOM.nextInt(50);
+                        List<Integer> expected = new ArrayList<>();
+
+                        for (int[] interval : intervals)
+                            if (interval[0] <= hi && lo <= interval[1])
+                                expected.add(interval[0]);
+                        expected.sort(null);
+
+                        Iterator<String> values = this.subject
+                                .intersects(lo, hi).iterator();
+                        for (Integer k : expected)
+                            assertEquals(String.valueOf(k), values.next());
+
+                        assertFalse(values.hasNext());
+                    }
+                });
+
+                it("finds every overlap while intervals come and go", () -> {
+                    List<int[]> intervals = new ArrayList<>();
+
+                    for (int i = 0; i < 5000; i++) {
+                        // few left endpoints, so many are shared
+                        int lo = RANDOM.nextInt(500);
+                        int[] interval = { lo, lo + RANDOM.nextInt(50) };
+
+                        if (this.subject.get(interval[0], interval[1]) == null) {
+                            intervals.add(interval);
+                            this.subject.put(interval[0], interval[1],
+                                    interval[0] + ":" + interval[1]);
+                        } else if (RANDOM.nextBoolean()) {
+                            intervals.removeIf(other -> other[0] == interval[0]
+                                    && other[1] == interval[1]);
+                            this.subject.delete(interval[0], interval[1]);
+                        }
+                    }
+
+                    assertEquals(intervals.size(), this.subject.size());
+                    intervals.sort((a, b) -> a[0] != b[0] ? a[0] - b[0]
+                            : a[1] - b[1]);
+
+                    for (int q = 0; q < 200; q++) {
+                        int lo = RANDOM.nextInt(600);
+                        int hi = lo + RANDOM.nextInt(20);
+
+                        Iterator<String> values = this.subject
+                                .intersects(lo, hi).iterator();
+                        for (int[] interval : intervals)
+                            if (interval[0] <= hi && lo <= interval[1])
+                                assertEquals(interval[0] + ":" + interval[1],
+                                        values.next());
+
+                        assertFalse(values.hasNext());
+                    }
+                });
+            });
+        });
+    }
+}
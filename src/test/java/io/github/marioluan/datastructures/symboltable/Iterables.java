@@ -0,0 +1,31 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for the specs of the structures which return their values in no
+ * particular order.
+ */
+final class Iterables {
+
+    private Iterables() {
+    }
+
+    /**
+     * Returns the values sorted, so they compare whatever the order they were
+     * found in.
+     *
+     * @param values
+     * @return the values, sorted
+     */
+    static <T extends Comparable<T>> List<T> sorted(Iterable<T> values) {
+        List<T> list = new ArrayList<>();
+        for (T value : values)
+            list.add(value);
+
+        Collections.sort(list);
+        return list;
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.github.marioluan.datastructures.symboltable.Iterables.sorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class KdTreeTest {
+
+    private static final Random RANDOM = new Random();
+
+    /**
+     * Returns n random points, with coordinates in [0..bound) so that small
+     * bounds repeat them.
+     */
+    private static Point[] points(int n, int bound) {
+        Point[] points = new Point[n];
+        for (int i = 0; i < n; i++)
+            points[i] = new Point(RANDOM.nextInt(bound),
+                    RANDOM.nextInt(bound));
+
+        return points;
+    }
+
+    private static Integer[] positions(int n) {
+        Integer[] positions = new Integer[n];
+        for (int i = 0; i < n; i++)
+            positions[i] = i;
+
+        return positions;
+    }
+
+    {
+        describe("KdTree", () -> {
+            describe("constructor", () -> {
+                it("builds an empty tree out of no points", () -> {
+                    KdTree<Integer> subject = new KdTree<>(new Point[0],
+                            new Integer[0]);
+
+                    assertTrue(subject.isEmpty());
+                    assertFalse(subject.range(new Rectangle(0, 0, 1, 1))
+                            .iterator().hasNext());
+                    assertEquals(0, subject.count(new Rectangle(0, 0, 1, 1)));
+                    assertNull(subject.nearest(new Point(0, 0)));
+                });
+
+                describe("when the arrays lengths differ", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new KdTree<>(new Point[] { new Point(1, 1) },
+                                    new Integer[0]);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
+
+            describe("#range", () -> {
+                it("returns the points in the rectangle and on its border",
+                        () -> {
+                            KdTree<Integer> subject = new KdTree<>(
+                                    new Point[] { new Point(1, 1),
+                                            new Point(2, 5), new Point(3, 3),
+                                            new Point(5, 2), new Point(4, 4) },
+                                    positions(5));
+
+                            assertEquals(5, subject.size());
+                            assertEquals(Arrays.asList(0, 2, 4), sorted(subject
+                                    .range(new Rectangle(1, 1, 4, 4))));
+                            assertEquals(3, subject
+                                    .count(new Rectangle(1, 1, 4, 4)));
+                        });
+
+                it("finds every point of random rectangles", () -> {
+                    // large enough for the build to be forked, and with
+                    // repeated coordinates
+                    int n = 50000;
+                    Point[] points = points(n, 1000);
+                    KdTree<Integer> subject = new KdTree<>(points,
+                            positions(n));
+
+                    for (int q = 0; q < 100; q++) {
+                        double x = RANDOM.nextInt(1100) - 50;
+                        double y = RANDOM.nextInt(1100) - 50;
+                        Rectangle rectangle = new Rectangle(x, y,
+                                x + RANDOM.nextInt(300),
+                                y + RANDOM.nextInt(300));
+                        List<Integer> expected = new ArrayList<>();
+
+                        for (int i = 0; i < n; i++)
+                            if (rectangle.contains(points[i]))
+                                expected.add(i);
+
+                        assertEquals(expected,
+                                sorted(subject.range(rectangle)));
+                        assertEquals(expected.size(),
+                                subject.count(rectangle));
+                    }
+                });
+            });
+
+            describe("#nearest", () -> {
+                it("returns the closest point", () -> {
+                    int n = 20000;
+                    Point[] points = points(n, 100000);
+                    KdTree<Integer> subject = new KdTree<>(points,
+                            positions(n));
+
+                    for (int q = 0; q < 100; q++) {
+                        Point query = new Point(RANDOM.nextDouble() * 110000,
+                                RANDOM.nextDouble() * 110000);
+                        double expected = Double.POSITIVE_INFINITY;
+
+                        for (Point point : points)
+                            expected = Math.min(expected,
+                                    point.distanceSquaredTo(query));
+
+                        assertEquals(expected,
+                                points[subject.nearest(query)]
+                                        .distanceSquaredTo(query),
+                                0);
+                    }
+                });
+            });
+
+            describe("Rectangle", () -> {
+                describe("when a min is greater than its max", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new Rectangle(0, 2, 1, 1);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
+        });
+    }
+}
@@ -10,12 +10,16 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Iterator;
 import java.util.Random;
 
 import org.junit.runner.RunWith;
 
 import com.greghaskins.spectrum.Spectrum;
 
+import io.github.marioluan.datastructures.symboltable.hash.SeparateChainingHashTable;
+import io.github.marioluan.datastructures.symboltable.hash.TableSizing;
+
 @RunWith(Spectrum.class)
 public class LinkedListSymbolTableTest {
 
@@ -296,6 +300,145 @@ public class LinkedListSymbolTableTest {
                     });
                 });
             });
+
+            describe("#forEach", () -> {
+                it("visits every pair from the oldest to the newest", () -> {
+                    String[] keys = { "a", "b", "c", "d" };
+                    for (int i = 0; i < keys.length; i++)
+                        this.subject.put(keys[i], i);
+
+                    this.subject.delete("a");
+                    this.subject.delete("d");
+
+                    int[] i = { 1 };
+                    this.subject.forEach((k, v) -> {
+                        assertEquals(keys[i[0]], k);
+                        assertEquals(Integer.valueOf(i[0]), v);
+                        i[0]++;
+                    });
+
+                    assertEquals(3, i[0]);
+                });
+            });
+
+            describe("with a reorder policy", () -> {
+                describe("when it moves to front", () -> {
+                    it("moves the key hit to the newest end", () -> {
+                        this.subject = new LinkedListSymbolTable<>(
+                                ReorderPolicy.MOVE_TO_FRONT);
+                        for (String k : new String[] { "a", "b", "c" })
+                            this.subject.put(k, 1);
+
+                        this.subject.get("a");
+
+                        Iterator<String> keys = this.subject.keys()
+                                .iterator();
+                        for (String k : new String[] { "b", "c", "a" })
+                            assertEquals(k, keys.next());
+
+                        assertFalse(keys.hasNext());
+                    });
+                });
+
+                describe("when it transposes", () -> {
+                    it("moves the key hit one step", () -> {
+                        this.subject = new LinkedListSymbolTable<>(
+                                ReorderPolicy.TRANSPOSE);
+                        for (String k : new String[] { "a", "b", "c" })
+                            this.subject.put(k, 1);
+
+                        this.subject.put("a", 2);
+
+                        Iterator<String> keys = this.subject.keys()
+                                .iterator();
+                        for (String k : new String[] { "b", "a", "c" })
+                            assertEquals(k, keys.next());
+
+                        assertFalse(keys.hasNext());
+                        assertEquals(Integer.valueOf(2), this.subject.get("a"));
+                    });
+                });
+
+                it("keeps every pair across many hits", () -> {
+                    this.subject = new LinkedListSymbolTable<>(
+                            ReorderPolicy.MOVE_TO_FRONT);
+                    for (int i = 0; i < 50; i++)
+                        this.subject.put(String.valueOf(i), i);
+
+                    for (int i = 0; i < 500; i++) {
+                        int k = RANDOM.nextInt(60);
+                        Integer expected = k < 50 ? k : null;
+                        assertEquals(expected,
+                                this.subject.get(String.valueOf(k)));
+                    }
+
+                    this.subject.delete("7");
+                    assertEquals(49, this.subject.size());
+                    int[] count = { 0 };
+                    this.subject.forEach((k, v) -> {
+                        assertEquals(k, String.valueOf(v));
+                        count[0]++;
+                    });
+                    assertEquals(49, count[0]);
+                });
+            });
+
+            describe("with a promotion threshold", () -> {
+                it("turns into a hash table past the threshold", () -> {
+                    this.subject = new LinkedListSymbolTable<String, Integer>(
+                            ReorderPolicy.MOVE_TO_FRONT, 4,
+                            () -> new SeparateChainingHashTable<>(8,
+                                    TableSizing.POWER_OF_TWO));
+                    for (int i = 0; i < 4; i++)
+                        this.subject.put(String.valueOf(i), i);
+
+                    assertFalse(this.subject.isPromoted());
+
+                    for (int i = 4; i < 100; i++)
+                        this.subject.put(String.valueOf(i), i);
+
+                    assertTrue(this.subject.isPromoted());
+                    assertEquals(100, this.subject.size());
+                    for (int i = 0; i < 100; i++)
+                        assertEquals(Integer.valueOf(i),
+                                this.subject.get(String.valueOf(i)));
+
+                    this.subject.delete("42");
+                    assertFalse(this.subject.contains("42"));
+                    assertEquals(99, this.subject.size());
+                });
+
+                describe("when it is not positive", () -> {
+                    it("throws illegal argument", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new LinkedListSymbolTable<String, Integer>(
+                                    ReorderPolicy.NONE, 0,
+                                    () -> new SeparateChainingHashTable<>(1));
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when promotion is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            new LinkedListSymbolTable<String, Integer>(
+                                    ReorderPolicy.NONE, 4, null);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
         });
     }
 }
@@ -50,6 +50,13 @@ public class OneDRangeCountTest {
 
                     assertEquals(count, this.subject.count("F", "T"));
                 });
+
+                it("returns 0 when lo is greater than hi", () -> {
+                    this.subject.put("A", value);
+                    this.subject.put("C", value);
+
+                    assertEquals(0, this.subject.count("C", "A"));
+                });
             });
 
             describe("#range(lo, hi)", () -> {
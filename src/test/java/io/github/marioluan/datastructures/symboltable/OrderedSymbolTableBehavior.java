@@ -0,0 +1,212 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.Supplier;
+
+/**
+ * Declares the specs every {@link OrderedSymbolTable} of integer keys has to
+ * pass, checking it against a {@link TreeMap} holding the same keys. Call
+ * {@link #declare()} from inside the spec of the table, after the
+ * {@code beforeEach} building it.
+ *
+ * @param <Value>
+ *            the type of the values
+ */
+public final class OrderedSymbolTableBehavior<Value> {
+
+    private static final Random                                          RANDOM     = new Random();
+    private static final int                                             OPERATIONS = 20000;
+    private static final int                                             KEYS       = 2000;
+    private final Supplier<? extends OrderedSymbolTable<Integer, Value>> subject;
+    private final IntFunction<Value>                                     value;
+    private IntConsumer                                                  afterOperation;
+    private boolean                                                      exactRank;
+    private IntSupplier                                                  height;
+    private IntToDoubleFunction                                          maxHeight;
+
+    /**
+     * @param subject
+     *            returns the table under test
+     * @param value
+     *            maps an int to a value
+     */
+    public OrderedSymbolTableBehavior(
+            Supplier<? extends OrderedSymbolTable<Integer, Value>> subject,
+            IntFunction<Value> value) {
+        this.subject = subject;
+        this.value = value;
+        this.afterOperation = i -> {
+        };
+        this.exactRank = true;
+    }
+
+    /**
+     * Runs the hook after each of the random operations.
+     *
+     * @param afterOperation
+     *            takes the index of the operation
+     * @return this behavior
+     */
+    public OrderedSymbolTableBehavior<Value> afterOperation(
+            IntConsumer afterOperation) {
+        this.afterOperation = afterOperation;
+        return this;
+    }
+
+    /**
+     * Skips the check of {@link OrderedSymbolTable#rank}, for tables which
+     * only estimate it.
+     *
+     * @return this behavior
+     */
+    public OrderedSymbolTableBehavior<Value> estimatedRank() {
+        this.exactRank = false;
+        return this;
+    }
+
+    /**
+     * Checks the height of the table stays within the bound.
+     *
+     * @param height
+     *            returns the height of the table
+     * @param maxHeight
+     *            maps the size of the table to its highest height
+     * @return this behavior
+     */
+    public OrderedSymbolTableBehavior<Value> balanced(IntSupplier height,
+            IntToDoubleFunction maxHeight) {
+        this.height = height;
+        this.maxHeight = maxHeight;
+        return this;
+    }
+
+    /**
+     * Declares the specs.
+     */
+    public void declare() {
+        describe("as an ordered symbol table", () -> {
+            it("initializes an empty symbol table", () -> {
+                OrderedSymbolTable<Integer, Value> subject = this.subject
+                        .get();
+
+                assertTrue(subject.isEmpty());
+                assertEquals(0, subject.size());
+                assertNull(subject.min());
+                assertNull(subject.max());
+                assertNull(subject.floor(1));
+                assertNull(subject.ceiling(1));
+                assertFalse(subject.keys().iterator().hasNext());
+            });
+
+            it("throws argument error when k is out of range", () -> {
+                OrderedSymbolTable<Integer, Value> subject = this.subject
+                        .get();
+                subject.put(1, value.apply(RANDOM.nextInt()));
+
+                for (int k : new int[] { -1, 1 }) {
+                    IllegalArgumentException throwed = null;
+
+                    try {
+                        subject.select(k);
+                    } catch (IllegalArgumentException e) {
+                        throwed = e;
+                    }
+
+                    assertNotNull(throwed);
+                }
+            });
+
+            if (height != null)
+                describe("when keys are put in sorted order", () -> {
+                    it("keeps the tree balanced", () -> {
+                        OrderedSymbolTable<Integer, Value> subject = this.subject
+                                .get();
+                        int n = 1 << 14;
+                        for (int i = 0; i < n; i++)
+                            subject.put(i, value.apply(i));
+
+                        assertEquals(n, subject.size());
+                        assertTrue(height.getAsInt() <= maxHeight
+                                .applyAsDouble(n));
+                    });
+                });
+
+            describe("when mixing puts and deletes", () -> {
+                it("behaves like a sorted map", () -> {
+                    OrderedSymbolTable<Integer, Value> subject = this.subject
+                            .get();
+                    TreeMap<Integer, Value> expected = new TreeMap<>();
+
+                    for (int i = 0; i < OPERATIONS; i++) {
+                        // even keys leave room for floor and ceiling misses
+                        int k = RANDOM.nextInt(KEYS) * 2;
+                        int op = RANDOM.nextInt(6);
+
+                        if (op == 0) {
+                            expected.remove(k);
+                            subject.delete(k);
+                        } else if (op == 1 && !expected.isEmpty()) {
+                            expected.pollFirstEntry();
+                            subject.deleteMin();
+                        } else if (op == 2 && !expected.isEmpty()) {
+                            expected.pollLastEntry();
+                            subject.deleteMax();
+                        } else {
+                            expected.put(k, value.apply(i));
+                            subject.put(k, value.apply(i));
+                        }
+
+                        afterOperation.accept(i);
+                    }
+
+                    assertEquals(expected.size(), subject.size());
+                    assertEquals(expected.firstKey(), subject.min());
+                    assertEquals(expected.lastKey(), subject.max());
+                    if (height != null)
+                        assertTrue(height.getAsInt() <= maxHeight
+                                .applyAsDouble(expected.size()));
+
+                    Iterator<Integer> keys = subject.keys().iterator();
+                    int rank = 0;
+                    for (Integer k : expected.keySet()) {
+                        assertEquals(k, keys.next());
+                        assertEquals(expected.get(k), subject.get(k));
+                        if (exactRank)
+                            assertEquals(rank, subject.rank(k));
+                        assertEquals(k, subject.select(rank++));
+                    }
+
+                    assertFalse(keys.hasNext());
+
+                    for (int k = -1; k <= KEYS * 2; k++) {
+                        assertEquals(expected.floorKey(k), subject.floor(k));
+                        assertEquals(expected.ceilingKey(k),
+                                subject.ceiling(k));
+                    }
+
+                    Iterator<Integer> range = subject.keys(500, 1500)
+                            .iterator();
+                    for (Integer k : expected.subMap(500, true, 1500, true)
+                            .keySet())
+                        assertEquals(k, range.next());
+
+                    assertFalse(range.hasNext());
+                });
+            });
+        });
+    }
+}
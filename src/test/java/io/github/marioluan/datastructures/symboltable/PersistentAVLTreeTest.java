@@ -0,0 +1,160 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class PersistentAVLTreeTest {
+
+    private PersistentAVLTree<Integer, Integer> subject;
+    private static final Random                 RANDOM = new Random();
+    private Integer                             value;
+
+    {
+        describe("PersistentAVLTree", () -> {
+            beforeEach(() -> {
+                this.subject = new PersistentAVLTree<>();
+                this.value = RANDOM.nextInt();
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+                this.value = null;
+            });
+
+            // 1.44 lg N
+            new OrderedSymbolTableBehavior<Integer>(() -> this.subject,
+                    i -> i).balanced(() -> this.subject.height(),
+                            n -> 1.44 * Math.log(n + 2) / Math.log(2))
+                            .declare();
+
+            describe("#put", () -> {
+                describe("when key is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.put(null, value);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when key already exists", () -> {
+                    it("updates its value", () -> {
+                        this.subject.put(1, RANDOM.nextInt());
+                        this.subject.put(1, value);
+
+                        assertEquals(value, this.subject.get(1));
+                        assertEquals(1, this.subject.size());
+                    });
+
+                    it("removes the key when value is null", () -> {
+                        this.subject.put(1, value);
+                        this.subject.put(2, value);
+                        this.subject.put(1, null);
+
+                        assertFalse(this.subject.contains(1));
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+            });
+
+            describe("#snapshot", () -> {
+                it("does not see the changes made afterwards", () -> {
+                    for (int i = 0; i < 100; i++)
+                        this.subject.put(i, i);
+
+                    PersistentAVLTree<Integer, Integer> snapshot = this.subject
+                            .snapshot();
+                    Iterable<Integer> keys = this.subject.keys();
+
+                    for (int i = 0; i < 100; i += 2)
+                        this.subject.delete(i);
+                    this.subject.put(1, -1);
+                    this.subject.put(100, 100);
+
+                    assertEquals(100, snapshot.size());
+                    assertEquals(Integer.valueOf(1), snapshot.get(1));
+                    assertFalse(snapshot.contains(100));
+
+                    // so does an iteration over the keys of the version
+                    int i = 0;
+                    for (Integer k : keys)
+                        assertEquals(Integer.valueOf(i++), k);
+                    assertEquals(100, i);
+
+                    assertEquals(51, this.subject.size());
+                    assertEquals(Integer.valueOf(-1), this.subject.get(1));
+                });
+
+                it("is read-only", () -> {
+                    PersistentAVLTree<Integer, Integer> snapshot = this.subject
+                            .snapshot();
+                    UnsupportedOperationException throwed = null;
+
+                    try {
+                        snapshot.put(1, value);
+                    } catch (UnsupportedOperationException e) {
+                        throwed = e;
+                    }
+
+                    assertNotNull(throwed);
+                    assertTrue(snapshot.isEmpty());
+                });
+            });
+
+            describe("#with and #without", () -> {
+                it("return new versions, leaving the table untouched", () -> {
+                    this.subject.put(1, value);
+
+                    PersistentAVLTree<Integer, Integer> added = this.subject
+                            .with(2, value);
+                    PersistentAVLTree<Integer, Integer> removed = added
+                            .without(1);
+
+                    assertEquals(1, this.subject.size());
+                    assertFalse(this.subject.contains(2));
+                    assertEquals(2, added.size());
+                    assertEquals(1, removed.size());
+                    assertEquals(Integer.valueOf(2), removed.min());
+                });
+            });
+
+            describe("when written by many threads", () -> {
+                it("loses no put", () -> {
+                    Thread[] writers = new Thread[4];
+
+                    for (int t = 0; t < writers.length; t++) {
+                        final int first = t;
+                        writers[t] = new Thread(() -> {
+                            for (int i = first; i < 20000; i += writers.length)
+                                this.subject.put(i, i);
+                        });
+                        writers[t].start();
+                    }
+
+                    for (Thread writer : writers)
+                        writer.join();
+
+                    assertEquals(20000, this.subject.size());
+                });
+            });
+        });
+    }
+}
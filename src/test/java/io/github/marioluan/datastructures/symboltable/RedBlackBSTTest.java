@@ -0,0 +1,186 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class RedBlackBSTTest {
+
+    private RedBlackBST<Integer, Integer> subject;
+    private static final Random           RANDOM = new Random();
+    private Integer                       value;
+
+    {
+        describe("RedBlackBST", () -> {
+            beforeEach(() -> {
+                this.subject = new RedBlackBST<>();
+                this.value = RANDOM.nextInt();
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+                this.value = null;
+            });
+
+            new OrderedSymbolTableBehavior<Integer>(() -> this.subject,
+                    i -> i).balanced(() -> this.subject.height(),
+                            n -> 2 * Math.log(n + 1) / Math.log(2)).declare();
+
+            describe("#put", () -> {
+                describe("when key is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.put(null, value);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when key already exists", () -> {
+                    it("updates its value", () -> {
+                        this.subject.put(1, RANDOM.nextInt());
+                        this.subject.put(1, value);
+
+                        assertEquals(value, this.subject.get(1));
+                        assertEquals(1, this.subject.size());
+                    });
+
+                    it("removes the key when value is null", () -> {
+                        this.subject.put(1, value);
+                        this.subject.put(2, value);
+                        this.subject.put(1, null);
+
+                        assertFalse(this.subject.contains(1));
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+            });
+
+            describe("#delete", () -> {
+                it("keeps the tree balanced", () -> {
+                    int n = 1 << 16;
+                    for (int i = 0; i < n; i++)
+                        this.subject.put(i, i);
+
+                    // leaves 1/4 of the keys
+                    for (int i = 0; i < n; i++)
+                        if (i % 4 != 0)
+                            this.subject.delete(i);
+
+                    assertEquals(n / 4, this.subject.size());
+                    assertTrue(this.subject.height() <= 2 * 14);
+                    assertTrue(this.subject.contains(4));
+                    assertFalse(this.subject.contains(5));
+                });
+
+                it("ignores absent keys", () -> {
+                    this.subject.put(1, value);
+                    this.subject.delete(2);
+
+                    assertEquals(1, this.subject.size());
+                });
+            });
+
+            describe("#deleteMin and #deleteMax", () -> {
+                it("remove the smallest and the largest keys", () -> {
+                    for (int i = 0; i < 100; i++)
+                        this.subject.put(i, i);
+
+                    this.subject.deleteMin();
+                    this.subject.deleteMax();
+
+                    assertEquals(98, this.subject.size());
+                    assertEquals(Integer.valueOf(1), this.subject.min());
+                    assertEquals(Integer.valueOf(98), this.subject.max());
+                });
+
+                it("empty the tree eventually", () -> {
+                    for (int i = 0; i < 10; i++)
+                        this.subject.put(i, i);
+
+                    for (int i = 0; i < 5; i++) {
+                        this.subject.deleteMin();
+                        this.subject.deleteMax();
+                    }
+
+                    assertTrue(this.subject.isEmpty());
+                    this.subject.deleteMin();
+                    this.subject.deleteMax();
+                });
+            });
+
+            describe("#floor and #ceiling", () -> {
+                it("return the closest keys", () -> {
+                    for (int i = 0; i < 100; i += 10)
+                        this.subject.put(i, i);
+
+                    assertEquals(Integer.valueOf(40), this.subject.floor(45));
+                    assertEquals(Integer.valueOf(50),
+                            this.subject.ceiling(45));
+                    assertEquals(Integer.valueOf(40), this.subject.floor(40));
+                    assertNull(this.subject.floor(-1));
+                    assertNull(this.subject.ceiling(91));
+                });
+            });
+
+            describe("#rank and #select", () -> {
+                it("are inverse of each other", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i * 2, i);
+
+                    for (int i = 0; i < 1000; i++) {
+                        assertEquals(i, this.subject.rank(i * 2));
+                        assertEquals(i + 1, this.subject.rank(i * 2 + 1));
+                        assertEquals(Integer.valueOf(i * 2),
+                                this.subject.select(i));
+                    }
+                });
+            });
+
+            describe("#keys", () -> {
+                it("returns the keys in [lo..hi] in order", () -> {
+                    for (int i = 99; i >= 0; i--)
+                        this.subject.put(i, i);
+
+                    Iterator<Integer> keys = this.subject.keys(10, 19)
+                            .iterator();
+                    for (int i = 10; i <= 19; i++)
+                        assertEquals(Integer.valueOf(i), keys.next());
+
+                    assertFalse(keys.hasNext());
+                });
+
+                it("stops after limit keys", () -> {
+                    for (int i = 0; i < 100; i++)
+                        this.subject.put(i, i);
+
+                    Iterator<Integer> keys = this.subject.keys(10, 90, 3)
+                            .iterator();
+                    for (int i = 10; i < 13; i++)
+                        assertEquals(Integer.valueOf(i), keys.next());
+
+                    assertFalse(keys.hasNext());
+                });
+            });
+        });
+    }
+}
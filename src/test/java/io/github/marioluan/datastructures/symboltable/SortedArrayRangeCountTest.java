@@ -0,0 +1,93 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class SortedArrayRangeCountTest {
+
+    private SortedArrayRangeCount subject;
+    private static final Random   RANDOM = new Random();
+
+    {
+        describe("SortedArrayRangeCount", () -> {
+            beforeEach(() -> {
+                this.subject = new SortedArrayRangeCount();
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+            });
+
+            describe("constructor", () -> {
+                it("initializes an empty count", () -> {
+                    assertEquals(0, this.subject.total());
+                    assertEquals(0,
+                            this.subject.count(Long.MIN_VALUE, Long.MAX_VALUE));
+                });
+
+                it("counts the given keys", () -> {
+                    this.subject = new SortedArrayRangeCount(
+                            new long[] { 30, 10, 30, Long.MAX_VALUE, -5 });
+
+                    assertEquals(5, this.subject.total());
+                    assertEquals(2, this.subject.count(30, 30));
+                    assertEquals(3, this.subject.count(0, 100));
+                    assertEquals(4, this.subject.prefixSum(30));
+                    assertEquals(5, this.subject.prefixSum(Long.MAX_VALUE));
+                });
+            });
+
+            describe("#add", () -> {
+                it("adds occurrences of present and new keys", () -> {
+                    this.subject.insert(100);
+                    this.subject.add(100, 4);
+                    this.subject.add(-100, 2);
+                    this.subject.add(100, -1);
+
+                    assertEquals(6, this.subject.total());
+                    assertEquals(4, this.subject.count(100, 100));
+                    assertEquals(2, this.subject.prefixSum(0));
+                    assertEquals(0, this.subject.count(-99, 99));
+                });
+            });
+
+            describe("#count", () -> {
+                it("matches a count of every key", () -> {
+                    TreeMap<Long, Long> counts = new TreeMap<>();
+
+                    for (int i = 0; i < 2000; i++) {
+                        long key = RANDOM.nextInt(500) * 1_000_000_007L;
+                        long delta = 1 + RANDOM.nextInt(3);
+                        counts.merge(key, delta, Long::sum);
+                        this.subject.add(key, delta);
+                    }
+
+                    for (int q = 0; q < 500; q++) {
+                        long lo = RANDOM.nextInt(520) * 1_000_000_007L - 7;
+                        long hi = lo + RANDOM.nextInt(100) * 1_000_000_007L;
+                        long expected = 0;
+                        for (Map.Entry<Long, Long> entry : counts
+                                .subMap(lo, true, hi, true).entrySet())
+                            expected += entry.getValue();
+
+                        assertEquals(expected, this.subject.count(lo, hi));
+                    }
+
+                    assertEquals(0, this.subject.count(3, 2));
+                });
+            });
+        });
+    }
+}
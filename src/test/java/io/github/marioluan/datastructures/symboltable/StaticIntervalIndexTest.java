@@ -0,0 +1,120 @@
+package io.github.marioluan.datastructures.symboltable;
+
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static io.github.marioluan.datastructures.symboltable.Iterables.sorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class StaticIntervalIndexTest {
+
+    private static final Random RANDOM = new Random();
+
+    {
+        describe("StaticIntervalIndex", () -> {
+            describe("constructor", () -> {
+                it("builds an empty index out of no intervals", () -> {
+                    StaticIntervalIndex<Integer> subject = new StaticIntervalIndex<>(
+                            new long[0], new long[0], new Integer[0]);
+
+                    assertTrue(subject.isEmpty());
+                    assertFalse(subject.containing(1).iterator().hasNext());
+                    assertFalse(subject.intersects(1, 2).iterator().hasNext());
+                });
+
+                describe("when an interval starts after it ends", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new StaticIntervalIndex<>(new long[] { 2 },
+                                    new long[] { 1 }, new Integer[] { 1 });
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when the arrays lengths differ", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new StaticIntervalIndex<>(new long[] { 1 },
+                                    new long[] { 1, 2 }, new Integer[] { 1 });
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+            });
+
+            describe("#containing", () -> {
+                it("returns the intervals which contain the point", () -> {
+                    StaticIntervalIndex<Integer> subject = new StaticIntervalIndex<>(
+                            new long[] { 1, 3, 5, 5, 6 },
+                            new long[] { 10, 4, 5, 9, 8 },
+                            new Integer[] { 0, 1, 2, 3, 4 });
+
+                    assertEquals(5, subject.size());
+                    assertEquals(Collections.emptyList(),
+                            sorted(subject.containing(0)));
+                    assertEquals(Arrays.asList(0, 2, 3),
+                            sorted(subject.containing(5)));
+                    assertEquals(Arrays.asList(0, 3, 4),
+                            sorted(subject.containing(7)));
+                });
+            });
+
+            describe("#intersects", () -> {
+                it("finds every overlap of random intervals", () -> {
+                    // large enough for the build to be forked
+                    int n = 50000;
+                    long[] lo = new long[n];
+                    long[] hi = new long[n];
+                    Integer[] values = new Integer[n];
+
+                    for (int i = 0; i < n; i++) {
+                        lo[i] = RANDOM.nextInt(100000);
+                        hi[i] = lo[i] + RANDOM.nextInt(RANDOM.nextBoolean()
+                                ? 50 : 5000);
+                        values[i] = i;
+                    }
+
+                    StaticIntervalIndex<Integer> subject = new StaticIntervalIndex<>(
+                            lo, hi, values);
+
+                    for (int q = 0; q < 100; q++) {
+                        long qlo = RANDOM.nextInt(110000) - 5000;
+                        long qhi = qlo + (q % 2 == 0 ? 0 : RANDOM.nextInt(500));
+                        List<Integer> expected = new ArrayList<>();
+
+                        for (int i = 0; i < n; i++)
+                            if (lo[i] <= qhi && qlo <= hi[i])
+                                expected.add(i);
+
+                        assertEquals(expected,
+                                sorted(subject.intersects(qlo, qhi)));
+                    }
+                });
+            });
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.runner.RunWith;
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class CompactSeparateChainingHashTableTest {
+
+    private CompactSeparateChainingHashTable<String, Integer> subject;
+
+    {
+        describe("CompactSeparateChainingHashTable", () -> {
+            beforeEach(() -> {
+                this.subject = new CompactSeparateChainingHashTable<>(1);
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+            });
+
+            new HashTableBehavior(() -> this.subject).declare();
+
+            describe("#delete", () -> {
+                it("recycles the entries of deleted keys", () -> {
+                    for (int i = 0; i < 100; i++)
+                        this.subject.put("k" + i, i);
+
+                    for (int i = 0; i < 50; i++)
+                        this.subject.delete("k" + i);
+
+                    for (int i = 100; i < 150; i++)
+                        this.subject.put("k" + i, i);
+
+                    assertEquals(100, this.subject.size());
+                    for (int i = 0; i < 150; i++)
+                        assertEquals(i >= 50, this.subject.contains("k" + i));
+                });
+            });
+        });
+    }
+}
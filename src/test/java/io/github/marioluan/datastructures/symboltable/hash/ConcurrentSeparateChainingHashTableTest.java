@@ -0,0 +1,220 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class ConcurrentSeparateChainingHashTableTest {
+
+    private ConcurrentSeparateChainingHashTable<Integer, Integer> subject;
+    private static final Random                                   RANDOM  = new Random();
+    private static final int                                      THREADS = 8;
+    private static final int                                      KEYS    = 20000;
+    private ExecutorService                                       executor;
+    private Integer                                               key;
+    private Integer                                               value;
+
+    /**
+     * Runs the task on every thread at once and waits for all of them.
+     */
+    private void runConcurrently(Task task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                task.run(thread);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<Void> future : futures)
+            future.get(1, TimeUnit.MINUTES);
+    }
+
+    private interface Task {
+        void run(int thread) throws Exception;
+    }
+
+    {
+        describe("ConcurrentSeparateChainingHashTable", () -> {
+            beforeEach(() -> {
+                this.subject = new ConcurrentSeparateChainingHashTable<>(1, 4);
+                this.executor = Executors.newFixedThreadPool(THREADS);
+                this.key = RANDOM.nextInt();
+                this.value = RANDOM.nextInt();
+            });
+
+            afterEach(() -> {
+                this.executor.shutdownNow();
+                this.subject = null;
+                this.key = null;
+                this.value = null;
+            });
+
+            describe("constructor", () -> {
+                it("initializes an empty symbol table", () -> {
+                    assertTrue(this.subject.isEmpty());
+                    assertEquals(0, this.subject.size());
+                });
+            });
+
+            describe("#put", () -> {
+                describe("when key is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.put(null, value);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when key already exists", () -> {
+                    describe("when value is null", () -> {
+                        beforeEach(() -> {
+                            this.subject.put(key + 1, value);
+                            this.subject.put(key, value);
+                            this.subject.put(key, null);
+                        });
+
+                        it("removes the key from table", () -> {
+                            assertFalse(this.subject.contains(key));
+                            assertTrue(this.subject.contains(key + 1));
+                        });
+
+                        it("decrements size by 1", () -> {
+                            assertEquals(1, this.subject.size());
+                        });
+                    });
+
+                    describe("when value is not null", () -> {
+                        beforeEach(() -> {
+                            this.subject.put(key, RANDOM.nextInt());
+                            this.subject.put(key, value);
+                        });
+
+                        it("updates the key from table", () -> {
+                            assertEquals(value, this.subject.get(key));
+                        });
+
+                        it("does not update its size", () -> {
+                            assertEquals(1, this.subject.size());
+                        });
+                    });
+                });
+            });
+
+            describe("#get", () -> {
+                describe("when key does not exist", () -> {
+                    it("returns null", () -> {
+                        this.subject.put(key, value);
+
+                        assertNull(this.subject.get(key + 1));
+                    });
+                });
+            });
+
+            describe("#keys", () -> {
+                it("returns the keys from the table", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, i);
+
+                    boolean[] seen = new boolean[1000];
+                    for (Integer k : this.subject.keys()) {
+                        assertFalse(seen[k]);
+                        seen[k] = true;
+                    }
+
+                    for (boolean s : seen)
+                        assertTrue(s);
+                });
+            });
+
+            describe("when used by many threads", () -> {
+                it("keeps every key put while resizing", () -> {
+                    runConcurrently(thread -> {
+                        for (int i = thread; i < KEYS; i += THREADS)
+                            this.subject.put(i, -i);
+                    });
+
+                    assertEquals(KEYS, this.subject.size());
+                    for (int i = 0; i < KEYS; i++)
+                        assertEquals(Integer.valueOf(-i), this.subject.get(i));
+                });
+
+                it("deletes only the keys deleted", () -> {
+                    for (int i = 0; i < KEYS; i++)
+                        this.subject.put(i, i);
+
+                    runConcurrently(thread -> {
+                        for (int i = thread; i < KEYS; i += THREADS) {
+                            if (i % 2 == 0)
+                                this.subject.delete(i);
+                            else
+                                this.subject.put(i + KEYS, i);
+                        }
+                    });
+
+                    assertEquals(KEYS, this.subject.size());
+                    for (int i = 0; i < KEYS; i++)
+                        assertEquals(i % 2 == 1, this.subject.contains(i));
+                    for (int i = 1; i < KEYS; i += 2)
+                        assertTrue(this.subject.contains(i + KEYS));
+                });
+
+                it("never lets readers see a missing or wrong value", () -> {
+                    for (int i = 0; i < KEYS; i++)
+                        this.subject.put(i, i);
+
+                    AtomicBoolean writing = new AtomicBoolean(true);
+                    runConcurrently(thread -> {
+                        if (thread == 0) {
+                            // grows the table a few times
+                            for (int i = KEYS; i < 10 * KEYS; i++)
+                                this.subject.put(i, i);
+                            writing.set(false);
+                            return;
+                        }
+
+                        Random random = new Random(thread);
+                        while (writing.get()) {
+                            int k = random.nextInt(KEYS);
+                            assertEquals(Integer.valueOf(k),
+                                    this.subject.get(k));
+                        }
+                    });
+
+                    assertEquals(10 * KEYS, this.subject.size());
+                });
+            });
+        });
+    }
+}
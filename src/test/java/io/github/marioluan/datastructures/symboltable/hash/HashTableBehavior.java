@@ -0,0 +1,180 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import io.github.marioluan.datastructures.symboltable.SymbolTable;
+
+/**
+ * Declares the specs every hash table has to pass. Call {@link #declare()}
+ * from inside the spec of the table, after the {@code beforeEach} building
+ * it.
+ */
+final class HashTableBehavior {
+
+    private static final Random                                    RANDOM = new Random();
+    private final Supplier<? extends SymbolTable<String, Integer>> subject;
+    private String                                                 key;
+    private Integer                                                value;
+
+    /**
+     * @param subject
+     *            returns the empty table under test
+     */
+    HashTableBehavior(
+            Supplier<? extends SymbolTable<String, Integer>> subject) {
+        this.subject = subject;
+    }
+
+    /**
+     * Declares the specs.
+     */
+    void declare() {
+        beforeEach(() -> {
+            this.key = String.valueOf(RANDOM.nextInt(26 + 'a'));
+            this.value = RANDOM.nextInt();
+        });
+
+        afterEach(() -> {
+            this.key = null;
+            this.value = null;
+        });
+
+        describe("constructor", () -> {
+            it("initializes an empty symbol table", () -> {
+                assertTrue(this.subject.get().isEmpty());
+                assertEquals(0, this.subject.get().size());
+            });
+        });
+
+        describe("#put", () -> {
+            describe("when key is null", () -> {
+                it("throws null pointer", () -> {
+                    NullPointerException throwed = null;
+
+                    try {
+                        this.subject.get().put(null, value);
+                    } catch (NullPointerException e) {
+                        throwed = e;
+                    }
+
+                    assertNotNull(throwed);
+                });
+            });
+
+            describe("when key already exists", () -> {
+                describe("when value is null", () -> {
+                    beforeEach(() -> {
+                        this.subject.get().put("k", value);
+                        this.subject.get().put("a", value);
+                        this.subject.get().put("a", null);
+                    });
+
+                    it("removes the key from table", () -> {
+                        assertFalse(this.subject.get().contains("a"));
+                    });
+
+                    it("decrements size by 1", () -> {
+                        assertEquals(1, this.subject.get().size());
+                    });
+                });
+
+                describe("when value is not null", () -> {
+                    beforeEach(() -> {
+                        this.subject.get().put("k", value);
+                        this.subject.get().put("a", RANDOM.nextInt());
+                        this.subject.get().put("a", value);
+                    });
+
+                    it("updates the key from table", () -> {
+                        assertEquals(value, this.subject.get().get("a"));
+                    });
+
+                    it("does not update its size", () -> {
+                        assertEquals(2, this.subject.get().size());
+                    });
+                });
+            });
+
+            describe("when key does not exist yet", () -> {
+                describe("when value is null", () -> {
+                    it("does not add the key to table", () -> {
+                        this.subject.get().put(key, null);
+
+                        assertFalse(this.subject.get().contains(key));
+                        assertEquals(0, this.subject.get().size());
+                    });
+                });
+
+                describe("when value is not null", () -> {
+                    it("adds the key to table", () -> {
+                        this.subject.get().put(key, value);
+
+                        assertEquals(value, this.subject.get().get(key));
+                        assertEquals(1, this.subject.get().size());
+                    });
+                });
+            });
+        });
+
+        describe("#get", () -> {
+            describe("when key does not exist", () -> {
+                it("returns null", () -> {
+                    this.subject.get().put(key, value);
+
+                    assertNull(this.subject.get().get(key + 1));
+                });
+            });
+        });
+
+        describe("#keys", () -> {
+            it("returns the keys from the table", () -> {
+                for (int i = 0; i < 100; i++)
+                    this.subject.get().put("k" + i, i);
+
+                int size = 0;
+                for (String k : this.subject.get().keys()) {
+                    assertTrue(this.subject.get().contains(k));
+                    size++;
+                }
+
+                assertEquals(100, size);
+            });
+        });
+
+        describe("when mixing puts and deletes", () -> {
+            it("behaves like a map", () -> {
+                Map<String, Integer> expected = new HashMap<>();
+
+                for (int i = 0; i < 20000; i++) {
+                    String k = "k" + RANDOM.nextInt(2000);
+
+                    if (RANDOM.nextInt(3) == 0) {
+                        expected.remove(k);
+                        this.subject.get().delete(k);
+                    } else {
+                        expected.put(k, i);
+                        this.subject.get().put(k, i);
+                    }
+                }
+
+                assertEquals(expected.size(), this.subject.get().size());
+                for (int i = 0; i < 2000; i++)
+                    assertEquals(expected.get("k" + i),
+                            this.subject.get().get("k" + i));
+            });
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import io.github.marioluan.datastructures.symboltable.SymbolTable;
+
+/**
+ * Declares the specs of the hash tables which can size themselves to powers
+ * of two and migrate their keys incrementally. Call {@link #declare()} from
+ * inside the spec of the table.
+ *
+ * @param <Table>
+ *            the type of the table
+ */
+final class HashTableResizingBehavior<Table extends SymbolTable<String, Integer>> {
+
+    private final Function<Boolean, Table> table;
+    private final ToIntFunction<Table>     capacity;
+    private final ToIntFunction<Table>     pendingMigration;
+    private final ToIntFunction<Table>     migrationStep;
+    private final Predicate<Table>         isResizing;
+    private Table                          subject;
+
+    /**
+     * @param table
+     *            builds a power of two table, resizing incrementally or not
+     * @param capacity
+     *            returns the capacity of the table
+     * @param pendingMigration
+     *            returns the work left to the migration in progress
+     * @param migrationStep
+     *            returns the work each operation does on the migration
+     * @param isResizing
+     *            tells whether a migration is in progress
+     */
+    HashTableResizingBehavior(Function<Boolean, Table> table,
+            ToIntFunction<Table> capacity,
+            ToIntFunction<Table> pendingMigration,
+            ToIntFunction<Table> migrationStep, Predicate<Table> isResizing) {
+        this.table = table;
+        this.capacity = capacity;
+        this.pendingMigration = pendingMigration;
+        this.migrationStep = migrationStep;
+        this.isResizing = isResizing;
+    }
+
+    /**
+     * Puts the pair, checking that a resize it starts neither drains the
+     * previous one nor completes right away.
+     */
+    private void putOrDelete(String key, Integer value) {
+        int capacity = this.capacity.applyAsInt(this.subject);
+        int pending = this.pendingMigration.applyAsInt(this.subject);
+        int step = this.migrationStep.applyAsInt(this.subject);
+        this.subject.put(key, value);
+
+        if (this.capacity.applyAsInt(this.subject) != capacity) {
+            // the previous migration was over within this operation's step
+            assertTrue(pending <= step);
+            assertTrue(this.isResizing.test(this.subject));
+        }
+    }
+
+    /**
+     * Declares the specs shared by both ways of resizing.
+     */
+    private void keepsEveryKey() {
+        it("keeps every key while growing", () -> {
+            for (int i = 0; i < 1000; i++)
+                this.subject.put("k" + i, i);
+
+            assertEquals(1000, this.subject.size());
+            for (int i = 0; i < 1000; i++)
+                assertEquals(Integer.valueOf(i), this.subject.get("k" + i));
+        });
+
+        it("keeps every key while shrinking", () -> {
+            for (int i = 0; i < 1000; i++)
+                this.subject.put("k" + i, i);
+
+            for (int i = 0; i < 1000; i += 2)
+                this.subject.delete("k" + i);
+
+            assertEquals(500, this.subject.size());
+            for (int i = 0; i < 1000; i++)
+                assertEquals(i % 2 == 1, this.subject.contains("k" + i));
+        });
+    }
+
+    /**
+     * Declares the specs.
+     */
+    void declare() {
+        describe("with power of two sizing", () -> {
+            beforeEach(() -> {
+                this.subject = this.table.apply(false);
+            });
+
+            keepsEveryKey();
+        });
+
+        describe("with incremental resizing", () -> {
+            beforeEach(() -> {
+                this.subject = this.table.apply(true);
+            });
+
+            keepsEveryKey();
+
+            it("updates keys which were not migrated yet", () -> {
+                for (int i = 0; i < 1000; i++)
+                    this.subject.put("k" + i, i);
+
+                for (int i = 0; i < 1000; i++)
+                    this.subject.put("k" + i, -i);
+
+                assertEquals(1000, this.subject.size());
+                for (int i = 0; i < 1000; i++)
+                    assertEquals(Integer.valueOf(-i),
+                            this.subject.get("k" + i));
+            });
+
+            it("never completes a resize within a single operation", () -> {
+                // grows, empties and grows the table again, crossing both
+                // thresholds many times
+                for (int round = 0; round < 3; round++) {
+                    for (int i = 0; i < 5000; i++)
+                        putOrDelete("k" + i, i);
+
+                    for (int i = 0; i < 5000; i++)
+                        putOrDelete("k" + i, null);
+                }
+
+                assertTrue(this.subject.isEmpty());
+            });
+
+            it("returns every key exactly once", () -> {
+                for (int i = 0; i < 1000; i++)
+                    this.subject.put("k" + i, i);
+
+                int count = 0;
+                for (String key : this.subject.keys()) {
+                    assertTrue(this.subject.contains(key));
+                    count++;
+                }
+
+                assertEquals(1000, count);
+            });
+        });
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Random;
+
+import org.junit.runner.RunWith;
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class IntLinearProbingHashTableTest {
+
+    private IntLinearProbingHashTable<Integer> subject;
+    private static final Random                RANDOM = new Random();
+    private int                                key;
+    private Integer                            value;
+
+    {
+        describe("IntLinearProbingHashTable", () -> {
+            beforeEach(() -> {
+                this.subject = new IntLinearProbingHashTable<>(1);
+                this.key = RANDOM.nextInt();
+                this.value = RANDOM.nextInt();
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+                this.value = null;
+            });
+
+            describe("constructor", () -> {
+                it("initializes an empty symbol table", () -> {
+                    assertTrue(this.subject.isEmpty());
+                    assertEquals(0, this.subject.size());
+                });
+            });
+
+            describe("#put", () -> {
+                describe("when key already exists", () -> {
+                    describe("when value is null", () -> {
+                        beforeEach(() -> {
+                            this.subject.put(key + 1, value);
+                            this.subject.put(key, value);
+                            this.subject.put(key, null);
+                        });
+
+                        it("removes the key from table", () -> {
+                            assertFalse(this.subject.contains(key));
+                        });
+
+                        it("decrements size by 1", () -> {
+                            assertEquals(1, this.subject.size());
+                        });
+                    });
+
+                    describe("when value is not null", () -> {
+                        beforeEach(() -> {
+                            this.subject.put(key + 1, value);
+                            this.subject.put(key, RANDOM.nextInt());
+                            this.subject.put(key, value);
+                        });
+
+                        it("updates the key from table", () -> {
+                            assertEquals(value, this.subject.get(key));
+                        });
+
+                        it("does not update its size", () -> {
+                            assertEquals(2, this.subject.size());
+                        });
+                    });
+                });
+
+                describe("when key does not exist yet", () -> {
+                    it("adds the key to table", () -> {
+                        this.subject.put(key, value);
+
+                        assertTrue(this.subject.contains(key));
+                        assertEquals(1, this.subject.size());
+                    });
+
+                    it("accepts zero and negative keys", () -> {
+                        this.subject.put(0, value);
+                        this.subject.put(-1, value + 1);
+                        this.subject.put(Integer.MIN_VALUE, value + 2);
+
+                        assertEquals(value, this.subject.get(0));
+                        assertEquals(Integer.valueOf(value + 1),
+                                this.subject.get(-1));
+                        assertEquals(Integer.valueOf(value + 2),
+                                this.subject.get(Integer.MIN_VALUE));
+                    });
+                });
+
+                describe("when table grows beyond its capacity", () -> {
+                    it("keeps every key", () -> {
+                        for (int i = 0; i < 1000; i++)
+                            this.subject.put(i * 1024, i);
+
+                        assertEquals(1000, this.subject.size());
+                        for (int i = 0; i < 1000; i++)
+                            assertEquals(Integer.valueOf(i),
+                                    this.subject.get(i * 1024));
+                    });
+                });
+            });
+
+            describe("#get", () -> {
+                describe("when key does not exist", () -> {
+                    it("returns null", () -> {
+                        assertNull(this.subject.get(key));
+                    });
+                });
+
+                describe("when key exists", () -> {
+                    it("returns the value paired with it", () -> {
+                        this.subject.put(key, value);
+
+                        assertEquals(value, this.subject.get(key));
+                    });
+                });
+            });
+
+            describe("#getOrDefault", () -> {
+                describe("when key does not exist", () -> {
+                    it("returns the default value", () -> {
+                        assertEquals(value,
+                                this.subject.getOrDefault(key, value));
+                    });
+                });
+
+                describe("when key exists", () -> {
+                    it("returns the value paired with it", () -> {
+                        this.subject.put(key, value);
+
+                        assertEquals(value,
+                                this.subject.getOrDefault(key, value + 1));
+                    });
+                });
+            });
+
+            describe("#delete", () -> {
+                describe("when key does not exist", () -> {
+                    it("does not change the table", () -> {
+                        this.subject.put(key, value);
+                        this.subject.delete(key + 1);
+
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+
+                describe("when keys are within clusters", () -> {
+                    it("keeps every other key reachable", () -> {
+                        for (int i = 0; i < 1000; i++)
+                            this.subject.put(i, i);
+
+                        for (int i = 0; i < 1000; i += 2)
+                            this.subject.delete(i);
+
+                        assertEquals(500, this.subject.size());
+                        for (int i = 0; i < 1000; i++)
+                            assertEquals(i % 2 == 1, this.subject.contains(i));
+                    });
+                });
+            });
+        });
+    }
+}
@@ -9,6 +9,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 
 import org.junit.runner.RunWith;
@@ -265,6 +268,26 @@ public class LinearProbingHashTableTest {
                     });
                 });
 
+                describe("when keys are deleted in random order", () -> {
+                    it("keeps every other key reachable", () -> {
+                        List<String> keys = new ArrayList<>();
+                        for (int i = 0; i < 500; i++) {
+                            keys.add("k" + i);
+                            subject.put("k" + i, i);
+                        }
+
+                        Collections.shuffle(keys, RANDOM);
+                        for (int i = 0; i < 400; i++) {
+                            subject.delete(keys.get(i));
+                            assertFalse(subject.contains(keys.get(i)));
+                        }
+
+                        assertEquals(100, subject.size());
+                        for (int i = 400; i < 500; i++)
+                            assertTrue(subject.contains(keys.get(i)));
+                    });
+                });
+
                 describe("when the key is not within a cluster", () -> {
                     it("removes the key from table", () -> {
                         subject.put("a", value);
@@ -314,6 +337,77 @@ public class LinearProbingHashTableTest {
                     });
                 });
             });
+
+            new HashTableResizingBehavior<LinearProbingHashTable<String, Integer>>(
+                    incremental -> new LinearProbingHashTable<>(3,
+                            TableSizing.POWER_OF_TWO, incremental),
+                    LinearProbingHashTable::capacity,
+                    LinearProbingHashTable::pendingMigration,
+                    LinearProbingHashTable::migrationStep,
+                    LinearProbingHashTable::isResizing).declare();
+
+            describe("#putAll", () -> {
+                it("adds every pair to the table", () -> {
+                    String[] keys = new String[1000];
+                    Integer[] values = new Integer[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = "k" + i;
+                        values[i] = i;
+                    }
+
+                    this.subject.put("k0", -1);
+                    this.subject.putAll(keys, values);
+
+                    assertEquals(keys.length, this.subject.size());
+                    for (int i = 0; i < keys.length; i++)
+                        assertEquals(values[i], this.subject.get(keys[i]));
+                });
+
+                it("does not grow the table for keys it holds already", () -> {
+                    String[] keys = new String[1000];
+                    Integer[] values = new Integer[keys.length];
+                    for (int i = 0; i < keys.length; i++) {
+                        keys[i] = "k" + i;
+                        values[i] = i;
+                        this.subject.put(keys[i], -i);
+                    }
+                    int capacity = this.subject.capacity();
+
+                    this.subject.putAll(keys, values);
+
+                    assertEquals(capacity, this.subject.capacity());
+                    assertEquals(keys.length, this.subject.size());
+                });
+            });
+
+            describe("#getAll", () -> {
+                it("writes the value of every key", () -> {
+                    this.subject.put("a", 1);
+                    this.subject.put("b", 2);
+
+                    Integer[] out = new Integer[3];
+                    this.subject.getAll(new String[] { "b", "x", "a" }, out);
+
+                    assertEquals(Integer.valueOf(2), out[0]);
+                    assertNull(out[1]);
+                    assertEquals(Integer.valueOf(1), out[2]);
+                });
+            });
+
+            describe("#forEach", () -> {
+                it("visits every pair once", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put("k" + i, i);
+
+                    int[] count = { 0 };
+                    this.subject.forEach((k, v) -> {
+                        assertEquals("k" + v, k);
+                        count[0]++;
+                    });
+
+                    assertEquals(1000, count[0]);
+                });
+            });
         });
     }
 }
@@ -0,0 +1,28 @@
+package io.github.marioluan.datastructures.symboltable.hash;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+
+import org.junit.runner.RunWith;
+import com.greghaskins.spectrum.Spectrum;
+
+@RunWith(Spectrum.class)
+public class RobinHoodHashTableTest {
+
+    private RobinHoodHashTable<String, Integer> subject;
+
+    {
+        describe("RobinHoodHashTable", () -> {
+            beforeEach(() -> {
+                this.subject = new RobinHoodHashTable<>(1);
+            });
+
+            afterEach(() -> {
+                this.subject = null;
+            });
+
+            new HashTableBehavior(() -> this.subject).declare();
+        });
+    }
+}
@@ -379,6 +379,29 @@ public class SeparateChainingHashTableTest {
                     });
                 });
             });
+
+            new HashTableResizingBehavior<SeparateChainingHashTable<String, Integer>>(
+                    incremental -> new SeparateChainingHashTable<>(3,
+                            TableSizing.POWER_OF_TWO, incremental),
+                    SeparateChainingHashTable::capacity,
+                    SeparateChainingHashTable::pendingMigration,
+                    SeparateChainingHashTable::migrationStep,
+                    SeparateChainingHashTable::isResizing).declare();
+
+            describe("#forEach", () -> {
+                it("visits every pair once", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put("k" + i, i);
+
+                    int[] count = { 0 };
+                    this.subject.forEach((k, v) -> {
+                        assertEquals("k" + v, k);
+                        count[0]++;
+                    });
+
+                    assertEquals(1000, count[0]);
+                });
+            });
         });
     }
 }
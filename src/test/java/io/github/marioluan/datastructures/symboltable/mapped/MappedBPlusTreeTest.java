@@ -0,0 +1,319 @@
+package io.github.marioluan.datastructures.symboltable.mapped;
+
+import static com.greghaskins.spectrum.Spectrum.afterEach;
+import static com.greghaskins.spectrum.Spectrum.beforeEach;
+import static com.greghaskins.spectrum.Spectrum.describe;
+import static com.greghaskins.spectrum.Spectrum.it;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.runner.RunWith;
+
+import com.greghaskins.spectrum.Spectrum;
+
+import io.github.marioluan.datastructures.symboltable.OrderedSymbolTableBehavior;
+
+@RunWith(Spectrum.class)
+public class MappedBPlusTreeTest {
+
+    // small pages split and empty often
+    private static final int               PAGE_SIZE  = 128;
+    private static final int               CACHE_SIZE = 16;
+    private static final Random            RANDOM     = new Random();
+    private Path                           file;
+    private MappedBPlusTree<Integer, Long> subject;
+    private Long                           value;
+
+    /**
+     * Opens the table stored in {@link #file}.
+     *
+     * @return the table stored in the file
+     * @throws IOException
+     */
+    private MappedBPlusTree<Integer, Long> open() throws IOException {
+        return new MappedBPlusTree<>(file, Serializer.INTEGER,
+                Serializer.LONG, PAGE_SIZE, CACHE_SIZE);
+    }
+
+    {
+        describe("MappedBPlusTree", () -> {
+            beforeEach(() -> {
+                this.file = Files.createTempFile("mapped-b-plus-tree", ".db");
+                this.subject = open();
+                this.value = RANDOM.nextLong();
+            });
+
+            afterEach(() -> {
+                this.subject.close();
+                Files.delete(this.file);
+                this.subject = null;
+                this.value = null;
+            });
+
+            // every node but the root has at least 5 children; commits now
+            // and then, so committed pages are copied and released pages are
+            // reused
+            new OrderedSymbolTableBehavior<Long>(() -> this.subject,
+                    i -> (long) i)
+                            .balanced(() -> this.subject.height(),
+                                    n -> 1 + Math.log(n) / Math.log(5))
+                            .afterOperation(i -> {
+                                if (i % 1000 == 0)
+                                    this.subject.commit();
+                            }).declare();
+
+            describe("constructor", () -> {
+                describe("when page size is not a power of two", () -> {
+                    it("throws argument error", () -> {
+                        IllegalArgumentException throwed = null;
+
+                        try {
+                            new MappedBPlusTree<>(file, Serializer.INTEGER,
+                                    Serializer.LONG, 100, CACHE_SIZE);
+                        } catch (IllegalArgumentException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when the file was created with another page size",
+                        () -> {
+                            it("throws argument error", () -> {
+                                IllegalArgumentException throwed = null;
+
+                                try {
+                                    new MappedBPlusTree<>(file,
+                                            Serializer.INTEGER,
+                                            Serializer.LONG, PAGE_SIZE * 2,
+                                            CACHE_SIZE);
+                                } catch (IllegalArgumentException e) {
+                                    throwed = e;
+                                }
+
+                                assertNotNull(throwed);
+                            });
+                        });
+            });
+
+            describe("#put", () -> {
+                describe("when key is null", () -> {
+                    it("throws null pointer", () -> {
+                        NullPointerException throwed = null;
+
+                        try {
+                            this.subject.put(null, value);
+                        } catch (NullPointerException e) {
+                            throwed = e;
+                        }
+
+                        assertNotNull(throwed);
+                    });
+                });
+
+                describe("when key does not fit its serializer", () -> {
+                    it("throws argument error and keeps every key", () -> {
+                        Path strings = Files.createTempFile(
+                                "mapped-b-plus-tree", ".db");
+
+                        try (MappedBPlusTree<String, Long> table =
+                                new MappedBPlusTree<>(strings,
+                                        Serializer.string(8), Serializer.LONG,
+                                        PAGE_SIZE, CACHE_SIZE)) {
+                            for (int i = 0; i < 40; i++)
+                                table.put("k" + i, (long) i);
+                            table.commit();
+
+                            IllegalArgumentException throwed = null;
+                            try {
+                                table.put("k20-too-long", value);
+                            } catch (IllegalArgumentException e) {
+                                throwed = e;
+                            }
+
+                            assertNotNull(throwed);
+
+                            // reuses the pages the failed put would have
+                            // released
+                            table.commit();
+                            for (int i = 40; i < 140; i++)
+                                table.put("k" + i, (long) i);
+
+                            assertEquals(140, table.size());
+                            for (int i = 0; i < 140; i++)
+                                assertEquals(Long.valueOf(i),
+                                        table.get("k" + i));
+                        } finally {
+                            Files.delete(strings);
+                        }
+                    });
+                });
+
+                describe("when key already exists", () -> {
+                    it("updates its value", () -> {
+                        this.subject.put(1, RANDOM.nextLong());
+                        this.subject.put(1, value);
+
+                        assertEquals(value, this.subject.get(1));
+                        assertEquals(1, this.subject.size());
+                    });
+
+                    it("removes the key when value is null", () -> {
+                        this.subject.put(1, value);
+                        this.subject.put(2, value);
+                        this.subject.put(1, null);
+
+                        assertFalse(this.subject.contains(1));
+                        assertEquals(1, this.subject.size());
+                    });
+                });
+            });
+
+            describe("#delete", () -> {
+                it("shrinks the tree back to nothing", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, (long) i);
+
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.delete(i);
+
+                    assertTrue(this.subject.isEmpty());
+                    assertEquals(-1, this.subject.height());
+                    assertFalse(this.subject.keys().iterator().hasNext());
+                });
+
+                it("merges the nodes left less than half full", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, (long) i);
+
+                    for (int i = 0; i < 1000; i++)
+                        if (i % 10 != 0)
+                            this.subject.delete(i);
+
+                    // leaves hold 10 keys and are kept at least half full,
+                    // so 100 keys fit in 20 leaves, under two levels
+                    assertEquals(100, this.subject.size());
+                    assertEquals(2, this.subject.height());
+                });
+
+                it("ignores absent keys", () -> {
+                    this.subject.put(1, value);
+                    this.subject.delete(2);
+
+                    assertEquals(1, this.subject.size());
+                });
+            });
+
+            describe("#floor and #ceiling", () -> {
+                it("cross the boundaries between leaves", () -> {
+                    TreeMap<Integer, Long> expected = new TreeMap<>();
+
+                    for (int i = 0; i < 1000; i++) {
+                        int k = RANDOM.nextInt(10000) * 2;
+                        expected.put(k, (long) i);
+                        this.subject.put(k, (long) i);
+                    }
+
+                    for (int k = -1; k <= 20000; k++) {
+                        assertEquals(expected.floorKey(k),
+                                this.subject.floor(k));
+                        assertEquals(expected.ceilingKey(k),
+                                this.subject.ceiling(k));
+                    }
+                });
+            });
+
+            describe("#commit", () -> {
+                it("makes the changes visible after reopening the file", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, (long) i);
+                    this.subject.close();
+
+                    this.subject = open();
+
+                    assertEquals(1000, this.subject.size());
+                    for (int i = 0; i < 1000; i++)
+                        assertEquals(Long.valueOf(i), this.subject.get(i));
+                });
+
+                it("discards the changes which were not committed", () -> {
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, (long) i);
+                    this.subject.commit();
+
+                    // the process crashes before committing these
+                    for (int i = 0; i < 1000; i++)
+                        this.subject.put(i, -1L);
+                    this.subject.put(1000, -1L);
+
+                    try (MappedBPlusTree<Integer, Long> reopened = open()) {
+                        assertEquals(1000, reopened.size());
+                        assertFalse(reopened.contains(1000));
+                        for (int i = 0; i < 1000; i++)
+                            assertEquals(Long.valueOf(i), reopened.get(i));
+                    }
+                });
+
+                it("reuses the pages released before reopening the file",
+                        () -> {
+                            for (int i = 0; i < 1000; i++)
+                                this.subject.put(i, (long) i);
+                            this.subject.close();
+
+                            this.subject = open();
+                            for (int i = 0; i < 1000; i++)
+                                this.subject.put(i, value);
+                            this.subject.close();
+                            long bound = Files.size(file);
+
+                            // every cycle copies every page of the tree
+                            for (int cycle = 0; cycle < 50; cycle++) {
+                                this.subject = open();
+                                for (int i = 0; i < 1000; i++)
+                                    this.subject.put(i, (long) cycle);
+                                this.subject.close();
+                            }
+
+                            this.subject = open();
+                            assertEquals(bound, Files.size(file));
+                            assertEquals(1000, this.subject.size());
+                            for (int i = 0; i < 1000; i++)
+                                assertEquals(Long.valueOf(49),
+                                        this.subject.get(i));
+                        });
+
+                it("falls back to the previous commit if the last meta page "
+                        + "was torn", () -> {
+                            this.subject.put(1, value);
+                            this.subject.commit();
+                            this.subject.put(2, value);
+                            this.subject.close();
+
+                            // the file was created by commit 1 on page 1,
+                            // so the last one, commit 3, went to page 1
+                            try (RandomAccessFile raw = new RandomAccessFile(
+                                    file.toFile(), "rw")) {
+                                raw.seek(PAGE_SIZE + 20);
+                                raw.write(0xFF);
+                            }
+
+                            this.subject = open();
+
+                            assertEquals(1, this.subject.size());
+                            assertEquals(value, this.subject.get(1));
+                            assertFalse(this.subject.contains(2));
+                        });
+            });
+        });
+    }
+}